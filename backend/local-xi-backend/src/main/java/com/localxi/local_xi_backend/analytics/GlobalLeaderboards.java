@@ -0,0 +1,178 @@
+package com.localxi.local_xi_backend.analytics;
+
+import com.localxi.local_xi_backend.repository.PlayerRepository;
+import com.localxi.local_xi_backend.repository.TeamRepository;
+import com.localxi.local_xi_backend.service.FanOut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Top players across every team, per metric. Each board is a sorted, immutable list of the best
+ * 2 x app.leaderboards.maxK players; a request takes a prefix of it, so serving doesn't depend
+ * on the number of teams or stats.
+ *
+ * Boards are built and refreshed as a PlatformIndex (app.leaderboards.partitionTeams,
+ * app.leaderboards.rebuildMillis): each range of teams is reduced to its own top entries and the
+ * partial boards are merged. Between rebuilds a write to a team replaces that team's entries on
+ * every board with its current totals, off the request thread. A player who falls out of the
+ * kept 2 x maxK can be replaced by someone who wasn't kept; the next rebuild corrects that.
+ *
+ * Totals cover all seasons and players still on their team's roster; avgRating only ranks
+ * players with at least app.leaderboards.minRatedApps rated appearances.
+ */
+@Service
+public class GlobalLeaderboards extends PlatformIndex {
+
+    public static final Set<String> METRICS = Set.of("goals", "assists", "potm", "avgRating", "appearances");
+
+    public static class Row {
+        public Long playerId;
+        public String name;
+        public int number;
+        public Long teamId;
+        public String teamName;
+        public int appearances;
+        public int goals;
+        public int assists;
+        public int potm;
+        public int ratingCount;
+        public Double avgRating;
+    }
+
+    private final TeamColumnStore columns;
+    private final PlayerRepository playerRepo;
+    private final int maxK;
+    private final int kept;
+    private final int minRatedApps;
+
+    // metric -> best players, null until the first build; only written on the timer thread
+    private volatile Map<String, List<Row>> boards;
+
+    public GlobalLeaderboards(TeamColumnStore columns, TeamRepository teamRepo, PlayerRepository playerRepo, FanOut fanOut,
+                              @Value("${app.leaderboards.maxK:100}") int maxK,
+                              @Value("${app.leaderboards.minRatedApps:10}") int minRatedApps,
+                              @Value("${app.leaderboards.partitionTeams:100}") int partitionTeams,
+                              @Value("${app.leaderboards.rebuildMillis:900000}") long rebuildMillis) {
+        super("Global leaderboards", "leaderboard-rebuild", teamRepo, fanOut, partitionTeams, rebuildMillis);
+        this.columns = columns;
+        this.playerRepo = playerRepo;
+        this.maxK = maxK;
+        this.kept = maxK * 2;
+        this.minRatedApps = minRatedApps;
+    }
+
+    public int maxK() {
+        return maxK;
+    }
+
+    public List<Row> top(String metric, int k) {
+        ensureBuilt();
+        List<Row> board = boards.get(metric);
+        return board.subList(0, Math.min(k, board.size()));
+    }
+
+    @Override
+    void rebuild() throws TimeoutException {
+        List<Object[]> teams = teamRepo.idsAndNames();
+        Map<Long, String> teamNames = teamNames(teams);
+        List<Map<String, List<Row>>> partials = loadRanges(teams, (from, to) -> partition(from, to, teamNames));
+
+        Map<String, List<Row>> merged = new HashMap<>();
+        for (String metric : METRICS) {
+            List<Row> rows = new ArrayList<>();
+            for (Map<String, List<Row>> p : partials) rows.addAll(p.get(metric));
+            merged.put(metric, best(metric, rows));
+        }
+        boards = merged;
+        log.info("Global leaderboards rebuilt from {} teams in {} partitions", teams.size(), partials.size());
+    }
+
+    // one range of teams reduced to its best rows per metric
+    private Map<String, List<Row>> partition(Long fromTeam, Long toTeam, Map<Long, String> teamNames) {
+        Map<Long, Map<Long, Object[]>> rosters = new HashMap<>();
+        for (Object[] p : playerRepo.namesForTeamRange(fromTeam, toTeam)) {
+            rosters.computeIfAbsent((Long) p[1], k -> new HashMap<>()).put((Long) p[0], p);
+        }
+
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<Long, TeamColumns> e : columns.loadRange(fromTeam, toTeam).entrySet()) {
+            Long teamId = e.getKey();
+            rows.addAll(teamRows(teamId, teamNames.get(teamId), e.getValue(), rosters.getOrDefault(teamId, Map.of())));
+        }
+
+        Map<String, List<Row>> out = new HashMap<>();
+        for (String metric : METRICS) out.put(metric, best(metric, rows));
+        return out;
+    }
+
+    // swaps the team's rows on every board for its current totals
+    @Override
+    protected void replaceTeam(Long teamId) {
+        Map<Long, Object[]> roster = new HashMap<>();
+        for (Object[] p : playerRepo.namesForTeamRange(teamId, teamId)) roster.put((Long) p[0], p);
+        List<Row> fresh = teamRows(teamId, teamName(teamId), columns.get(teamId), roster);
+
+        Map<String, List<Row>> next = new HashMap<>();
+        for (Map.Entry<String, List<Row>> e : boards.entrySet()) {
+            List<Row> rows = new ArrayList<>(e.getValue().size() + fresh.size());
+            for (Row r : e.getValue()) {
+                if (!teamId.equals(r.teamId)) rows.add(r);
+            }
+            rows.addAll(fresh);
+            next.put(e.getKey(), best(e.getKey(), rows));
+        }
+        boards = next;
+    }
+
+    private static List<Row> teamRows(Long teamId, String teamName, TeamColumns c, Map<Long, Object[]> roster) {
+        boolean[] onRoster = new boolean[c.playerCount()];
+        for (int p = 0; p < onRoster.length; p++) onRoster[p] = roster.containsKey(c.playerId(p));
+
+        PlayerTotals t = PlayerTotals.of(c, null, onRoster);
+        List<Row> rows = new ArrayList<>(t.count());
+        for (int i = 0; i < t.count(); i++) {
+            int p = t.player(i);
+            Object[] player = roster.get(c.playerId(p));
+
+            Row row = new Row();
+            row.playerId = c.playerId(p);
+            row.name = (String) player[2];
+            row.number = ((Number) player[3]).intValue();
+            row.teamId = teamId;
+            row.teamName = teamName;
+            row.appearances = t.appearances[p];
+            row.goals = t.goals[p];
+            row.assists = t.assists[p];
+            row.potm = t.potm[p];
+            row.ratingCount = t.ratingCount[p];
+            row.avgRating = t.avgRating(p);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // the kept best rows for the metric, best first; ties go to the lower player id
+    private List<Row> best(String metric, List<Row> rows) {
+        Comparator<Row> order = switch (metric) {
+            case "assists" -> Comparator.comparingInt(r -> r.assists);
+            case "potm" -> Comparator.comparingInt(r -> r.potm);
+            case "appearances" -> Comparator.comparingInt(r -> r.appearances);
+            case "avgRating" -> Comparator.comparingDouble(r -> r.avgRating);
+            default -> Comparator.comparingInt(r -> r.goals);
+        };
+        order = order.reversed().thenComparingLong(r -> r.playerId);
+
+        PriorityQueue<Row> heap = new PriorityQueue<>(kept + 1, order.reversed());
+        for (Row r : rows) {
+            if ("avgRating".equals(metric) && r.ratingCount < Math.max(1, minRatedApps)) continue;
+            heap.add(r);
+            if (heap.size() > kept) heap.poll();
+        }
+        List<Row> out = new ArrayList<>(heap);
+        out.sort(order);
+        return List.copyOf(out);
+    }
+}
@@ -0,0 +1,156 @@
+package com.localxi.local_xi_backend.analytics;
+
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.model.Team;
+import com.localxi.local_xi_backend.repository.TeamRepository;
+import com.localxi.local_xi_backend.service.FanOut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Lifecycle shared by the indexes over every team (GlobalLeaderboards, RatingDistributions,
+ * SimilarPlayers). An index is built on the first request that needs it and rebuilt every
+ * rebuildMillis; a rebuild cuts the teams into ranges of partitionTeams and loads the ranges in
+ * parallel (FanOut). Between rebuilds a write to a team's matches, lineups, events or players
+ * recomputes only that team.
+ *
+ * Rebuilds and team updates all run on one timer thread per index, so an update queued behind a
+ * running rebuild can't be overwritten by a rebuild that read the team before the write. Writes
+ * made before the first build are skipped; the first build reads them anyway.
+ */
+abstract class PlatformIndex implements DisposableBean {
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    protected final TeamRepository teamRepo;
+    protected final FanOut fanOut;
+    // for log and error messages, e.g. "Global leaderboards"
+    private final String name;
+    private final int partitionTeams;
+    private final long rebuildMillis;
+    private final ScheduledExecutorService timer;
+
+    // set on the timer thread once the first rebuild has finished
+    private volatile boolean built;
+    private volatile boolean started;
+
+    protected PlatformIndex(String name, String threadName, TeamRepository teamRepo, FanOut fanOut,
+                            int partitionTeams, long rebuildMillis) {
+        this.name = name;
+        this.teamRepo = teamRepo;
+        this.fanOut = fanOut;
+        this.partitionTeams = partitionTeams;
+        this.rebuildMillis = rebuildMillis;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, threadName);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // reads every team; runs on the timer thread
+    abstract void rebuild() throws TimeoutException;
+
+    // recomputes one team from its current data; runs on the timer thread, only once built
+    protected abstract void replaceTeam(Long teamId);
+
+    // TeamColumnStore (ordered ahead) has already spliced the write into the team's columns
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamDataChanged(TeamDataChangedEvent event) {
+        if (event.getTeamId() == null || !started) return;
+        switch (event.getEntityType()) {
+            case MATCH, LINEUP, MATCH_EVENT, PLAYER -> timer.execute(() -> updateTeam(event.getTeamId()));
+            default -> { }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+    }
+
+    // blocks the first caller until the first rebuild is done; later calls return at once
+    protected void ensureBuilt() {
+        if (built) return;
+        firstBuild();
+    }
+
+    // every range of partitionTeams teams loaded in parallel, in team order
+    protected <T> List<T> loadRanges(List<Object[]> teams, BiFunction<Long, Long, T> range) throws TimeoutException {
+        List<Supplier<T>> partials = new ArrayList<>();
+        try (FanOut.Scope scope = fanOut.open(rebuildMillis)) {
+            for (int i = 0; i < teams.size(); i += partitionTeams) {
+                Long from = (Long) teams.get(i)[0];
+                Long to = (Long) teams.get(Math.min(i + partitionTeams, teams.size()) - 1)[0];
+                partials.add(scope.fork(() -> range.apply(from, to)));
+            }
+            scope.join();
+        }
+        List<T> out = new ArrayList<>(partials.size());
+        for (Supplier<T> p : partials) out.add(p.get());
+        return out;
+    }
+
+    // rows of TeamRepository.idsAndNames() by team id
+    protected static Map<Long, String> teamNames(List<Object[]> teams) {
+        Map<Long, String> out = new HashMap<>();
+        for (Object[] t : teams) out.put((Long) t[0], (String) t[1]);
+        return out;
+    }
+
+    protected String teamName(Long teamId) {
+        return teamRepo.findById(teamId).map(Team::getName).orElse(null);
+    }
+
+    private synchronized void firstBuild() {
+        if (built) return;
+        started = true;
+        try {
+            timer.submit(() -> {
+                rebuild();
+                built = true;
+                return null;
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(name + " could not be built", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        timer.scheduleWithFixedDelay(this::scheduledRebuild, rebuildMillis, rebuildMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // keep serving the previous index
+            log.warn("{} rebuild failed: {}", name, e.toString());
+        }
+    }
+
+    private void updateTeam(Long teamId) {
+        if (!built) return;
+        try {
+            replaceTeam(teamId);
+        } catch (RuntimeException e) {
+            log.warn("{} not updated for team {}: {}", name, teamId, e.toString());
+        }
+    }
+}
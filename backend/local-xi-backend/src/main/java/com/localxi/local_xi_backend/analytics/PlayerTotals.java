@@ -0,0 +1,88 @@
+package com.localxi.local_xi_backend.analytics;
+
+/**
+ * Per-player totals over a team's matches, computed from TeamColumns in one pass. Arrays are
+ * indexed by the columns' player index; players(i) lists the players that appeared, in order
+ * of first appearance (the order ties keep when sorting).
+ *
+ * Player of the match is the highest rating of the match among the included players; on a tie
+ * the player listed first in the match (slot order, then stat-only players) gets it.
+ */
+public final class PlayerTotals {
+
+    public final int[] appearances;
+    public final int[] goals;
+    public final int[] assists;
+    public final int[] yellowCards;
+    public final int[] redCards;
+    public final double[] totalRating;
+    public final int[] ratingCount;
+    public final int[] potm;
+
+    private final int[] order;
+    private int count;
+
+    private PlayerTotals(int players) {
+        this.appearances = new int[players];
+        this.goals = new int[players];
+        this.assists = new int[players];
+        this.yellowCards = new int[players];
+        this.redCards = new int[players];
+        this.totalRating = new double[players];
+        this.ratingCount = new int[players];
+        this.potm = new int[players];
+        this.order = new int[players];
+    }
+
+    /**
+     * @param seasonId null for every season
+     * @param include  per player index; players not included are skipped entirely (e.g. players
+     *                 no longer on the roster)
+     */
+    public static PlayerTotals of(TeamColumns c, Long seasonId, boolean[] include) {
+        PlayerTotals t = new PlayerTotals(c.playerCount());
+        for (int m = 0; m < c.matchCount(); m++) {
+            if (c.inSeason(m, seasonId)) t.add(c, m, include);
+        }
+        return t;
+    }
+
+    private void add(TeamColumns c, int m, boolean[] include) {
+        int best = -1;
+        double bestRating = Double.NEGATIVE_INFINITY;
+        for (int a = c.appStart(m); a < c.appEnd(m); a++) {
+            int p = c.player(a);
+            if (!include[p]) continue;
+
+            if (appearances[p]++ == 0) order[count++] = p;
+            goals[p] += c.goals(a);
+            assists[p] += c.assists(a);
+            yellowCards[p] += c.yellowCards(a);
+            redCards[p] += c.redCards(a);
+
+            double r = c.rating(a);
+            if (Double.isNaN(r)) continue;
+            totalRating[p] += r;
+            ratingCount[p]++;
+            if (r > bestRating) {
+                bestRating = r;
+                best = p;
+            }
+        }
+        if (best >= 0) potm[best]++;
+    }
+
+    // number of players that appeared
+    public int count() {
+        return count;
+    }
+
+    // player index of the i-th player to appear
+    public int player(int i) {
+        return order[i];
+    }
+
+    public Double avgRating(int p) {
+        return ratingCount[p] > 0 ? totalRating[p] / ratingCount[p] : null;
+    }
+}
@@ -0,0 +1,181 @@
+package com.localxi.local_xi_backend.analytics;
+
+import com.localxi.local_xi_backend.repository.PlayerRepository;
+import com.localxi.local_xi_backend.repository.TeamRepository;
+import com.localxi.local_xi_backend.service.FanOut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Rating distributions of each squad and of the whole platform, as RatingHistograms: one of
+ * every rated appearance (slot or stat rating, the stat one winning) and one of every player's
+ * average rating. Only players still on their team's roster count, as on the leaderboards.
+ *
+ * The histograms are built and refreshed as a PlatformIndex (app.ratings.partitionTeams,
+ * app.ratings.rebuildMillis) by scanning every team's columns. After that a write to a team
+ * recomputes only that team's histograms from its in-memory columns and swaps the difference
+ * into the platform ones. The periodic rebuild picks up changes this instance wasn't told about.
+ *
+ * A player's own distribution and average come straight from the team's columns, so percentile
+ * and distribution queries never read rating rows.
+ */
+@Service
+public class RatingDistributions extends PlatformIndex {
+
+    public static final Set<String> SCOPES = Set.of("squad", "platform");
+
+    public static class PlayerRatings {
+        public Long playerId;
+        public int ratedAppearances;
+        public Double avgRating;
+        // rank of the player's average among the averages of the squad / every player
+        public Double squadPercentile;
+        public Double platformPercentile;
+        public List<RatingHistogram.Bin> distribution;
+    }
+
+    public static class Distribution {
+        public String scope;
+        public long ratedAppearances;
+        public long ratedPlayers;
+        public List<RatingHistogram.Bin> appearances;
+        public List<RatingHistogram.Bin> averages;
+    }
+
+    private record Histograms(RatingHistogram appearances, RatingHistogram averages) {
+        static Histograms empty() {
+            return new Histograms(new RatingHistogram(), new RatingHistogram());
+        }
+    }
+
+    private final TeamColumnStore columns;
+    private final PlayerRepository playerRepo;
+
+    // only written on the timer thread; platform is replaced, never changed in place
+    private volatile Map<Long, Histograms> teams;
+    private volatile Histograms platform;
+
+    public RatingDistributions(TeamColumnStore columns, TeamRepository teamRepo, PlayerRepository playerRepo, FanOut fanOut,
+                               @Value("${app.ratings.partitionTeams:100}") int partitionTeams,
+                               @Value("${app.ratings.rebuildMillis:3600000}") long rebuildMillis) {
+        super("Rating distributions", "rating-histograms", teamRepo, fanOut, partitionTeams, rebuildMillis);
+        this.columns = columns;
+        this.playerRepo = playerRepo;
+    }
+
+    /** Empty when the player isn't on the team. */
+    public Optional<PlayerRatings> player(Long teamId, Long playerId) {
+        Set<Long> roster = roster(teamId);
+        if (!roster.contains(playerId)) return Optional.empty();
+        ensureBuilt();
+
+        TeamColumns c = columns.get(teamId);
+        RatingHistogram own = new RatingHistogram();
+        double total = 0;
+        int p = 0;
+        while (p < c.playerCount() && c.playerId(p) != playerId) p++;
+        for (int a = 0; a < c.appearanceCount(); a++) {
+            if (c.player(a) != p || Double.isNaN(c.rating(a))) continue;
+            own.add(c.rating(a));
+            total += c.rating(a);
+        }
+
+        PlayerRatings out = new PlayerRatings();
+        out.playerId = playerId;
+        out.ratedAppearances = (int) own.total();
+        out.distribution = own.bins();
+        if (own.total() > 0) {
+            out.avgRating = total / own.total();
+            out.squadPercentile = teams.getOrDefault(teamId, Histograms.empty()).averages().percentileRank(out.avgRating);
+            out.platformPercentile = platform.averages().percentileRank(out.avgRating);
+        }
+        return Optional.of(out);
+    }
+
+    // scope is squad or platform
+    public Distribution distribution(Long teamId, String scope) {
+        ensureBuilt();
+        Histograms h = "platform".equals(scope) ? platform : teams.getOrDefault(teamId, Histograms.empty());
+
+        Distribution out = new Distribution();
+        out.scope = scope;
+        out.ratedAppearances = h.appearances().total();
+        out.ratedPlayers = h.averages().total();
+        out.appearances = h.appearances().bins();
+        out.averages = h.averages().bins();
+        return out;
+    }
+
+    @Override
+    void rebuild() throws TimeoutException {
+        List<Object[]> teamRows = teamRepo.idsAndNames();
+        List<Map<Long, Histograms>> partials = loadRanges(teamRows, this::partition);
+
+        Map<Long, Histograms> all = new ConcurrentHashMap<>();
+        Histograms sum = Histograms.empty();
+        for (Map<Long, Histograms> p : partials) {
+            for (Map.Entry<Long, Histograms> e : p.entrySet()) {
+                all.put(e.getKey(), e.getValue());
+                sum.appearances().add(e.getValue().appearances());
+                sum.averages().add(e.getValue().averages());
+            }
+        }
+        teams = all;
+        platform = sum;
+        log.info("Rating distributions rebuilt from {} teams in {} partitions", teamRows.size(), partials.size());
+    }
+
+    private Map<Long, Histograms> partition(Long fromTeam, Long toTeam) {
+        Map<Long, Set<Long>> rosters = new HashMap<>();
+        for (Object[] p : playerRepo.namesForTeamRange(fromTeam, toTeam)) {
+            rosters.computeIfAbsent((Long) p[1], k -> new HashSet<>()).add((Long) p[0]);
+        }
+        Map<Long, Histograms> out = new HashMap<>();
+        for (Map.Entry<Long, TeamColumns> e : columns.loadRange(fromTeam, toTeam).entrySet()) {
+            out.put(e.getKey(), histograms(e.getValue(), rosters.getOrDefault(e.getKey(), Set.of())));
+        }
+        return out;
+    }
+
+    // recomputes one team and moves the platform histograms by the difference
+    @Override
+    protected void replaceTeam(Long teamId) {
+        Histograms fresh = histograms(columns.get(teamId), roster(teamId));
+        Histograms old = teams.put(teamId, fresh);
+
+        Histograms next = new Histograms(new RatingHistogram(platform.appearances()), new RatingHistogram(platform.averages()));
+        if (old != null) {
+            next.appearances().subtract(old.appearances());
+            next.averages().subtract(old.averages());
+        }
+        next.appearances().add(fresh.appearances());
+        next.averages().add(fresh.averages());
+        platform = next;
+    }
+
+    private Set<Long> roster(Long teamId) {
+        Set<Long> out = new HashSet<>();
+        for (Object[] p : playerRepo.namesForTeamRange(teamId, teamId)) out.add((Long) p[0]);
+        return out;
+    }
+
+    private static Histograms histograms(TeamColumns c, Set<Long> roster) {
+        boolean[] onRoster = new boolean[c.playerCount()];
+        for (int p = 0; p < onRoster.length; p++) onRoster[p] = roster.contains(c.playerId(p));
+
+        Histograms h = Histograms.empty();
+        for (int a = 0; a < c.appearanceCount(); a++) {
+            if (onRoster[c.player(a)] && !Double.isNaN(c.rating(a))) h.appearances().add(c.rating(a));
+        }
+        PlayerTotals t = PlayerTotals.of(c, null, onRoster);
+        for (int i = 0; i < t.count(); i++) {
+            Double avg = t.avgRating(t.player(i));
+            if (avg != null) h.averages().add(avg);
+        }
+        return h;
+    }
+}
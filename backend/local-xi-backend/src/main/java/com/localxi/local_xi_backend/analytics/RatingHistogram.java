@@ -0,0 +1,84 @@
+package com.localxi.local_xi_backend.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counts of ratings in 0.1 wide bins over 0–10 (ratings outside are clamped to the ends), so a
+ * whole distribution is 101 ints however many ratings went into it. Percentile ranks are exact
+ * to the bin.
+ *
+ * Not thread-safe; RatingDistributions only publishes instances nobody writes to any more.
+ */
+public final class RatingHistogram {
+
+    public static final int BINS = 101;
+
+    public static class Bin {
+        public double rating;
+        public int count;
+
+        Bin(double rating, int count) {
+            this.rating = rating;
+            this.count = count;
+        }
+    }
+
+    private final int[] counts;
+    private long total;
+
+    public RatingHistogram() {
+        this.counts = new int[BINS];
+    }
+
+    public RatingHistogram(RatingHistogram other) {
+        this.counts = Arrays.copyOf(other.counts, BINS);
+        this.total = other.total;
+    }
+
+    public static int bin(double rating) {
+        return (int) Math.max(0, Math.min(BINS - 1, Math.round(rating * 10)));
+    }
+
+    public void add(double rating) {
+        counts[bin(rating)]++;
+        total++;
+    }
+
+    public void add(RatingHistogram other) {
+        for (int i = 0; i < BINS; i++) counts[i] += other.counts[i];
+        total += other.total;
+    }
+
+    public void subtract(RatingHistogram other) {
+        for (int i = 0; i < BINS; i++) counts[i] -= other.counts[i];
+        total -= other.total;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Share of ratings below the given one, counting half of those in its bin, as 0–100 rounded
+     * to one decimal; null when the histogram is empty.
+     */
+    public Double percentileRank(double rating) {
+        if (total == 0) return null;
+        int b = bin(rating);
+        long below = 0;
+        for (int i = 0; i < b; i++) below += counts[i];
+        double rank = (below + counts[b] / 2.0) * 100 / total;
+        return Math.round(rank * 10) / 10.0;
+    }
+
+    // non-empty bins, lowest rating first
+    public List<Bin> bins() {
+        List<Bin> out = new ArrayList<>();
+        for (int i = 0; i < BINS; i++) {
+            if (counts[i] > 0) out.add(new Bin(i / 10.0, counts[i]));
+        }
+        return out;
+    }
+}
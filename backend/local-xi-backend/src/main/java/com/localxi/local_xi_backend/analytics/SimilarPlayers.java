@@ -0,0 +1,339 @@
+package com.localxi.local_xi_backend.analytics;
+
+import com.localxi.local_xi_backend.repository.PlayerRepository;
+import com.localxi.local_xi_backend.repository.TeamRepository;
+import com.localxi.local_xi_backend.service.FanOut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * "Who plays most like X": every rostered player as a unit-length float vector, nearest players
+ * by cosine similarity.
+ *
+ * A vector is the player's goals, assists, yellow and red cards per appearance and average
+ * rating, each standardized against the whole platform, followed by the player's positions
+ * one-hot (scaled so the positions together weigh POSITION_WEIGHT). Totals come from the team's
+ * columns, so slot-only appearances count as appearances, as on the leaderboard.
+ *
+ * Vectors live in one primitive float matrix per team. A squad search scans the team's matrix;
+ * a platform search splits the teams into app.similar.scanPartitions ranges of about equal rows
+ * and scans them in parallel through FanOut (no transactions: the scan only reads the
+ * matrices), each keeping its own top k, then merges. A scan that takes longer than
+ * app.similar.scanTimeoutMillis is cancelled.
+ *
+ * Built and refreshed as a PlatformIndex (app.similar.partitionTeams, app.similar.rebuildMillis);
+ * the rebuild also refreshes the standardization and the position list. In between, a write to
+ * a team re-encodes that team's matrix.
+ */
+@Service
+public class SimilarPlayers extends PlatformIndex {
+
+    public static final Set<String> SCOPES = Set.of("squad", "platform");
+
+    // goals, assists, yellow cards, red cards per appearance; average rating
+    private static final int STATS = 5;
+    private static final float POSITION_WEIGHT = 1.5f;
+
+    public static class SimilarPlayer {
+        public Long playerId;
+        public String name;
+        public int number;
+        public Long teamId;
+        public String teamName;
+        public double similarity;
+    }
+
+    // one team's players before standardization
+    private record RawTeam(Long teamId, String teamName, long[] playerIds, String[] names, int[] numbers,
+                           float[][] stats, List<List<String>> positions) { }
+
+    // standardization and position columns shared by every team matrix
+    private record Space(float[] mean, float[] std, Map<String, Integer> positions) {
+        int dims() {
+            return STATS + positions.size();
+        }
+    }
+
+    // rows x dims, row-major
+    private record TeamMatrix(Long teamId, String teamName, long[] playerIds, String[] names, int[] numbers,
+                              float[] vectors, int dims) {
+        int rows() {
+            return playerIds.length;
+        }
+    }
+
+    private record Index(Space space, Map<Long, TeamMatrix> teams) { }
+
+    private final TeamColumnStore columns;
+    private final PlayerRepository playerRepo;
+    private final int maxK;
+    private final int scanPartitions;
+    private final long scanTimeoutMillis;
+
+    // only written on the timer thread
+    private volatile Index index;
+
+    public SimilarPlayers(TeamColumnStore columns, TeamRepository teamRepo, PlayerRepository playerRepo, FanOut fanOut,
+                          @Value("${app.similar.maxK:50}") int maxK,
+                          @Value("${app.similar.scanPartitions:4}") int scanPartitions,
+                          @Value("${app.similar.scanTimeoutMillis:2000}") long scanTimeoutMillis,
+                          @Value("${app.similar.partitionTeams:100}") int partitionTeams,
+                          @Value("${app.similar.rebuildMillis:3600000}") long rebuildMillis) {
+        super("Similar-player vectors", "similar-players", teamRepo, fanOut, partitionTeams, rebuildMillis);
+        this.columns = columns;
+        this.playerRepo = playerRepo;
+        this.maxK = maxK;
+        this.scanPartitions = Math.max(1, scanPartitions);
+        this.scanTimeoutMillis = scanTimeoutMillis;
+    }
+
+    public int maxK() {
+        return maxK;
+    }
+
+    /** The k players most like the given one, best first; empty when the player isn't on the team. */
+    public Optional<List<SimilarPlayer>> similar(Long teamId, Long playerId, String scope, int k) throws TimeoutException {
+        ensureBuilt();
+        Index current = index;
+
+        TeamMatrix own = current.teams().get(teamId);
+        int row = own == null ? -1 : rowOf(own, playerId);
+        if (row < 0) return Optional.empty();
+        float[] query = Arrays.copyOfRange(own.vectors(), row * own.dims(), (row + 1) * own.dims());
+
+        if ("squad".equals(scope)) {
+            return Optional.of(sorted(scan(List.of(own), query, playerId, k)));
+        }
+        List<List<TeamMatrix>> parts = split(current.teams().values());
+        if (parts.size() == 1) {
+            return Optional.of(sorted(scan(parts.get(0), query, playerId, k)));
+        }
+
+        List<Supplier<PriorityQueue<SimilarPlayer>>> partials = new ArrayList<>();
+        try (FanOut.Scope scans = fanOut.open(scanTimeoutMillis)) {
+            for (List<TeamMatrix> part : parts) partials.add(scans.forkInMemory(() -> scan(part, query, playerId, k)));
+            scans.join();
+        }
+        PriorityQueue<SimilarPlayer> merged = new PriorityQueue<>(k + 1, WORST_FIRST);
+        for (Supplier<PriorityQueue<SimilarPlayer>> p : partials) {
+            for (SimilarPlayer m : p.get()) offer(merged, m, k);
+        }
+        return Optional.of(sorted(merged));
+    }
+
+    @Override
+    void rebuild() throws TimeoutException {
+        List<Object[]> teamRows = teamRepo.idsAndNames();
+        Map<Long, String> teamNames = teamNames(teamRows);
+
+        List<RawTeam> raw = new ArrayList<>();
+        for (List<RawTeam> p : loadRanges(teamRows, (from, to) -> load(from, to, teamNames))) raw.addAll(p);
+        Space space = space(raw);
+        Map<Long, TeamMatrix> teams = new ConcurrentHashMap<>();
+        for (RawTeam t : raw) teams.put(t.teamId(), encode(t, space));
+        index = new Index(space, teams);
+        log.info("Similar-player vectors rebuilt: {} teams, {} dimensions", teams.size(), space.dims());
+    }
+
+    // re-encodes one team with the current standardization
+    @Override
+    protected void replaceTeam(Long teamId) {
+        Index current = index;
+        List<RawTeam> raw = raw(teamId, teamId, Collections.singletonMap(teamId, teamName(teamId)), Map.of(teamId, columns.get(teamId)));
+        if (raw.isEmpty()) {
+            // no players left
+            current.teams().remove(teamId);
+        } else {
+            current.teams().put(teamId, encode(raw.get(0), current.space()));
+        }
+    }
+
+    private List<RawTeam> load(Long fromTeam, Long toTeam, Map<Long, String> teamNames) {
+        return raw(fromTeam, toTeam, teamNames, columns.loadRange(fromTeam, toTeam));
+    }
+
+    // rostered players of the teams in range, with their per-appearance stats and positions
+    private List<RawTeam> raw(Long fromTeam, Long toTeam, Map<Long, String> teamNames, Map<Long, TeamColumns> teamColumns) {
+        Map<Long, List<Object[]>> rosters = new TreeMap<>();
+        for (Object[] p : playerRepo.namesForTeamRange(fromTeam, toTeam)) {
+            rosters.computeIfAbsent((Long) p[1], k -> new ArrayList<>()).add(p);
+        }
+        Map<Long, List<String>> positions = new HashMap<>();
+        for (Object[] r : playerRepo.positionsForTeamRange(fromTeam, toTeam)) {
+            positions.computeIfAbsent(((Number) r[0]).longValue(), k -> new ArrayList<>()).add(((String) r[1]).toUpperCase());
+        }
+
+        List<RawTeam> out = new ArrayList<>();
+        for (Map.Entry<Long, List<Object[]>> e : rosters.entrySet()) {
+            List<Object[]> roster = e.getValue();
+            TeamColumns c = teamColumns.get(e.getKey());
+            Map<Long, Integer> rosterRow = new HashMap<>();
+            for (int i = 0; i < roster.size(); i++) rosterRow.put((Long) roster.get(i)[0], i);
+
+            float[][] stats = new float[roster.size()][];
+            if (c != null) {
+                boolean[] onRoster = new boolean[c.playerCount()];
+                for (int p = 0; p < onRoster.length; p++) onRoster[p] = rosterRow.containsKey(c.playerId(p));
+                PlayerTotals t = PlayerTotals.of(c, null, onRoster);
+                for (int i = 0; i < t.count(); i++) {
+                    int p = t.player(i);
+                    float apps = t.appearances[p];
+                    Double avg = t.avgRating(p);
+                    stats[rosterRow.get(c.playerId(p))] = new float[] {
+                            t.goals[p] / apps, t.assists[p] / apps, t.yellowCards[p] / apps, t.redCards[p] / apps,
+                            avg == null ? Float.NaN : avg.floatValue()};
+                }
+            }
+
+            long[] ids = new long[roster.size()];
+            String[] names = new String[roster.size()];
+            int[] numbers = new int[roster.size()];
+            List<List<String>> playerPositions = new ArrayList<>(roster.size());
+            for (int i = 0; i < roster.size(); i++) {
+                Object[] p = roster.get(i);
+                ids[i] = (Long) p[0];
+                names[i] = (String) p[2];
+                numbers[i] = ((Number) p[3]).intValue();
+                playerPositions.add(positions.getOrDefault(ids[i], List.of()));
+            }
+            out.add(new RawTeam(e.getKey(), teamNames.get(e.getKey()), ids, names, numbers, stats, playerPositions));
+        }
+        return out;
+    }
+
+    // mean and standard deviation of each stat over players that have it; every position seen
+    private static Space space(List<RawTeam> teams) {
+        double[] sum = new double[STATS];
+        double[] sumSq = new double[STATS];
+        int[] n = new int[STATS];
+        SortedSet<String> positions = new TreeSet<>();
+        for (RawTeam t : teams) {
+            for (int i = 0; i < t.playerIds().length; i++) {
+                positions.addAll(t.positions().get(i));
+                if (t.stats()[i] == null) continue;
+                for (int s = 0; s < STATS; s++) {
+                    float v = t.stats()[i][s];
+                    if (Float.isNaN(v)) continue;
+                    sum[s] += v;
+                    sumSq[s] += (double) v * v;
+                    n[s]++;
+                }
+            }
+        }
+        float[] mean = new float[STATS];
+        float[] std = new float[STATS];
+        for (int s = 0; s < STATS; s++) {
+            double m = n[s] == 0 ? 0 : sum[s] / n[s];
+            double var = n[s] == 0 ? 0 : sumSq[s] / n[s] - m * m;
+            mean[s] = (float) m;
+            std[s] = var > 1e-12 ? (float) Math.sqrt(var) : 1f;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (String p : positions) columns.put(p, STATS + columns.size());
+        return new Space(mean, std, columns);
+    }
+
+    // players without appearances (or ratings) sit at the platform mean for those stats
+    private static TeamMatrix encode(RawTeam t, Space space) {
+        int dims = space.dims();
+        float[] vectors = new float[t.playerIds().length * dims];
+        for (int i = 0; i < t.playerIds().length; i++) {
+            int base = i * dims;
+            float[] stats = t.stats()[i];
+            if (stats != null) {
+                for (int s = 0; s < STATS; s++) {
+                    if (!Float.isNaN(stats[s])) vectors[base + s] = (stats[s] - space.mean()[s]) / space.std()[s];
+                }
+            }
+            List<String> positions = t.positions().get(i);
+            float weight = positions.isEmpty() ? 0 : POSITION_WEIGHT / (float) Math.sqrt(positions.size());
+            for (String p : positions) {
+                // positions first seen after the last rebuild get a column at the next one
+                Integer col = space.positions().get(p);
+                if (col != null) vectors[base + col] = weight;
+            }
+
+            double norm = 0;
+            for (int d = 0; d < dims; d++) norm += vectors[base + d] * vectors[base + d];
+            if (norm == 0) continue;
+            float inv = (float) (1 / Math.sqrt(norm));
+            for (int d = 0; d < dims; d++) vectors[base + d] *= inv;
+        }
+        return new TeamMatrix(t.teamId(), t.teamName(), t.playerIds(), t.names(), t.numbers(), vectors, dims);
+    }
+
+    private static int rowOf(TeamMatrix m, long playerId) {
+        for (int i = 0; i < m.rows(); i++) {
+            if (m.playerIds()[i] == playerId) return i;
+        }
+        return -1;
+    }
+
+    // teams cut into scanPartitions groups of about the same number of rows
+    private List<List<TeamMatrix>> split(Collection<TeamMatrix> teams) {
+        long rows = 0;
+        for (TeamMatrix m : teams) rows += m.rows();
+        long perPart = Math.max(1, (rows + scanPartitions - 1) / scanPartitions);
+
+        List<List<TeamMatrix>> out = new ArrayList<>();
+        List<TeamMatrix> part = new ArrayList<>();
+        long inPart = 0;
+        for (TeamMatrix m : teams) {
+            part.add(m);
+            inPart += m.rows();
+            if (inPart >= perPart) {
+                out.add(part);
+                part = new ArrayList<>();
+                inPart = 0;
+            }
+        }
+        if (!part.isEmpty() || out.isEmpty()) out.add(part);
+        return out;
+    }
+
+    // lowest similarity first, and on a tie the higher player id, so the heap drops those
+    private static final Comparator<SimilarPlayer> WORST_FIRST =
+            Comparator.comparingDouble((SimilarPlayer m) -> m.similarity).thenComparing(m -> -m.playerId);
+
+    private static PriorityQueue<SimilarPlayer> scan(List<TeamMatrix> teams, float[] query, long exclude, int k) {
+        PriorityQueue<SimilarPlayer> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+        int dims = query.length;
+        for (TeamMatrix m : teams) {
+            float[] v = m.vectors();
+            for (int i = 0; i < m.rows(); i++) {
+                if (m.playerIds()[i] == exclude) continue;
+                int base = i * dims;
+                float dot = 0;
+                for (int d = 0; d < dims; d++) dot += query[d] * v[base + d];
+                if (heap.size() == k && dot < heap.peek().similarity) continue;
+
+                SimilarPlayer found = new SimilarPlayer();
+                found.playerId = m.playerIds()[i];
+                found.name = m.names()[i];
+                found.number = m.numbers()[i];
+                found.teamId = m.teamId();
+                found.teamName = m.teamName();
+                found.similarity = dot;
+                offer(heap, found, k);
+            }
+        }
+        return heap;
+    }
+
+    private static void offer(PriorityQueue<SimilarPlayer> heap, SimilarPlayer m, int k) {
+        heap.add(m);
+        if (heap.size() > k) heap.poll();
+    }
+
+    private static List<SimilarPlayer> sorted(PriorityQueue<SimilarPlayer> heap) {
+        List<SimilarPlayer> out = new ArrayList<>(heap);
+        out.sort(WORST_FIRST.reversed());
+        for (SimilarPlayer m : out) m.similarity = Math.round(m.similarity * 1000) / 1000.0;
+        return out;
+    }
+}
@@ -0,0 +1,157 @@
+package com.localxi.local_xi_backend.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.repository.LineupRepository;
+import com.localxi.local_xi_backend.repository.MatchRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Per-team TeamColumns, loaded on first use (two queries plus the team's archived seasons) and
+ * kept in a cache bounded by app.analytics.columns.maxBytes; the least used teams are dropped
+ * first.
+ *
+ * Writes to matches, lineups and match events reload only the matches they name and splice
+ * them into the team's columns after commit. The splice runs in the cache's per-key compute,
+ * so it can't interleave with a load of the same team. Teams that aren't loaded are skipped;
+ * their next load reads the new data anyway.
+ */
+@Service
+public class TeamColumnStore implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamColumnStore.class);
+
+    private final Cache<Long, TeamColumns> teams;
+    private final MatchRepository matchRepo;
+    private final LineupRepository lineupRepo;
+    private final SeasonArchive archive;
+    private final TransactionTemplate readOnlyTx;
+
+    public TeamColumnStore(MatchRepository matchRepo, LineupRepository lineupRepo, SeasonArchive archive,
+                           PlatformTransactionManager txManager,
+                           @Value("${app.analytics.columns.maxBytes:134217728}") long maxBytes) {
+        this.matchRepo = matchRepo;
+        this.lineupRepo = lineupRepo;
+        this.archive = archive;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.teams = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long teamId, TeamColumns c) -> (int) Math.min(Integer.MAX_VALUE, c.bytes()))
+                .recordStats()
+                .build();
+    }
+
+    public TeamColumns get(Long teamId) {
+        return teams.get(teamId, this::load);
+    }
+
+    public void evict(Long teamId) {
+        teams.invalidate(teamId);
+    }
+
+    // ahead of listeners that read the columns (GlobalLeaderboards)
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamDataChanged(TeamDataChangedEvent event) {
+        if (event.getTeamId() == null) return;
+        switch (event.getEntityType()) {
+            // LINEUP and MATCH_EVENT ids are match ids
+            case MATCH, LINEUP, MATCH_EVENT -> refresh(event.getTeamId(), event.getEntityIds());
+            default -> { }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, teams, "analyticsColumns");
+    }
+
+    private void refresh(Long teamId, List<Long> matchIds) {
+        if (matchIds.isEmpty()) {
+            evict(teamId);
+            return;
+        }
+        try {
+            teams.asMap().computeIfPresent(teamId, (k, columns) -> columns.replace(matchIds, loadMatches(teamId, matchIds)));
+        } catch (RuntimeException e) {
+            // a failed splice would leave stale columns behind
+            evict(teamId);
+            log.warn("Dropped analytics columns of team {}: {}", teamId, e.toString());
+        }
+    }
+
+    // columns of every team with matches in [fromTeam, toTeam], for one-off scans; not cached
+    public Map<Long, TeamColumns> loadRange(Long fromTeam, Long toTeam) {
+        return readOnlyTx.execute(status -> {
+            Map<Long, List<Object[]>> matches = new LinkedHashMap<>();
+            for (Object[] r : matchRepo.resultColumnsForTeamRange(fromTeam, toTeam)) {
+                matches.computeIfAbsent((Long) r[0], k -> new ArrayList<>()).add(Arrays.copyOfRange(r, 1, r.length));
+            }
+            Map<Long, List<Object[]>> appearances = byMatch(lineupRepo.appearanceRowsForTeamRange(fromTeam, toTeam));
+
+            Map<Long, TeamColumns> out = new HashMap<>();
+            for (Map.Entry<Long, List<Object[]>> e : matches.entrySet()) {
+                addArchived(e.getKey(), appearances);
+                out.put(e.getKey(), TeamColumns.of(e.getValue(), appearances));
+            }
+            return out;
+        });
+    }
+
+    private TeamColumns load(Long teamId) {
+        return readOnlyTx.execute(status -> {
+            Map<Long, List<Object[]>> appearances = byMatch(lineupRepo.appearanceRowsForTeam(teamId));
+            addArchived(teamId, appearances);
+            return TeamColumns.of(matchRepo.resultColumnsForTeam(teamId), appearances);
+        });
+    }
+
+    // archived seasons have no slot / stat rows left in the database
+    private void addArchived(Long teamId, Map<Long, List<Object[]>> appearances) {
+        for (Object[] r : archive.slotRatings(teamId, null)) {
+            appearances.computeIfAbsent((Long) r[0], k -> new ArrayList<>()).add(slotRow(r));
+        }
+        for (Object[] r : archive.statRows(teamId, null)) {
+            appearances.computeIfAbsent((Long) r[0], k -> new ArrayList<>()).add(statRow(r));
+        }
+    }
+
+    // archived matches are read-only, so only live ones come through here
+    private TeamColumns loadMatches(Long teamId, List<Long> matchIds) {
+        return readOnlyTx.execute(status -> TeamColumns.of(
+                matchRepo.resultColumnsForMatches(teamId, matchIds),
+                byMatch(lineupRepo.appearanceRowsForMatches(teamId, matchIds))));
+    }
+
+    private static Map<Long, List<Object[]>> byMatch(List<Object[]> rows) {
+        Map<Long, List<Object[]>> out = new HashMap<>();
+        for (Object[] r : rows) {
+            out.computeIfAbsent(((Number) r[0]).longValue(), k -> new ArrayList<>()).add(r);
+        }
+        return out;
+    }
+
+    // archive rows in the shape of LineupRepository.appearanceRowsFor*
+    private static Object[] slotRow(Object[] r) {
+        return new Object[] {r[0], r[1], r[2], 0, 0, 0, 0, 0};
+    }
+
+    private static Object[] statRow(Object[] r) {
+        return new Object[] {r[0], r[1], r[6], r[2], r[3], r[4], r[5], 1};
+    }
+}
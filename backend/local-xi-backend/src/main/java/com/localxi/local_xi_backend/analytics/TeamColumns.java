@@ -0,0 +1,268 @@
+package com.localxi.local_xi_backend.analytics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One team's match results and per-player-per-match figures as parallel primitive arrays.
+ *
+ * Match columns are indexed by match (ascending match id). Appearance columns hold one entry
+ * per player per match: the slot players in slot order, then players who only have stats.
+ * The appearances of match m are [appStart(m), appEnd(m)), so a scan over a season is two
+ * nested loops over arrays with no lookups and no boxing. Players are stored as indexes into
+ * a per-team dictionary (playerId(p)), so per-player accumulators are plain arrays too.
+ *
+ * Instances are immutable. Updates build a new instance (replace), readers keep whichever one
+ * they started with.
+ */
+public final class TeamColumns {
+
+    public static final long NONE = -1;
+    public static final int NO_SCORE = -1;
+
+    // ---------- match columns ----------
+    private final long[] matchId;
+    private final long[] seasonId;
+    private final int[] goalsFor;
+    private final int[] goalsAgainst;
+    private final long[] formationId;
+    private final double[] slotRatingSum;
+    private final int[] slotRatingCount;
+    private final int[] appStart;
+
+    // ---------- appearance columns ----------
+    private final int[] player;
+    private final int[] goals;
+    private final int[] assists;
+    private final int[] yellowCards;
+    private final int[] redCards;
+    private final double[] rating;
+
+    private final long[] playerIds;
+
+    private TeamColumns(Builder b) {
+        this.matchId = Arrays.copyOf(b.matchId, b.matches);
+        this.seasonId = Arrays.copyOf(b.seasonId, b.matches);
+        this.goalsFor = Arrays.copyOf(b.goalsFor, b.matches);
+        this.goalsAgainst = Arrays.copyOf(b.goalsAgainst, b.matches);
+        this.formationId = Arrays.copyOf(b.formationId, b.matches);
+        this.slotRatingSum = Arrays.copyOf(b.slotRatingSum, b.matches);
+        this.slotRatingCount = Arrays.copyOf(b.slotRatingCount, b.matches);
+        this.appStart = Arrays.copyOf(b.appStart, b.matches + 1);
+        this.appStart[b.matches] = b.apps;
+
+        this.player = Arrays.copyOf(b.player, b.apps);
+        this.goals = Arrays.copyOf(b.goals, b.apps);
+        this.assists = Arrays.copyOf(b.assists, b.apps);
+        this.yellowCards = Arrays.copyOf(b.yellowCards, b.apps);
+        this.redCards = Arrays.copyOf(b.redCards, b.apps);
+        this.rating = Arrays.copyOf(b.rating, b.apps);
+
+        this.playerIds = Arrays.copyOf(b.playerIds, b.players);
+    }
+
+    // ---------- building ----------
+
+    /**
+     * @param matchRows       [matchId, seasonId, goalsFor, goalsAgainst, formationId] by match id
+     * @param appearanceRows  per match id: [matchId, playerId, rating, goals, assists, yellowCards,
+     *                        redCards, kind] with slots (kind 0) before player stats (kind 1)
+     */
+    public static TeamColumns of(List<Object[]> matchRows, Map<Long, List<Object[]>> appearanceRows) {
+        Builder b = new Builder();
+        for (Object[] m : matchRows) {
+            long id = ((Number) m[0]).longValue();
+            b.startMatch(id, longOr(m[1], NONE), intOr(m[2], NO_SCORE), intOr(m[3], NO_SCORE), longOr(m[4], NONE));
+            for (Object[] r : appearanceRows.getOrDefault(id, List.of())) {
+                Double rating = r[2] == null ? null : ((Number) r[2]).doubleValue();
+                if (((Number) r[7]).intValue() == 0) {
+                    b.slot(((Number) r[1]).longValue(), rating);
+                } else {
+                    b.stat(((Number) r[1]).longValue(), intOr(r[3], 0), intOr(r[4], 0), intOr(r[5], 0), intOr(r[6], 0), rating);
+                }
+            }
+        }
+        return new TeamColumns(b);
+    }
+
+    /**
+     * A copy with the given matches replaced by their rows in {@code fresh}. Matches listed in
+     * {@code ids} but missing from {@code fresh} were deleted and are dropped.
+     */
+    public TeamColumns replace(Collection<Long> ids, TeamColumns fresh) {
+        Set<Long> replaced = new HashSet<>(ids);
+        Builder b = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < matchId.length || j < fresh.matchId.length) {
+            if (j == fresh.matchId.length || (i < matchId.length && matchId[i] < fresh.matchId[j])) {
+                if (!replaced.contains(matchId[i])) b.copyMatch(this, i);
+                i++;
+            } else {
+                if (i < matchId.length && matchId[i] == fresh.matchId[j]) i++;
+                b.copyMatch(fresh, j++);
+            }
+        }
+        return new TeamColumns(b);
+    }
+
+    // ---------- match columns ----------
+
+    public int matchCount() { return matchId.length; }
+    public long matchId(int m) { return matchId[m]; }
+    public long seasonId(int m) { return seasonId[m]; }
+    public int goalsFor(int m) { return goalsFor[m]; }
+    public int goalsAgainst(int m) { return goalsAgainst[m]; }
+    public long formationId(int m) { return formationId[m]; }
+    public double slotRatingSum(int m) { return slotRatingSum[m]; }
+    public int slotRatingCount(int m) { return slotRatingCount[m]; }
+    public int appStart(int m) { return appStart[m]; }
+    public int appEnd(int m) { return appStart[m + 1]; }
+
+    public boolean hasResult(int m) {
+        return goalsFor[m] != NO_SCORE && goalsAgainst[m] != NO_SCORE;
+    }
+
+    // seasonId null matches every season
+    public boolean inSeason(int m, Long season) {
+        return season == null || seasonId[m] == season;
+    }
+
+    // ---------- appearance columns ----------
+
+    public int appearanceCount() { return player.length; }
+    public int player(int a) { return player[a]; }
+    public int goals(int a) { return goals[a]; }
+    public int assists(int a) { return assists[a]; }
+    public int yellowCards(int a) { return yellowCards[a]; }
+    public int redCards(int a) { return redCards[a]; }
+    // the stat rating, else the slot rating; NaN when unrated
+    public double rating(int a) { return rating[a]; }
+
+    public int playerCount() { return playerIds.length; }
+    public long playerId(int p) { return playerIds[p]; }
+
+    // rough heap footprint, used as the cache weight
+    public long bytes() {
+        return 64L + matchId.length * 53L + player.length * 28L + playerIds.length * 8L;
+    }
+
+    private static long longOr(Object v, long fallback) {
+        return v instanceof Number n ? n.longValue() : fallback;
+    }
+
+    private static int intOr(Object v, int fallback) {
+        return v instanceof Number n ? n.intValue() : fallback;
+    }
+
+    // growable columns; the constructor trims them
+    private static final class Builder {
+        private int matches;
+        private long[] matchId = new long[64];
+        private long[] seasonId = new long[64];
+        private int[] goalsFor = new int[64];
+        private int[] goalsAgainst = new int[64];
+        private long[] formationId = new long[64];
+        private double[] slotRatingSum = new double[64];
+        private int[] slotRatingCount = new int[64];
+        private int[] appStart = new int[65];
+
+        private int apps;
+        private int[] player = new int[256];
+        private int[] goals = new int[256];
+        private int[] assists = new int[256];
+        private int[] yellowCards = new int[256];
+        private int[] redCards = new int[256];
+        private double[] rating = new double[256];
+
+        private int players;
+        private long[] playerIds = new long[32];
+        private final Map<Long, Integer> playerIndex = new HashMap<>();
+
+        // player index -> appearance of the current match
+        private final Map<Integer, Integer> inMatch = new HashMap<>();
+
+        void startMatch(long id, long season, int gf, int ga, long formation) {
+            if (matches == matchId.length) {
+                int n = matches * 2;
+                matchId = Arrays.copyOf(matchId, n);
+                seasonId = Arrays.copyOf(seasonId, n);
+                goalsFor = Arrays.copyOf(goalsFor, n);
+                goalsAgainst = Arrays.copyOf(goalsAgainst, n);
+                formationId = Arrays.copyOf(formationId, n);
+                slotRatingSum = Arrays.copyOf(slotRatingSum, n);
+                slotRatingCount = Arrays.copyOf(slotRatingCount, n);
+                appStart = Arrays.copyOf(appStart, n + 1);
+            }
+            matchId[matches] = id;
+            seasonId[matches] = season;
+            goalsFor[matches] = gf;
+            goalsAgainst[matches] = ga;
+            formationId[matches] = formation;
+            appStart[matches] = apps;
+            matches++;
+            inMatch.clear();
+        }
+
+        void slot(long playerId, Double r) {
+            int a = appearance(playerId);
+            if (r == null) return;
+            rating[a] = r;
+            slotRatingSum[matches - 1] += r;
+            slotRatingCount[matches - 1]++;
+        }
+
+        void stat(long playerId, int g, int as, int y, int red, Double r) {
+            int a = appearance(playerId);
+            goals[a] += g;
+            assists[a] += as;
+            yellowCards[a] += y;
+            redCards[a] += red;
+            if (r != null) rating[a] = r;
+        }
+
+        void copyMatch(TeamColumns src, int m) {
+            startMatch(src.matchId[m], src.seasonId[m], src.goalsFor[m], src.goalsAgainst[m], src.formationId[m]);
+            slotRatingSum[matches - 1] = src.slotRatingSum[m];
+            slotRatingCount[matches - 1] = src.slotRatingCount[m];
+            for (int a = src.appStart[m]; a < src.appStart[m + 1]; a++) {
+                int to = appearance(src.playerIds[src.player[a]]);
+                goals[to] = src.goals[a];
+                assists[to] = src.assists[a];
+                yellowCards[to] = src.yellowCards[a];
+                redCards[to] = src.redCards[a];
+                rating[to] = src.rating[a];
+            }
+        }
+
+        // the current match's appearance of the player, added on first sight
+        private int appearance(long playerId) {
+            int p = playerIndex.computeIfAbsent(playerId, id -> {
+                if (players == playerIds.length) playerIds = Arrays.copyOf(playerIds, players * 2);
+                playerIds[players] = id;
+                return players++;
+            });
+            Integer existing = inMatch.get(p);
+            if (existing != null) return existing;
+
+            if (apps == player.length) {
+                int n = apps * 2;
+                player = Arrays.copyOf(player, n);
+                goals = Arrays.copyOf(goals, n);
+                assists = Arrays.copyOf(assists, n);
+                yellowCards = Arrays.copyOf(yellowCards, n);
+                redCards = Arrays.copyOf(redCards, n);
+                rating = Arrays.copyOf(rating, n);
+            }
+            player[apps] = p;
+            rating[apps] = Double.NaN;
+            inMatch.put(p, apps);
+            return apps++;
+        }
+    }
+}
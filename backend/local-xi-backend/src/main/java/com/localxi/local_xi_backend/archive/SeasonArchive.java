@@ -0,0 +1,334 @@
+package com.localxi.local_xi_backend.archive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.localxi.local_xi_backend.model.Lineup;
+import com.localxi.local_xi_backend.model.LineupPlayerStat;
+import com.localxi.local_xi_backend.model.LineupSlot;
+import com.localxi.local_xi_backend.model.MatchEvent;
+import com.localxi.local_xi_backend.model.Season;
+import com.localxi.local_xi_backend.repository.SeasonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Read side of season archival (see SeasonArchiver). Seasons that have been archived no longer
+ * have lineup slots, player stats or match events in the database; they live in one
+ * SeasonSnapshot file per team under app.archive.dir. The methods here return them as
+ * plain rows or entities, so callers merge them with live results.
+ *
+ * Snapshots are opened (memory-mapped) on first use and kept for up to app.archive.openTeams
+ * teams. What is open (or that a team has no file) is trusted for app.archive.recheckMillis,
+ * then the file is looked at again, so snapshots published by another instance are picked up.
+ *
+ * Whether a match can still be written is decided by the database (Season.archived), not by
+ * the file: see archivedMatchIds.
+ */
+@Service
+public class SeasonArchive implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeasonArchive.class);
+
+    private final Path dir;
+    private final SeasonRepository seasonRepo;
+    private final Cache<Long, Optional<SeasonSnapshot>> open;
+
+    public SeasonArchive(SeasonRepository seasonRepo,
+                         @Value("${app.archive.dir:./data/archive}") String dir,
+                         @Value("${app.archive.openTeams:1000}") long openTeams,
+                         @Value("${app.archive.recheckMillis:10000}") long recheckMillis) {
+        this.seasonRepo = seasonRepo;
+        this.dir = Path.of(dir);
+        this.open = Caffeine.newBuilder()
+                .maximumSize(openTeams)
+                .expireAfterWrite(Duration.ofMillis(recheckMillis))
+                .build();
+    }
+
+    // ---------- write guard ----------
+
+    /**
+     * The team's matches among {@code matchIds} that belong to an archived season, read from the
+     * database: the snapshot may not be published yet, or not seen yet by this instance. Call it
+     * inside the write's transaction. The seasons are share-locked, so archiving (which marks
+     * them first) waits for the write to commit, and a write after archiving sees the flag.
+     */
+    public Set<Long> archivedMatchIds(Long teamId, Collection<Long> matchIds) {
+        if (teamId == null || matchIds.isEmpty()) return Set.of();
+        Set<Long> out = new HashSet<>();
+        for (Object[] r : seasonRepo.lockSeasonsOfMatches(teamId, matchIds)) {
+            if (((Season) r[1]).isArchived()) out.add((Long) r[0]);
+        }
+        return out;
+    }
+
+    public boolean isArchivedMatch(Long teamId, Long matchId) {
+        return matchId != null && !archivedMatchIds(teamId, List.of(matchId)).isEmpty();
+    }
+
+    // ---------- lookups ----------
+
+    public boolean isArchivedSeason(Long teamId, Long seasonId) {
+        return seasonId != null && snapshot(teamId).map(s -> s.hasSeason(seasonId)).orElse(false);
+    }
+
+    public Set<Long> archivedSeasonIds(Long teamId) {
+        Set<Long> ids = new HashSet<>();
+        snapshot(teamId).ifPresent(s -> s.totals().forEach(t -> ids.add(t.seasonId())));
+        return ids;
+    }
+
+    // precomputed season totals from the snapshot header; null when the season isn't archived
+    public SeasonSnapshot.Totals totals(Long teamId, Long seasonId) {
+        return snapshot(teamId).map(s -> s.totals(seasonId)).orElse(null);
+    }
+
+    public List<SeasonSnapshot.Totals> totals(Long teamId) {
+        return snapshot(teamId).map(SeasonSnapshot::totals).orElse(List.of());
+    }
+
+    // ---------- rows (seasonId null: every archived season) ----------
+
+    // [matchId, playerId, rating] for filled slots
+    public List<Object[]> slotRatings(Long teamId, Long seasonId) {
+        List<Object[]> out = new ArrayList<>();
+        for (SeasonSnapshot.SlotRow r : slots(teamId, seasonId)) {
+            if (r.playerId() != null) out.add(new Object[] {r.matchId(), r.playerId(), r.rating()});
+        }
+        return out;
+    }
+
+    // [matchId, playerId, goals, assists, yellowCards, redCards, rating] for rows with a player
+    public List<Object[]> statRows(Long teamId, Long seasonId) {
+        List<Object[]> out = new ArrayList<>();
+        for (SeasonSnapshot.StatRow r : stats(teamId, seasonId)) {
+            if (r.playerId() == null) continue;
+            out.add(new Object[] {r.matchId(), r.playerId(), r.goals(), r.assists(), r.yellowCards(), r.redCards(), r.rating()});
+        }
+        return out;
+    }
+
+    // [goals, assists, yellowCards, redCards] of one player over the archived seasons
+    public int[] playerTotals(Long teamId, Long playerId, Long seasonId) {
+        int[] out = new int[4];
+        for (SeasonSnapshot.StatRow r : stats(teamId, seasonId)) {
+            if (!playerId.equals(r.playerId())) continue;
+            out[0] += n0(r.goals());
+            out[1] += n0(r.assists());
+            out[2] += n0(r.yellowCards());
+            out[3] += n0(r.redCards());
+        }
+        return out;
+    }
+
+    // everything archived for the season (SeasonExportService); empty when it isn't archived
+    public Optional<SeasonSnapshot.SeasonData> season(Long teamId, Long seasonId) {
+        return snapshot(teamId).filter(s -> s.hasSeason(seasonId)).map(s -> s.season(seasonId));
+    }
+
+    // ---------- whole matches ----------
+
+    /**
+     * Puts the archived slots and player stats back on lineups of archived matches (the lineup
+     * rows themselves stay in the database). Lineups of live matches are left alone. The
+     * restored rows have no ids; they are for reading only.
+     */
+    public void restore(Long teamId, Collection<Lineup> lineups) {
+        Optional<SeasonSnapshot> snapshot = snapshot(teamId);
+        if (snapshot.isEmpty() || lineups.isEmpty()) return;
+
+        // archived season -> its lineups by match id; each season's records are decoded once
+        Map<Long, Map<Long, Lineup>> bySeason = new HashMap<>();
+        for (Lineup l : lineups) {
+            Long seasonId = snapshot.get().seasonOfMatch(l.getMatchId());
+            if (seasonId != null) bySeason.computeIfAbsent(seasonId, k -> new HashMap<>()).put(l.getMatchId(), l);
+        }
+        for (Map.Entry<Long, Map<Long, Lineup>> e : bySeason.entrySet()) {
+            Map<Long, Lineup> byMatch = e.getValue();
+            for (SeasonSnapshot.SlotRow r : snapshot.get().slots(e.getKey())) {
+                Lineup lineup = byMatch.get(r.matchId());
+                if (lineup == null) continue;
+                LineupSlot slot = new LineupSlot();
+                slot.setSlotId(r.slotId());
+                slot.setPos(r.pos());
+                slot.setPlayerId(r.playerId());
+                slot.setCaptain(r.captain());
+                slot.setRating(r.rating());
+                slot.setGoals(r.goals());
+                slot.setAssists(r.assists());
+                slot.setYellowCards(r.yellowCards());
+                slot.setRedCards(r.redCards());
+                slot.setLineup(lineup);
+                lineup.getSlots().add(slot);
+            }
+            for (SeasonSnapshot.StatRow r : snapshot.get().stats(e.getKey())) {
+                Lineup lineup = byMatch.get(r.matchId());
+                if (lineup == null) continue;
+                LineupPlayerStat stat = new LineupPlayerStat();
+                stat.setPlayerId(r.playerId());
+                stat.setGoals(r.goals());
+                stat.setAssists(r.assists());
+                stat.setYellowCards(r.yellowCards());
+                stat.setRedCards(r.redCards());
+                stat.setRating(r.rating());
+                stat.setLineup(lineup);
+                lineup.getPlayerStats().add(stat);
+            }
+        }
+    }
+
+    public void restore(Long teamId, Lineup lineup) {
+        restore(teamId, List.of(lineup));
+    }
+
+    // the match's events when it is archived, ordered by minute
+    public Optional<List<MatchEvent>> events(Long teamId, Long matchId) {
+        Optional<SeasonSnapshot> snapshot = snapshot(teamId);
+        if (snapshot.isEmpty()) return Optional.empty();
+        Long seasonId = snapshot.get().seasonOfMatch(matchId);
+        if (seasonId == null) return Optional.empty();
+        return Optional.of(snapshot.get().events(seasonId).stream()
+                .filter(r -> r.matchId() == matchId)
+                .map(SeasonArchive::toEvent)
+                .toList());
+    }
+
+    // all events of an archived season, ordered by match then minute (empty for live seasons)
+    public List<MatchEvent> seasonEvents(Long teamId, Long seasonId) {
+        return snapshot(teamId).map(s -> s.events(seasonId).stream().map(SeasonArchive::toEvent).toList())
+                .orElse(List.of());
+    }
+
+    private static MatchEvent toEvent(SeasonSnapshot.EventRow r) {
+        MatchEvent e = new MatchEvent();
+        e.setMatchId(r.matchId());
+        e.setMinute(r.minute());
+        e.setType(r.type() == null ? null : MatchEvent.EventType.valueOf(r.type()));
+        e.setPlayerId(r.playerId());
+        e.setRelatedPlayerId(r.relatedPlayerId());
+        e.setNote(r.note());
+        return e;
+    }
+
+    // ---------- writing (SeasonArchiver) ----------
+
+    /**
+     * Step 1 of archiving: writes the team's snapshot with the new seasons added to the ones
+     * already archived, under a temporary name. The database rows are deleted next (step 2),
+     * then publish() moves the file into place (step 3). A crash between 2 and 3 is repaired
+     * at startup: a staged file whose seasons are all marked archived is published, any other
+     * staged file is dropped.
+     */
+    void stage(Long teamId, List<SeasonSnapshot.SeasonData> newSeasons) throws IOException {
+        List<SeasonSnapshot.SeasonData> all = new ArrayList<>();
+        Optional<SeasonSnapshot> current = snapshot(teamId);
+        if (current.isPresent()) {
+            for (SeasonSnapshot.Totals t : current.get().totals()) all.add(current.get().season(t.seasonId()));
+        }
+        all.addAll(newSeasons);
+        Files.createDirectories(dir);
+        SeasonSnapshot.write(staged(teamId), teamId, all);
+    }
+
+    void publish(Long teamId) throws IOException {
+        Files.move(staged(teamId), file(teamId), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open.invalidate(teamId);
+    }
+
+    void discard(Long teamId) throws IOException {
+        Files.deleteIfExists(staged(teamId));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        recoverStaged();
+    }
+
+    void recoverStaged() throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.filter(f -> f.getFileName().toString().endsWith(".snap.tmp")).toList()) {
+                recover(p);
+            }
+        }
+    }
+
+    private void recover(Path stagedFile) throws IOException {
+        SeasonSnapshot snapshot;
+        try {
+            snapshot = SeasonSnapshot.open(stagedFile);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable staged snapshot {}: {}", stagedFile, e.getMessage());
+            Files.deleteIfExists(stagedFile);
+            return;
+        }
+        List<Long> ids = snapshot.totals().stream().map(SeasonSnapshot.Totals::seasonId).toList();
+        boolean committed = seasonRepo.findAllById(ids).stream().filter(Season::isArchived).count() == ids.size();
+        if (committed) {
+            log.info("Publishing staged snapshot for team {}", snapshot.teamId());
+            publish(snapshot.teamId());
+        } else {
+            log.info("Dropping staged snapshot for team {} (archiving didn't commit)", snapshot.teamId());
+            Files.deleteIfExists(stagedFile);
+        }
+    }
+
+    // ---------- files ----------
+
+    private Optional<SeasonSnapshot> snapshot(Long teamId) {
+        if (teamId == null) return Optional.empty();
+        return open.get(teamId, id -> {
+            Path file = file(id);
+            if (!Files.exists(file)) return Optional.empty();
+            try {
+                return Optional.of(SeasonSnapshot.open(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open season snapshot " + file, e);
+            }
+        });
+    }
+
+    private List<SeasonSnapshot.SlotRow> slots(Long teamId, Long seasonId) {
+        return rows(teamId, seasonId, SeasonSnapshot::slots);
+    }
+
+    private List<SeasonSnapshot.StatRow> stats(Long teamId, Long seasonId) {
+        return rows(teamId, seasonId, SeasonSnapshot::stats);
+    }
+
+    private interface SeasonRows<T> {
+        List<T> read(SeasonSnapshot snapshot, long seasonId);
+    }
+
+    private <T> List<T> rows(Long teamId, Long seasonId, SeasonRows<T> reader) {
+        Optional<SeasonSnapshot> snapshot = snapshot(teamId);
+        if (snapshot.isEmpty()) return List.of();
+        if (seasonId != null) return reader.read(snapshot.get(), seasonId);
+        List<T> out = new ArrayList<>();
+        for (SeasonSnapshot.Totals t : snapshot.get().totals()) out.addAll(reader.read(snapshot.get(), t.seasonId()));
+        return out;
+    }
+
+    private Path file(Long teamId) {
+        return dir.resolve("team-" + teamId + ".snap");
+    }
+
+    private Path staged(Long teamId) {
+        return dir.resolve("team-" + teamId + ".snap.tmp");
+    }
+
+    private static int n0(Integer v) {
+        return v == null ? 0 : v;
+    }
+}
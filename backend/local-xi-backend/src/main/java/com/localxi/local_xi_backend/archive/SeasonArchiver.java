@@ -0,0 +1,215 @@
+package com.localxi.local_xi_backend.archive;
+
+import com.localxi.local_xi_backend.analytics.TeamColumnStore;
+import com.localxi.local_xi_backend.model.Season;
+import com.localxi.local_xi_backend.repository.LineupPlayerStatRepository;
+import com.localxi.local_xi_backend.repository.LineupSlotRepository;
+import com.localxi.local_xi_backend.repository.MatchEventRepository;
+import com.localxi.local_xi_backend.repository.SeasonRepository;
+import com.localxi.local_xi_backend.service.AnalyticsCache;
+import com.localxi.local_xi_backend.service.MatchDocumentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Moves seasons that ended more than app.archive.afterDays ago out of the live tables: their
+ * lineup slots, player stats and match events are written to the team's snapshot file (see
+ * SeasonArchive) and deleted from the database. Matches, lineups and the season rows stay.
+ * Run with app.archive.enabled=true; seasons already archived are skipped, so it can be
+ * re-run (e.g. once a year) and picks up whatever has aged past the threshold.
+ *
+ * One team at a time, each in its own transaction. Archived seasons are read-only from then
+ * on: the write endpoints and the importer refuse changes to their matches (checked against
+ * Season.archived, see SeasonArchive.archivedMatchIds).
+ */
+@Component
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class SeasonArchiver implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeasonArchiver.class);
+
+    private final SeasonArchive archive;
+    private final SeasonRepository seasonRepo;
+    private final LineupSlotRepository slotRepo;
+    private final LineupPlayerStatRepository statRepo;
+    private final MatchEventRepository eventRepo;
+    private final AnalyticsCache analyticsCache;
+    private final MatchDocumentStore documents;
+    private final TeamColumnStore columns;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int afterDays;
+
+    public SeasonArchiver(SeasonArchive archive, SeasonRepository seasonRepo, LineupSlotRepository slotRepo,
+                          LineupPlayerStatRepository statRepo, MatchEventRepository eventRepo,
+                          AnalyticsCache analyticsCache, MatchDocumentStore documents, TeamColumnStore columns,
+                          JdbcTemplate jdbc,
+                          PlatformTransactionManager txManager,
+                          @Value("${app.archive.afterDays:730}") int afterDays) {
+        this.archive = archive;
+        this.seasonRepo = seasonRepo;
+        this.slotRepo = slotRepo;
+        this.statRepo = statRepo;
+        this.eventRepo = eventRepo;
+        this.analyticsCache = analyticsCache;
+        this.documents = documents;
+        this.columns = columns;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.afterDays = afterDays;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        archive.recoverStaged();
+        int seasons = archiveEndedBefore(LocalDate.now().minusDays(afterDays));
+        log.info("Season archive: {} seasons archived", seasons);
+    }
+
+    public int archiveEndedBefore(LocalDate cutoff) throws IOException {
+        Map<Long, List<Season>> byTeam = new LinkedHashMap<>();
+        for (Season s : seasonRepo.findArchivable(cutoff)) {
+            byTeam.computeIfAbsent(s.getTeamId(), k -> new ArrayList<>()).add(s);
+        }
+        int total = 0;
+        for (Map.Entry<Long, List<Season>> e : byTeam.entrySet()) {
+            try {
+                archiveTeam(e.getKey(), e.getValue());
+                total += e.getValue().size();
+            } catch (IllegalStateException ex) {
+                log.warn("Skipped: {}", ex.getMessage());
+            }
+        }
+        return total;
+    }
+
+    private void archiveTeam(Long teamId, List<Season> seasons) throws IOException {
+        List<SeasonSnapshot.SeasonData> data = new ArrayList<>();
+        List<Long> matchIds = new ArrayList<>();
+        for (Season s : seasons) {
+            SeasonSnapshot.SeasonData d = read(teamId, s.getId());
+            data.add(d);
+            for (long id : d.matchIds()) matchIds.add(id);
+        }
+
+        archive.stage(teamId, data);
+        try {
+            tx.executeWithoutResult(status -> {
+                // first, so the season rows are locked: writes in flight finish before the
+                // deletes (and fail the count check below), later ones see the seasons archived
+                seasonRepo.markArchived(seasons.stream().map(Season::getId).toList());
+                if (!matchIds.isEmpty()) {
+                    int slots = slotRepo.deleteForMatches(matchIds);
+                    int stats = statRepo.deleteForMatches(matchIds);
+                    int events = eventRepo.deleteForMatches(matchIds);
+                    // an edit landed between reading and deleting; leave the team for the next run
+                    if (slots != count(data, SeasonSnapshot.SeasonData::slots)
+                            || stats != count(data, SeasonSnapshot.SeasonData::stats)
+                            || events != count(data, SeasonSnapshot.SeasonData::events)) {
+                        throw new IllegalStateException("Team " + teamId + " changed while being archived");
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            archive.discard(teamId);
+            throw e;
+        }
+        archive.publish(teamId);
+
+        // anything computed between the delete and the publish saw neither copy
+        analyticsCache.invalidate(teamId, EnumSet.allOf(AnalyticsCache.View.class));
+        documents.forget(teamId, matchIds);
+        columns.evict(teamId);
+        log.info("Archived {} seasons ({} matches) of team {}", seasons.size(), matchIds.size(), teamId);
+    }
+
+    // the season's rows as the snapshot stores them, plus its totals
+    private SeasonSnapshot.SeasonData read(Long teamId, Long seasonId) {
+        int[] t = new int[6]; // played, wins, draws, losses, gf, ga
+        List<Long> ids = new ArrayList<>();
+        jdbc.query("select id, goals_for, goals_against from matches where team_id = ? and season_id = ?", rs -> {
+            ids.add(rs.getLong(1));
+            Integer gf = intOrNull(rs, 2);
+            Integer ga = intOrNull(rs, 3);
+            if (gf == null || ga == null) return;
+            t[0]++;
+            if (gf > ga) t[1]++;
+            else if (gf.equals(ga)) t[2]++;
+            else t[3]++;
+            t[4] += gf;
+            t[5] += ga;
+        }, teamId, seasonId);
+
+        List<SeasonSnapshot.SlotRow> slots = jdbc.query("""
+                select l.match_id, s.slot_id, s.pos, s.player_id, s.is_captain, s.rating,
+                       s.goals, s.assists, s.yellow_cards, s.red_cards
+                from lineup_slot s
+                join lineup l on l.id = s.lineup_id
+                join matches m on m.id = l.match_id
+                where m.team_id = ? and m.season_id = ?
+                order by l.match_id, s.id
+                """, (rs, i) -> new SeasonSnapshot.SlotRow(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        longOrNull(rs, 4), rs.getBoolean(5), doubleOrNull(rs, 6),
+                        intOrNull(rs, 7), intOrNull(rs, 8), intOrNull(rs, 9), intOrNull(rs, 10)),
+                teamId, seasonId);
+
+        List<SeasonSnapshot.StatRow> stats = jdbc.query("""
+                select l.match_id, s.player_id, s.goals, s.assists, s.yellow_cards, s.red_cards, s.rating
+                from lineup_player_stat s
+                join lineup l on l.id = s.lineup_id
+                join matches m on m.id = l.match_id
+                where m.team_id = ? and m.season_id = ?
+                order by l.match_id, s.id
+                """, (rs, i) -> new SeasonSnapshot.StatRow(rs.getLong(1), longOrNull(rs, 2),
+                        intOrNull(rs, 3), intOrNull(rs, 4), intOrNull(rs, 5), intOrNull(rs, 6), doubleOrNull(rs, 7)),
+                teamId, seasonId);
+
+        List<SeasonSnapshot.EventRow> events = jdbc.query("""
+                select e.match_id, e.event_minute, e.type, e.player_id, e.related_player_id, e.note
+                from match_event e
+                join matches m on m.id = e.match_id
+                where m.team_id = ? and m.season_id = ?
+                order by e.match_id, e.event_minute, e.id
+                """, (rs, i) -> new SeasonSnapshot.EventRow(rs.getLong(1), intOrNull(rs, 2), rs.getString(3),
+                        longOrNull(rs, 4), longOrNull(rs, 5), rs.getString(6)),
+                teamId, seasonId);
+
+        return new SeasonSnapshot.SeasonData(
+                new SeasonSnapshot.Totals(seasonId, t[0], t[1], t[2], t[3], t[4], t[5]),
+                ids.stream().mapToLong(Long::longValue).toArray(), slots, stats, events);
+    }
+
+    private static int count(List<SeasonSnapshot.SeasonData> data, Function<SeasonSnapshot.SeasonData, List<?>> rows) {
+        return data.stream().mapToInt(d -> rows.apply(d).size()).sum();
+    }
+
+    private static Integer intOrNull(ResultSet rs, int column) throws SQLException {
+        int v = rs.getInt(column);
+        return rs.wasNull() ? null : v;
+    }
+
+    private static Long longOrNull(ResultSet rs, int column) throws SQLException {
+        long v = rs.getLong(column);
+        return rs.wasNull() ? null : v;
+    }
+
+    private static Double doubleOrNull(ResultSet rs, int column) throws SQLException {
+        double v = rs.getDouble(column);
+        return rs.wasNull() ? null : v;
+    }
+}
@@ -0,0 +1,339 @@
+package com.localxi.local_xi_backend.archive;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One team's archived seasons in a single read-only file, memory-mapped when opened.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * file header    magic "LXAR", format version, teamId, season count
+ * season header  (fixed size, one per season) seasonId, played/W/D/L/GF/GA, record counts,
+ *                offsets of the four sections below
+ * sections       per season: sorted match ids, lineup slots, player stats, match events
+ * </pre>
+ * Season totals are answered from the headers alone. Records are only decoded when a caller
+ * needs a season's (or a match's) rows. Null numbers are stored as sentinels (MIN_VALUE / NaN),
+ * null strings with length -1.
+ */
+public final class SeasonSnapshot {
+
+    private static final int MAGIC = 0x4C584152; // "LXAR"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 4 + 4 + 8 + 4;
+    private static final int SEASON_HEADER_BYTES = 8 + 6 * 4 + 4 * 4 + 4 * 8;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    // ---------- records ----------
+
+    public record Totals(long seasonId, int played, int wins, int draws, int losses, int gf, int ga) {}
+
+    public record SlotRow(long matchId, String slotId, String pos, Long playerId, boolean captain, Double rating,
+                          Integer goals, Integer assists, Integer yellowCards, Integer redCards) {}
+
+    public record StatRow(long matchId, Long playerId, Integer goals, Integer assists, Integer yellowCards,
+                          Integer redCards, Double rating) {}
+
+    public record EventRow(long matchId, Integer minute, String type, Long playerId, Long relatedPlayerId, String note) {}
+
+    // everything archived for one season; slots and stats in id order, events by minute then id
+    public record SeasonData(Totals totals, long[] matchIds, List<SlotRow> slots, List<StatRow> stats, List<EventRow> events) {}
+
+    // ---------- reading ----------
+
+    private record Header(Totals totals, int matchCount, int slotCount, int statCount, int eventCount,
+                          long matchesAt, long slotsAt, long statsAt, long eventsAt) {}
+
+    private final long teamId;
+    private final MappedByteBuffer buffer;
+    private final List<Header> headers;
+
+    private SeasonSnapshot(long teamId, MappedByteBuffer buffer, List<Header> headers) {
+        this.teamId = teamId;
+        this.buffer = buffer;
+        this.headers = headers;
+    }
+
+    static SeasonSnapshot open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        if (buffer.capacity() < FILE_HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a season snapshot: " + file);
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + ": " + file);
+        }
+        long teamId = buffer.getLong(8);
+        int seasons = buffer.getInt(16);
+
+        List<Header> headers = new ArrayList<>(seasons);
+        for (int i = 0; i < seasons; i++) {
+            ByteBuffer b = buffer.duplicate().position(FILE_HEADER_BYTES + i * SEASON_HEADER_BYTES);
+            Totals totals = new Totals(b.getLong(), b.getInt(), b.getInt(), b.getInt(), b.getInt(), b.getInt(), b.getInt());
+            headers.add(new Header(totals, b.getInt(), b.getInt(), b.getInt(), b.getInt(),
+                    b.getLong(), b.getLong(), b.getLong(), b.getLong()));
+        }
+        return new SeasonSnapshot(teamId, buffer, List.copyOf(headers));
+    }
+
+    long teamId() {
+        return teamId;
+    }
+
+    List<Totals> totals() {
+        return headers.stream().map(Header::totals).toList();
+    }
+
+    Totals totals(long seasonId) {
+        Header h = header(seasonId);
+        return h == null ? null : h.totals();
+    }
+
+    boolean hasSeason(long seasonId) {
+        return header(seasonId) != null;
+    }
+
+    // the archived season the match belongs to, or null
+    Long seasonOfMatch(long matchId) {
+        for (Header h : headers) {
+            if (indexOfMatch(h, matchId) >= 0) return h.totals().seasonId();
+        }
+        return null;
+    }
+
+    long[] matchIds(long seasonId) {
+        Header h = header(seasonId);
+        if (h == null) return new long[0];
+        long[] ids = new long[h.matchCount()];
+        buffer.duplicate().position((int) h.matchesAt()).asLongBuffer().get(ids);
+        return ids;
+    }
+
+    List<SlotRow> slots(long seasonId) {
+        Header h = header(seasonId);
+        if (h == null) return List.of();
+        ByteBuffer b = buffer.duplicate().position((int) h.slotsAt());
+        List<SlotRow> out = new ArrayList<>(h.slotCount());
+        for (int i = 0; i < h.slotCount(); i++) {
+            out.add(new SlotRow(b.getLong(), getString(b), getString(b), getLong(b), b.get() != 0, getDouble(b),
+                    getInt(b), getInt(b), getInt(b), getInt(b)));
+        }
+        return out;
+    }
+
+    List<StatRow> stats(long seasonId) {
+        Header h = header(seasonId);
+        if (h == null) return List.of();
+        ByteBuffer b = buffer.duplicate().position((int) h.statsAt());
+        List<StatRow> out = new ArrayList<>(h.statCount());
+        for (int i = 0; i < h.statCount(); i++) {
+            out.add(new StatRow(b.getLong(), getLong(b), getInt(b), getInt(b), getInt(b), getInt(b), getDouble(b)));
+        }
+        return out;
+    }
+
+    List<EventRow> events(long seasonId) {
+        Header h = header(seasonId);
+        if (h == null) return List.of();
+        ByteBuffer b = buffer.duplicate().position((int) h.eventsAt());
+        List<EventRow> out = new ArrayList<>(h.eventCount());
+        for (int i = 0; i < h.eventCount(); i++) {
+            out.add(new EventRow(b.getLong(), getInt(b), getString(b), getLong(b), getLong(b), getString(b)));
+        }
+        return out;
+    }
+
+    SeasonData season(long seasonId) {
+        return new SeasonData(totals(seasonId), matchIds(seasonId), slots(seasonId), stats(seasonId), events(seasonId));
+    }
+
+    private Header header(long seasonId) {
+        for (Header h : headers) {
+            if (h.totals().seasonId() == seasonId) return h;
+        }
+        return null;
+    }
+
+    // binary search over the season's sorted match ids, straight on the mapped buffer
+    private int indexOfMatch(Header h, long matchId) {
+        int lo = 0;
+        int hi = h.matchCount() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long id = buffer.getLong((int) h.matchesAt() + mid * 8);
+            if (id < matchId) lo = mid + 1;
+            else if (id > matchId) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private static Integer getInt(ByteBuffer b) {
+        int v = b.getInt();
+        return v == NULL_INT ? null : v;
+    }
+
+    private static Long getLong(ByteBuffer b) {
+        long v = b.getLong();
+        return v == NULL_LONG ? null : v;
+    }
+
+    private static Double getDouble(ByteBuffer b) {
+        double v = b.getDouble();
+        return Double.isNaN(v) ? null : v;
+    }
+
+    private static String getString(ByteBuffer b) {
+        int len = b.getShort();
+        if (len < 0) return null;
+        byte[] bytes = new byte[len];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ---------- writing ----------
+
+    // writes and fsyncs the file; callers write to a temporary name and move it into place
+    static void write(Path file, long teamId, List<SeasonData> seasons) throws IOException {
+        List<byte[][]> sections = new ArrayList<>(seasons.size());
+        for (SeasonData s : seasons) {
+            sections.add(new byte[][] {matchSection(s), slotSection(s), statSection(s), eventSection(s)});
+        }
+
+        try (FileOutputStream fos = new FileOutputStream(file.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(teamId);
+            out.writeInt(seasons.size());
+
+            long at = FILE_HEADER_BYTES + (long) seasons.size() * SEASON_HEADER_BYTES;
+            for (int i = 0; i < seasons.size(); i++) {
+                SeasonData s = seasons.get(i);
+                Totals t = s.totals();
+                out.writeLong(t.seasonId());
+                out.writeInt(t.played());
+                out.writeInt(t.wins());
+                out.writeInt(t.draws());
+                out.writeInt(t.losses());
+                out.writeInt(t.gf());
+                out.writeInt(t.ga());
+                out.writeInt(s.matchIds().length);
+                out.writeInt(s.slots().size());
+                out.writeInt(s.stats().size());
+                out.writeInt(s.events().size());
+                for (byte[] section : sections.get(i)) {
+                    out.writeLong(at);
+                    at += section.length;
+                }
+            }
+            if (at > Integer.MAX_VALUE) throw new IOException("Snapshot for team " + teamId + " exceeds 2 GB");
+
+            for (byte[][] season : sections) {
+                for (byte[] section : season) out.write(section);
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+    }
+
+    private static byte[] matchSection(SeasonData s) throws IOException {
+        long[] ids = s.matchIds().clone();
+        Arrays.sort(ids);
+        return encode(out -> {
+            for (long id : ids) out.writeLong(id);
+        });
+    }
+
+    private static byte[] slotSection(SeasonData s) throws IOException {
+        return encode(out -> {
+            for (SlotRow r : s.slots()) {
+                out.writeLong(r.matchId());
+                putString(out, r.slotId());
+                putString(out, r.pos());
+                putLong(out, r.playerId());
+                out.writeByte(r.captain() ? 1 : 0);
+                putDouble(out, r.rating());
+                putInt(out, r.goals());
+                putInt(out, r.assists());
+                putInt(out, r.yellowCards());
+                putInt(out, r.redCards());
+            }
+        });
+    }
+
+    private static byte[] statSection(SeasonData s) throws IOException {
+        return encode(out -> {
+            for (StatRow r : s.stats()) {
+                out.writeLong(r.matchId());
+                putLong(out, r.playerId());
+                putInt(out, r.goals());
+                putInt(out, r.assists());
+                putInt(out, r.yellowCards());
+                putInt(out, r.redCards());
+                putDouble(out, r.rating());
+            }
+        });
+    }
+
+    private static byte[] eventSection(SeasonData s) throws IOException {
+        return encode(out -> {
+            for (EventRow r : s.events()) {
+                out.writeLong(r.matchId());
+                putInt(out, r.minute());
+                putString(out, r.type());
+                putLong(out, r.playerId());
+                putLong(out, r.relatedPlayerId());
+                putString(out, r.note());
+            }
+        });
+    }
+
+    private interface Encoder {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(Encoder encoder) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encoder.write(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void putInt(DataOutputStream out, Integer v) throws IOException {
+        out.writeInt(v == null ? NULL_INT : v);
+    }
+
+    private static void putLong(DataOutputStream out, Long v) throws IOException {
+        out.writeLong(v == null ? NULL_LONG : v);
+    }
+
+    private static void putDouble(DataOutputStream out, Double v) throws IOException {
+        out.writeDouble(v == null ? Double.NaN : v);
+    }
+
+    private static void putString(DataOutputStream out, String v) throws IOException {
+        if (v == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) throw new IOException("String too long for snapshot: " + bytes.length + " bytes");
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
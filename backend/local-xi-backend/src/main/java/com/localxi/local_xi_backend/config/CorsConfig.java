@@ -17,6 +17,7 @@ public class CorsConfig {
             .allowedOrigins("http://localhost:5173")
             .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
             .allowedHeaders("*")
+            .exposedHeaders("ETag", "X-Next-Cursor")
             .allowCredentials(false);
       }
     };
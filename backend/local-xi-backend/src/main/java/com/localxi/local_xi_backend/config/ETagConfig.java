@@ -0,0 +1,19 @@
+package com.localxi.local_xi_backend.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class ETagConfig {
+
+    // Computed responses have no entity version to derive a tag from, so hash the body
+    // instead (analytics results are cached, so this still skips the recompute).
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> reg = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        reg.addUrlPatterns("/api/analytics/*", "/api/player-stats/*");
+        return reg;
+    }
+}
@@ -0,0 +1,31 @@
+package com.localxi.local_xi_backend.config;
+
+import com.localxi.local_xi_backend.metrics.SqlContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class FanOutConfig {
+
+    // Platform-thread pool for FanOut when virtual threads are off.
+    // Each task holds its own pooled connection, so keep this well under the Hikari pool size.
+    // When saturated the request thread runs the task itself rather than queueing forever.
+    @Bean
+    public ThreadPoolTaskExecutor fanOutExecutor(@Value("${app.fanout.threads:4}") int threads,
+                                                 @Value("${app.fanout.queue:100}") int queue) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(threads);
+        ex.setMaxPoolSize(threads);
+        ex.setQueueCapacity(queue);
+        ex.setThreadNamePrefix("fanout-");
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // task queries count towards the submitting request in the SQL metrics
+        ex.setTaskDecorator(SqlContext::wrap);
+        ex.initialize();
+        return ex;
+    }
+}
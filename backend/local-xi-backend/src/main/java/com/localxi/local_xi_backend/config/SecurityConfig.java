@@ -1,9 +1,12 @@
 package com.localxi.local_xi_backend.config;
 
 import com.localxi.local_xi_backend.security.JwtAuthFilter;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -21,7 +24,11 @@ public class SecurityConfig {
     }
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtFilter) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtFilter, Environment env) throws Exception {
+        // actuator lives on its own (internal) port; should it ever share the public one, the
+        // scrape is closed instead of published
+        boolean internalManagementPort = ManagementPortType.get(env) == ManagementPortType.DIFFERENT;
+
         http
             .csrf(csrf -> csrf.disable())
             .cors(Customizer.withDefaults())
@@ -33,6 +40,13 @@ public class SecurityConfig {
                 // allow all auth endpoints
                 .requestMatchers("/api/auth/**").permitAll()
 
+                // health checks (/livez and /readyz are the public-port copies of the probes)
+                .requestMatchers(HttpMethod.GET, "/actuator/health/**", "/livez", "/readyz").permitAll()
+
+                // Prometheus scrape
+                .requestMatchers(HttpMethod.GET, "/actuator/prometheus")
+                    .access((authentication, context) -> new AuthorizationDecision(internalManagementPort))
+
                 // read access for logged-in users
                 .requestMatchers(HttpMethod.GET, "/api/**").hasAnyRole("PLAYER", "MANAGER")
 
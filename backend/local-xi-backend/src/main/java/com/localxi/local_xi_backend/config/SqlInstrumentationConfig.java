@@ -0,0 +1,80 @@
+package com.localxi.local_xi_backend.config;
+
+import com.localxi.local_xi_backend.metrics.RepositoryMethodInterceptor;
+import com.localxi.local_xi_backend.metrics.SqlMetrics;
+import com.localxi.local_xi_backend.metrics.SqlRequestFilter;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+public class SqlInstrumentationConfig {
+
+    // Every connection goes through the proxy, so JdbcTemplate work (import, export, perf
+    // generator) is measured as well as JPA. SqlMetrics is looked up on first use: it needs
+    // the MeterRegistry, which must not be forced into existence while the DataSource is built.
+    @Bean
+    static BeanPostProcessor sqlProxyDataSource(ObjectProvider<SqlMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // with a read replica only the two pools are wrapped, so each statement counts once
+                if (!(bean instanceof DataSource ds) || bean instanceof ProxyDataSource
+                        || bean instanceof AbstractRoutingDataSource || bean instanceof DelegatingDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(ds)
+                        .name(beanName)
+                        .listener(new QueryExecutionListener() {
+                            @Override
+                            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                            }
+
+                            @Override
+                            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                                metrics.getObject().afterQuery(execInfo, queryInfoList);
+                            }
+                        })
+                        .build();
+            }
+        };
+    }
+
+    // Tags statements with the Spring Data repository method that issued them.
+    @Bean
+    static BeanPostProcessor repositoryMethodTagging() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, info) -> proxy.addAdvice(new RepositoryMethodInterceptor(info.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Ahead of Spring Security so statements run while authenticating are attributed too.
+    @Bean
+    public FilterRegistrationBean<SqlRequestFilter> sqlRequestFilter(SqlMetrics metrics) {
+        FilterRegistrationBean<SqlRequestFilter> reg = new FilterRegistrationBean<>(new SqlRequestFilter(metrics));
+        reg.addUrlPatterns("/api/*");
+        reg.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return reg;
+    }
+}
@@ -0,0 +1,132 @@
+package com.localxi.local_xi_backend.controller;
+
+import com.localxi.local_xi_backend.analytics.RatingDistributions;
+import com.localxi.local_xi_backend.analytics.SimilarPlayers;
+import com.localxi.local_xi_backend.repository.SeasonRepository;
+import com.localxi.local_xi_backend.service.AnalyticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeoutException;
+
+@CrossOrigin(
+        origins = "https://local-xi-production.up.railway.app",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE}
+)
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analytics;
+    private final SeasonRepository seasons;
+    private final RatingDistributions ratings;
+    private final SimilarPlayers similarPlayers;
+
+    public AnalyticsController(AnalyticsService analytics, SeasonRepository seasons, RatingDistributions ratings,
+                               SimilarPlayers similarPlayers) {
+        this.analytics = analytics;
+        this.seasons = seasons;
+        this.ratings = ratings;
+        this.similarPlayers = similarPlayers;
+    }
+
+    // Every view takes an optional seasonId; without it the team's whole history is used.
+
+    // GET /api/analytics/season-summary?recent=5&seasonId=3
+    @GetMapping("/season-summary")
+    public ResponseEntity<?> seasonSummary(@RequestParam(defaultValue = "5") int recent,
+                                           @RequestParam(required = false) Long seasonId) {
+        if (recent < 0 || recent > 50) {
+            return ResponseEntity.badRequest().body("recent must be 0–50");
+        }
+        Long teamId = getTeamId();
+        if (!ownSeason(teamId, seasonId)) return ResponseEntity.status(404).body("Season not found");
+        return ResponseEntity.ok(analytics.seasonSummary(teamId, seasonId, recent));
+    }
+
+    // GET /api/analytics/leaderboard?sort=goals&seasonId=3&minApps=5&limit=10
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> leaderboard(@RequestParam(defaultValue = "goals") String sort,
+                                         @RequestParam(required = false) Long seasonId,
+                                         @RequestParam(defaultValue = "0") int minApps,
+                                         @RequestParam(defaultValue = "0") int limit) {
+        if (!AnalyticsService.LEADERBOARD_SORTS.contains(sort)) {
+            return ResponseEntity.badRequest().body("unknown sort: " + sort);
+        }
+        if (minApps < 0 || limit < 0) {
+            return ResponseEntity.badRequest().body("minApps and limit must not be negative");
+        }
+        Long teamId = getTeamId();
+        if (!ownSeason(teamId, seasonId)) return ResponseEntity.status(404).body("Season not found");
+        return ResponseEntity.ok(analytics.leaderboard(teamId, seasonId, sort, minApps, limit));
+    }
+
+    // GET /api/analytics/formations?seasonId=3
+    @GetMapping("/formations")
+    public ResponseEntity<?> formations(@RequestParam(required = false) Long seasonId) {
+        Long teamId = getTeamId();
+        if (!ownSeason(teamId, seasonId)) return ResponseEntity.status(404).body("Season not found");
+        return ResponseEntity.ok(analytics.formationComparison(teamId, seasonId));
+    }
+
+    // GET /api/analytics/opponents?opponent=Rovers - W/D/L, goal difference and top scorers per
+    // opponent over every season; without opponent, all of them
+    @GetMapping("/opponents")
+    public ResponseEntity<?> opponents(@RequestParam(required = false) String opponent) {
+        if (opponent != null && opponent.isBlank()) {
+            return ResponseEntity.badRequest().body("opponent must not be blank");
+        }
+        return ResponseEntity.ok(analytics.opponents(getTeamId(), opponent));
+    }
+
+    // Rating views cover every season.
+
+    // GET /api/analytics/ratings/player/12
+    @GetMapping("/ratings/player/{playerId}")
+    public ResponseEntity<?> playerRatings(@PathVariable Long playerId) {
+        return ratings.player(getTeamId(), playerId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body("Player not found"));
+    }
+
+    // GET /api/analytics/ratings/distribution?scope=platform
+    @GetMapping("/ratings/distribution")
+    public ResponseEntity<?> ratingDistribution(@RequestParam(defaultValue = "squad") String scope) {
+        if (!RatingDistributions.SCOPES.contains(scope)) {
+            return ResponseEntity.badRequest().body("scope must be squad or platform");
+        }
+        return ResponseEntity.ok(ratings.distribution(getTeamId(), scope));
+    }
+
+    // GET /api/analytics/similar/12?scope=platform&k=10
+    @GetMapping("/similar/{playerId}")
+    public ResponseEntity<?> similar(@PathVariable Long playerId,
+                                     @RequestParam(defaultValue = "squad") String scope,
+                                     @RequestParam(defaultValue = "10") int k) {
+        if (!SimilarPlayers.SCOPES.contains(scope)) {
+            return ResponseEntity.badRequest().body("scope must be squad or platform");
+        }
+        if (k < 1 || k > similarPlayers.maxK()) {
+            return ResponseEntity.badRequest().body("k must be 1–" + similarPlayers.maxK());
+        }
+        try {
+            return similarPlayers.similar(getTeamId(), playerId, scope, k)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(404).body("Player not found"));
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(504).body("Similar players took too long to find");
+        }
+    }
+
+    private boolean ownSeason(Long teamId, Long seasonId) {
+        return seasonId == null || seasons.findByIdAndTeamId(seasonId, teamId).isPresent();
+    }
+
+    private Long getTeamId() {
+        String principal = (String) SecurityContextHolder
+            .getContext().getAuthentication().getPrincipal();
+        return Long.valueOf(principal.split(":")[1]);
+    }
+}
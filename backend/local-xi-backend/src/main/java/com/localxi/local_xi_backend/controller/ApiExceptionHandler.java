@@ -0,0 +1,16 @@
+package com.localxi.local_xi_backend.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // Two writers loaded the same @Version and the other one committed first.
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<?> optimisticLock(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(409).body("This item was changed by someone else. Reload and try again.");
+    }
+}
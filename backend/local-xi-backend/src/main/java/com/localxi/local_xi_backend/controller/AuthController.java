@@ -1,5 +1,6 @@
 package com.localxi.local_xi_backend.controller;
 
+import com.localxi.local_xi_backend.metrics.AppMetrics;
 import com.localxi.local_xi_backend.model.AppUser;
 import com.localxi.local_xi_backend.model.Role;
 import com.localxi.local_xi_backend.model.Team;
@@ -28,14 +29,16 @@ public class AuthController {
     private final PasswordEncoder encoder;
     private final JwtService jwt;
     private final LoginRateLimiter limiter;
+    private final AppMetrics metrics;
 
     public AuthController(AppUserRepository users, TeamRepository teamRepo,
-                          PasswordEncoder encoder, JwtService jwt, LoginRateLimiter limiter) {
+                          PasswordEncoder encoder, JwtService jwt, LoginRateLimiter limiter, AppMetrics metrics) {
         this.users = users;
         this.teamRepo = teamRepo;
         this.encoder = encoder;
         this.jwt = jwt;
         this.limiter = limiter;
+        this.metrics = metrics;
     }
 
     public static class LoginRequest {
@@ -68,6 +71,7 @@ public class AuthController {
 
         if (limiter.isLocked(email, ip)) {
             long retryAfter = limiter.secondsUntilUnlock(email, ip);
+            metrics.login("locked");
 
             HttpHeaders headers = new HttpHeaders();
             headers.add("Retry-After", String.valueOf(retryAfter));
@@ -80,18 +84,19 @@ public class AuthController {
 
         var userOpt = users.findByEmail(email);
         if (userOpt.isEmpty()) {
-            limiter.recordFailure(email, ip);
+            failedLogin(email, ip);
             return ResponseEntity.status(401).body("invalid credentials");
         }
 
         var user = userOpt.get();
 
         if (!encoder.matches(req.password, user.getPasswordHash())) {
-            limiter.recordFailure(email, ip);
+            failedLogin(email, ip);
             return ResponseEntity.status(401).body("invalid credentials");
         }
 
         limiter.recordSuccess(email, ip);
+        metrics.login("success");
 
         String token = jwt.createToken(user);
 
@@ -105,6 +110,11 @@ public class AuthController {
         return ResponseEntity.ok(out);
     }
 
+    private void failedLogin(String email, String ip) {
+        metrics.login("invalid");
+        if (limiter.recordFailure(email, ip)) metrics.loginLocked();
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest req) {
         if (req.teamName == null || req.teamName.isBlank() ||
@@ -0,0 +1,50 @@
+package com.localxi.local_xi_backend.controller;
+
+import com.localxi.local_xi_backend.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+@CrossOrigin(
+        origins = "https://local-xi-production.up.railway.app",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE}
+)
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboard;
+
+    public DashboardController(DashboardService dashboard) {
+        this.dashboard = dashboard;
+    }
+
+    // GET /api/dashboard?include=matches,players,formations,notices,lineupSummaries  (default: all)
+    @GetMapping
+    public ResponseEntity<?> load(@RequestParam(required = false) List<String> include) {
+        Set<String> sections = new LinkedHashSet<>(include == null ? DashboardService.SECTIONS : include);
+        for (String s : sections) {
+            if (!DashboardService.SECTIONS.contains(s)) {
+                return ResponseEntity.badRequest().body("unknown section: " + s);
+            }
+        }
+
+        try {
+            return ResponseEntity.ok(dashboard.load(getTeamId(), sections));
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(504).body("Dashboard took too long to load");
+        }
+    }
+
+    private Long getTeamId() {
+        String principal = (String) SecurityContextHolder
+            .getContext().getAuthentication().getPrincipal();
+        return Long.valueOf(principal.split(":")[1]);
+    }
+}
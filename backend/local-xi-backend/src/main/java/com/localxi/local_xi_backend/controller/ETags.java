@@ -0,0 +1,56 @@
+package com.localxi.local_xi_backend.controller;
+
+import java.util.StringJoiner;
+
+/**
+ * Strong ETag values built from entity versions, so conditional requests can be
+ * answered from a single aggregate query instead of loading the entities.
+ *
+ * List tags come from [count, max(id), sum(version)] over the team's rows: ids and
+ * versions only grow, so any create, update or delete changes at least one of them.
+ */
+final class ETags {
+
+    private ETags() {}
+
+    // e.g. "matches-7-12-40-3"  (resource, owning team/match id, count, max id, version sum)
+    static String forTeamList(String resource, Long ownerId, Object aggregate) {
+        StringJoiner tag = new StringJoiner("-", "\"", "\"");
+        tag.add(resource).add(String.valueOf(ownerId));
+        Object[] row = (aggregate instanceof Object[]) ? (Object[]) aggregate : new Object[] {aggregate};
+        for (Object v : row) {
+            tag.add(String.valueOf(v == null ? 0 : v));
+        }
+        return tag.toString();
+    }
+
+    static String forVersion(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // lineups can be recreated for the same match, so the id is part of the tag
+    static String forLineup(Object id, Object version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    // match documents are tagged by a hash of their content
+    static String forDocument(Long matchId, String version) {
+        return "\"doc-" + matchId + "-" + version + "\"";
+    }
+
+    /**
+     * True when the request carries If-Match and none of its tags equal {@code current}
+     * (strong comparison; weak tags never match). {@code current} is null when the
+     * resource does not exist yet, in which case any If-Match fails.
+     */
+    static boolean ifMatchFails(String ifMatch, String current) {
+        if (ifMatch == null || ifMatch.isBlank()) return false;
+        if (current == null) return true;
+        if (ifMatch.trim().equals("*")) return false;
+
+        for (String candidate : ifMatch.split(",")) {
+            if (candidate.trim().equals(current)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package com.localxi.local_xi_backend.controller;
+
+import com.localxi.local_xi_backend.repository.SeasonRepository;
+import com.localxi.local_xi_backend.service.SeasonExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+@CrossOrigin(
+        origins = "https://local-xi-production.up.railway.app",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE}
+)
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final SeasonExportService exports;
+    private final SeasonRepository seasons;
+
+    public ExportController(SeasonExportService exports, SeasonRepository seasons) {
+        this.exports = exports;
+        this.seasons = seasons;
+    }
+
+    // GET /api/export/season?seasonId=3&format=ndjson|csv&gzip=true
+    // Streams matches, lineup slots, player stats and events of the season as a download.
+    @GetMapping("/season")
+    public ResponseEntity<StreamingResponseBody> exportSeason(@RequestParam Long seasonId,
+                                          @RequestParam(defaultValue = "ndjson") String format,
+                                          @RequestParam(defaultValue = "false") boolean gzip) {
+        SeasonExportService.Format fmt = switch (format) {
+            case "ndjson" -> SeasonExportService.Format.NDJSON;
+            case "csv" -> SeasonExportService.Format.CSV;
+            default -> null;
+        };
+        if (fmt == null) {
+            return error(400, "format must be ndjson or csv");
+        }
+
+        Long teamId = getTeamId();
+        if (seasons.findByIdAndTeamId(seasonId, teamId).isEmpty()) return error(404, "Season not found");
+
+        // runs on an async thread after this method returns - only captured values in here
+        StreamingResponseBody body = raw -> {
+            OutputStream out = gzip ? new GZIPOutputStream(raw, BUFFER_BYTES) : new BufferedOutputStream(raw, BUFFER_BYTES);
+            exports.export(teamId, seasonId, fmt, out);
+            if (out instanceof GZIPOutputStream z) z.finish();
+            out.flush();
+        };
+
+        String filename = "season-" + seasonId + (fmt == SeasonExportService.Format.CSV ? ".csv" : ".ndjson");
+        var response = ResponseEntity.ok()
+                .contentType(fmt == SeasonExportService.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);
+    }
+
+    // streaming handlers must return StreamingResponseBody, errors included
+    private static ResponseEntity<StreamingResponseBody> error(int status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Long getTeamId() {
+        String principal = (String) SecurityContextHolder
+            .getContext().getAuthentication().getPrincipal();
+        return Long.valueOf(principal.split(":")[1]);
+    }
+}
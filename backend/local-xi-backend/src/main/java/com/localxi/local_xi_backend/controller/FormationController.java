@@ -1,10 +1,14 @@
 package com.localxi.local_xi_backend.controller;
 
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
 import com.localxi.local_xi_backend.model.Formation;
 import com.localxi.local_xi_backend.repository.FormationRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashSet;
 import java.util.List;
@@ -20,17 +24,24 @@ import java.util.Set;
 public class FormationController {
 
     private final FormationRepository repo;
+    private final ApplicationEventPublisher publisher;
 
-    public FormationController(FormationRepository repo) {
+    public FormationController(FormationRepository repo, ApplicationEventPublisher publisher) {
         this.repo = repo;
+        this.publisher = publisher;
     }
 
     @GetMapping
-    public List<Formation> getFormations() {
-        return repo.findAllByTeamId(getTeamId());
+    public ResponseEntity<?> getFormations(WebRequest request) {
+        Long teamId = getTeamId();
+        String etag = ETags.forTeamList("formations", teamId, repo.versionForTeam(teamId));
+        if (request.checkNotModified(etag)) return null;
+
+        return ResponseEntity.ok(repo.findAllByTeamId(teamId));
     }
 
     @PostMapping
+    @Transactional
     public ResponseEntity<?> createFormation(@RequestBody Formation formation) {
         String validation = validateFormation(formation);
         if (!validation.isEmpty()) {
@@ -39,13 +50,20 @@ public class FormationController {
 
         formation.setTeamId(getTeamId());
         Formation saved = repo.save(formation);
+        publishChanged(TeamDataChangedEvent.Operation.CREATED, saved.getId());
         return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateFormation(@PathVariable Long id, @RequestBody Formation patch) {
+    @Transactional
+    public ResponseEntity<?> updateFormation(@PathVariable Long id, @RequestBody Formation patch,
+                                             @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         return repo.findById(id)
                 .map(existing -> {
+                    if (ETags.ifMatchFails(ifMatch, ETags.forVersion(existing.getVersion()))) {
+                        return ResponseEntity.status(412).body("Formation was modified by someone else");
+                    }
+
                     if (patch.getName() != null) existing.setName(patch.getName());
                     if (patch.getShape() != null) existing.setShape(patch.getShape());
                     if (patch.getSlots() != null) existing.setSlots(patch.getSlots());
@@ -55,20 +73,30 @@ public class FormationController {
                         return ResponseEntity.badRequest().body(validation);
                     }
 
-                    return ResponseEntity.ok(repo.save(existing));
+                    Formation saved = repo.saveAndFlush(existing);
+                    publishChanged(TeamDataChangedEvent.Operation.UPDATED, saved.getId());
+                    return ResponseEntity.ok().eTag(ETags.forVersion(saved.getVersion())).body(saved);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping("/bulk-delete")
+    @Transactional
     public ResponseEntity<?> bulkDelete(@RequestBody IdsRequest request) {
         if (request.ids == null || request.ids.isEmpty()) {
             return ResponseEntity.badRequest().body("No ids provided");
         }
         repo.deleteAllById(request.ids);
+        publisher.publishEvent(new TeamDataChangedEvent(
+                getTeamId(), TeamDataChangedEvent.EntityType.FORMATION, TeamDataChangedEvent.Operation.DELETED, request.ids));
         return ResponseEntity.ok().build();
     }
 
+    private void publishChanged(TeamDataChangedEvent.Operation op, Long formationId) {
+        publisher.publishEvent(new TeamDataChangedEvent(
+                getTeamId(), TeamDataChangedEvent.EntityType.FORMATION, op, formationId));
+    }
+
     private String validateFormation(Formation formation) {
         if (formation.getName() == null || formation.getName().trim().isEmpty()) {
             return "Formation name is required";
@@ -0,0 +1,68 @@
+package com.localxi.local_xi_backend.controller;
+
+import com.localxi.local_xi_backend.metrics.AppMetrics;
+import com.localxi.local_xi_backend.service.BulkImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@CrossOrigin(
+        origins = "https://local-xi-production.up.railway.app",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE}
+)
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final BulkImportService imports;
+    private final AppMetrics metrics;
+
+    public ImportController(BulkImportService imports, AppMetrics metrics) {
+        this.imports = imports;
+        this.metrics = metrics;
+    }
+
+    // POST /api/import/{players|matches|events}?format=ndjson|csv&dryRun=false
+    // Body: one record per line (CSV: header line first). Invalid lines are skipped and
+    // listed in the response; dryRun=true only validates.
+    // (a form-encoded body would be consumed by the container as parameters, hence consumes)
+    @PostMapping(value = "/{kind}", consumes = {"application/x-ndjson", "text/csv", "text/plain", "application/octet-stream"})
+    public ResponseEntity<?> importRows(@PathVariable String kind,
+                                        @RequestParam(defaultValue = "ndjson") String format,
+                                        @RequestParam(defaultValue = "false") boolean dryRun,
+                                        InputStream body) throws IOException {
+        BulkImportService.Kind k = switch (kind) {
+            case "players" -> BulkImportService.Kind.PLAYERS;
+            case "matches" -> BulkImportService.Kind.MATCHES;
+            case "events" -> BulkImportService.Kind.EVENTS;
+            default -> null;
+        };
+        if (k == null) {
+            return ResponseEntity.status(404).body("Unknown import: " + kind);
+        }
+        BulkImportService.Format fmt = switch (format) {
+            case "ndjson" -> BulkImportService.Format.NDJSON;
+            case "csv" -> BulkImportService.Format.CSV;
+            default -> null;
+        };
+        if (fmt == null) {
+            return ResponseEntity.badRequest().body("format must be ndjson or csv");
+        }
+
+        BulkImportService.ImportResult result = imports.importRows(getTeamId(), k, fmt, body, dryRun);
+        if (k == BulkImportService.Kind.EVENTS && !dryRun) {
+            metrics.eventsIngested("import", result.imported);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    private Long getTeamId() {
+        String principal = (String) SecurityContextHolder
+            .getContext().getAuthentication().getPrincipal();
+        return Long.valueOf(principal.split(":")[1]);
+    }
+}
@@ -0,0 +1,35 @@
+package com.localxi.local_xi_backend.controller;
+
+import com.localxi.local_xi_backend.analytics.GlobalLeaderboards;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(
+        origins = "https://local-xi-production.up.railway.app",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE}
+)
+@RestController
+@RequestMapping("/api/leaderboards")
+public class LeaderboardController {
+
+    private final GlobalLeaderboards leaderboards;
+
+    public LeaderboardController(GlobalLeaderboards leaderboards) {
+        this.leaderboards = leaderboards;
+    }
+
+    // GET /api/leaderboards/global?metric=goals&k=50
+    // Across every team; metric is one of goals, assists, potm, avgRating, appearances.
+    @GetMapping("/global")
+    public ResponseEntity<?> global(@RequestParam(defaultValue = "goals") String metric,
+                                    @RequestParam(defaultValue = "50") int k) {
+        if (!GlobalLeaderboards.METRICS.contains(metric)) {
+            return ResponseEntity.badRequest().body("unknown metric: " + metric);
+        }
+        if (k < 1 || k > leaderboards.maxK()) {
+            return ResponseEntity.badRequest().body("k must be 1–" + leaderboards.maxK());
+        }
+        return ResponseEntity.ok(leaderboards.top(metric, k));
+    }
+}
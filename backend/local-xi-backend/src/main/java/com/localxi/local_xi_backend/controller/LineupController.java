@@ -1,12 +1,19 @@
 package com.localxi.local_xi_backend.controller;
 
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
 import com.localxi.local_xi_backend.model.Lineup;
-import com.localxi.local_xi_backend.model.LineupPlayerStat;
-import com.localxi.local_xi_backend.model.LineupSlot;
 import com.localxi.local_xi_backend.repository.LineupRepository;
+import com.localxi.local_xi_backend.service.LineupMerge;
+import com.localxi.local_xi_backend.service.MatchReadService;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -21,23 +28,54 @@ import java.util.stream.Collectors;
 public class LineupController {
 
     private final LineupRepository repo;
+    private final ApplicationEventPublisher publisher;
+    private final MatchReadService reads;
+    private final SeasonArchive archive;
 
-    public LineupController(LineupRepository repo) {
+    public LineupController(LineupRepository repo, ApplicationEventPublisher publisher, MatchReadService reads,
+                            SeasonArchive archive) {
         this.repo = repo;
+        this.publisher = publisher;
+        this.reads = reads;
+        this.archive = archive;
     }
 
     // GET /api/lineups/match/{matchId}
     @GetMapping("/match/{matchId}")
-    public ResponseEntity<?> getLineupForMatch(@PathVariable Long matchId) {
-        return repo.findByMatchIdWithDetails(matchId)
-                .<ResponseEntity<?>>map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.status(404).body("No lineup for match " + matchId));
+    public ResponseEntity<?> getLineupForMatch(@PathVariable Long matchId, WebRequest request) {
+        String etag = currentETag(getTeamId(), matchId);
+        if (etag == null) {
+            return ResponseEntity.status(404).body("No lineup for match " + matchId);
+        }
+        if (request.checkNotModified(etag)) return null;
+
+        byte[] json = reads.lineupJson(getTeamId(), matchId);
+        if (json == null) {
+            return ResponseEntity.status(404).body("No lineup for match " + matchId);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    // GET /api/lineups/season/{seasonId} - every lineup of one season, slots and stats included
+    @GetMapping("/season/{seasonId}")
+    public ResponseEntity<?> getLineupsForSeason(@PathVariable Long seasonId) {
+        Long teamId = getTeamId();
+        List<Lineup> lineups = repo.findAllForSeasonWithDetails(teamId, seasonId);
+        if (archive.isArchivedSeason(teamId, seasonId)) archive.restore(teamId, lineups);
+        return ResponseEntity.ok(lineups);
+    }
+
+    // null when the match has no lineup or isn't the team's
+    private String currentETag(Long teamId, Long matchId) {
+        List<Object[]> rows = repo.versionForMatch(teamId, matchId);
+        return rows.isEmpty() ? null : ETags.forLineup(rows.get(0)[0], rows.get(0)[1]);
     }
 
     // PUT /api/lineups/match/{matchId}
     @PutMapping("/match/{matchId}")
     @Transactional
-    public ResponseEntity<?> upsertForMatch(@PathVariable Long matchId, @RequestBody Lineup payload) {
+    public ResponseEntity<?> upsertForMatch(@PathVariable Long matchId, @RequestBody Lineup payload,
+                                            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
         if (payload.getFormationId() == null) {
             return ResponseEntity.badRequest().body("formationId is required");
@@ -45,110 +83,35 @@ public class LineupController {
         if (payload.getSlots() == null) {
             return ResponseEntity.badRequest().body("slots are required");
         }
+        if (archive.isArchivedMatch(getTeamId(), matchId)) {
+            return ResponseEntity.status(409).body("Matches of archived seasons can't be changed");
+        }
 
-        Lineup lineup = repo.findByMatchIdWithDetails(matchId).orElseGet(Lineup::new);
+        Lineup lineup = repo.findByMatchIdForUpdate(matchId).orElseGet(Lineup::new);
+        boolean created = lineup.getId() == null;
+
+        String current = created ? null : ETags.forLineup(lineup.getId(), lineup.getVersion());
+        if (ETags.ifMatchFails(ifMatch, current)) {
+            return ResponseEntity.status(412).body("Lineup was modified by someone else");
+        }
 
         lineup.setMatchId(matchId);
         lineup.setFormationId(payload.getFormationId());
         lineup.setCaptainPlayerId(payload.getCaptainPlayerId());
 
-        lineup.getSlots().clear();
-        for (LineupSlot s : payload.getSlots()) {
-            if (s.getSlotId() == null || s.getSlotId().trim().isEmpty()) {
-                return ResponseEntity.badRequest().body("slotId is required");
-            }
-            if (s.getPos() == null || s.getPos().trim().isEmpty()) {
-                return ResponseEntity.badRequest().body("pos is required");
-            }
-
-            LineupSlot slot = new LineupSlot();
-            slot.setLineup(lineup);
-            slot.setSlotId(s.getSlotId());
-            slot.setPos(s.getPos());
-            slot.setPlayerId(s.getPlayerId());
-            slot.setCaptain(s.isCaptain());
-            slot.setRating(s.getRating());
-
-            // legacy fields (optional)
-            slot.setGoals(s.getGoals());
-            slot.setAssists(s.getAssists());
-            slot.setYellowCards(s.getYellowCards());
-            slot.setRedCards(s.getRedCards());
-
-            lineup.getSlots().add(slot);
+        String invalid = LineupMerge.applyPayload(lineup, payload);
+        if (!invalid.isEmpty()) {
+            // applyPayload may already have changed the managed lineup's slots
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseEntity.badRequest().body(invalid);
         }
 
-        Map<Long, LineupPlayerStat> existingByPlayerId = new HashMap<>();
-        for (LineupPlayerStat s : lineup.getPlayerStats()) {
-            if (s.getPlayerId() != null) {
-                existingByPlayerId.put(s.getPlayerId(), s);
-            }
-        }
-
-        Collection<LineupPlayerStat> incoming = payload.getPlayerStats();
-
-        if (incoming == null || incoming.isEmpty()) {
-            Map<Long, LineupPlayerStat> derived = new HashMap<>();
-            for (LineupSlot s : payload.getSlots()) {
-                if (s.getPlayerId() == null) continue;
-
-                LineupPlayerStat stat = derived.get(s.getPlayerId());
-                if (stat == null) {
-                    stat = new LineupPlayerStat();
-                    stat.setPlayerId(s.getPlayerId());
-                    stat.setGoals(0);
-                    stat.setAssists(0);
-                    stat.setYellowCards(0);
-                    stat.setRedCards(0);
-                    stat.setRating(s.getRating());
-                    derived.put(s.getPlayerId(), stat);
-                }
-
-                stat.setGoals(n0(stat.getGoals()) + n0(s.getGoals()));
-                stat.setAssists(n0(stat.getAssists()) + n0(s.getAssists()));
-                stat.setYellowCards(n0(stat.getYellowCards()) + n0(s.getYellowCards()));
-                stat.setRedCards(n0(stat.getRedCards()) + n0(s.getRedCards()));
-
-                if (stat.getRating() == null && s.getRating() != null) {
-                    stat.setRating(s.getRating());
-                }
-            }
-            incoming = derived.values();
-        }
-
-        Set<Long> keep = new HashSet<>();
-
-        for (LineupPlayerStat in : incoming) {
-            if (in.getPlayerId() == null) {
-                return ResponseEntity.badRequest().body("playerStats.playerId is required");
-            }
-
-            Long pid = in.getPlayerId();
-            keep.add(pid);
-
-            LineupPlayerStat target = existingByPlayerId.get(pid);
-            if (target == null) {
-                target = new LineupPlayerStat();
-                target.setLineup(lineup);
-                target.setPlayerId(pid);
-                lineup.getPlayerStats().add(target);
-                existingByPlayerId.put(pid, target);
-            }
-
-            target.setGoals(in.getGoals());
-            target.setAssists(in.getAssists());
-            target.setYellowCards(in.getYellowCards());
-            target.setRedCards(in.getRedCards());
-            target.setRating(in.getRating());
-        }
-
-        lineup.getPlayerStats().removeIf(s -> s.getPlayerId() != null && !keep.contains(s.getPlayerId()));
-
-        return ResponseEntity.ok(repo.save(lineup));
-    }
-
-    private int n0(Integer v) {
-        return v == null ? 0 : Math.max(0, v);
+        if (!created) repo.incrementVersion(lineup.getId());
+        Lineup saved = repo.saveAndFlush(lineup);
+        publisher.publishEvent(new TeamDataChangedEvent(
+                getTeamId(), TeamDataChangedEvent.EntityType.LINEUP,
+                created ? TeamDataChangedEvent.Operation.CREATED : TeamDataChangedEvent.Operation.UPDATED, matchId));
+        return ResponseEntity.ok().eTag(ETags.forLineup(saved.getId(), saved.getVersion())).body(saved);
     }
 
     // POST /api/lineups/summaries   { "ids": [1,2,3] }
@@ -183,5 +146,11 @@ public class LineupController {
             this.formationId = formationId;
         }
     }
+
+    private Long getTeamId() {
+        String principal = (String) SecurityContextHolder
+            .getContext().getAuthentication().getPrincipal();
+        return Long.valueOf(principal.split(":")[1]);
+    }
 }
 
@@ -1,13 +1,30 @@
 package com.localxi.local_xi_backend.controller;
 
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
 import com.localxi.local_xi_backend.model.Match;
+import com.localxi.local_xi_backend.model.Season;
 import com.localxi.local_xi_backend.repository.MatchRepository;
+import com.localxi.local_xi_backend.repository.SeasonRepository;
+import com.localxi.local_xi_backend.service.BulkDeleteService;
+import com.localxi.local_xi_backend.service.MatchDocumentStore;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @CrossOrigin(
         origins = "https://local-xi-production.up.railway.app",
@@ -19,17 +36,113 @@ import java.util.List;
 public class MatchController {
 
     private final MatchRepository repo;
+    private final SeasonRepository seasons;
+    private final BulkDeleteService bulkDeletes;
+    private final ApplicationEventPublisher publisher;
+    private final MatchDocumentStore documents;
+    private final SeasonArchive archive;
 
-    public MatchController(MatchRepository repo) {
+    public MatchController(MatchRepository repo, SeasonRepository seasons, BulkDeleteService bulkDeletes,
+                           ApplicationEventPublisher publisher, MatchDocumentStore documents, SeasonArchive archive) {
         this.repo = repo;
+        this.seasons = seasons;
+        this.bulkDeletes = bulkDeletes;
+        this.publisher = publisher;
+        this.documents = documents;
+        this.archive = archive;
     }
 
+    // also where matches without a date sort, so they come first (asc) and are only listed
+    // when from / seasonId don't narrow the range
+    private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final int MAX_PAGE = 200;
+    private static final String ARCHIVED = "Matches of archived seasons can't be changed";
+
+    // GET /api/matches?from=2025-08-01&to=2026-05-31&sort=desc&limit=50&cursor=...
+    // Without limit the whole (filtered) list is returned. With limit, X-Next-Cursor is set
+    // when there are more rows; pass it back as cursor= with the same filters and sort.
+    // seasonId= narrows from/to to the season's range (a match's season follows its date).
     @GetMapping
-    public List<Match> getMatches() {
-        return repo.findAllByTeamId(getTeamId());
+    public ResponseEntity<?> getMatches(@RequestParam(required = false) LocalDate from,
+                                        @RequestParam(required = false) LocalDate to,
+                                        @RequestParam(required = false) Long seasonId,
+                                        @RequestParam(defaultValue = "asc") String sort,
+                                        @RequestParam(required = false) Integer limit,
+                                        @RequestParam(required = false) String cursor,
+                                        WebRequest request) {
+        if (!sort.equals("asc") && !sort.equals("desc")) {
+            return ResponseEntity.badRequest().body("sort must be asc or desc");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_PAGE)) {
+            return ResponseEntity.badRequest().body("limit must be 1–" + MAX_PAGE);
+        }
+        Object[] position = null;
+        if (cursor != null) {
+            position = decodeCursor(cursor);
+            if (position == null) return ResponseEntity.badRequest().body("invalid cursor");
+        }
+
+        Long teamId = getTeamId();
+        Season season = null;
+        if (seasonId != null) {
+            season = seasons.findByIdAndTeamId(seasonId, teamId).orElse(null);
+            if (season == null) return ResponseEntity.status(404).body("Season not found");
+        }
+
+        String etag = ETags.forTeamList("matches", teamId, repo.versionForTeam(teamId));
+        if (request.checkNotModified(etag)) return null;
+
+        LocalDate lo = from != null ? from : MIN_DATE;
+        LocalDate hi = to != null ? to : MAX_DATE;
+        if (season != null) {
+            if (lo.isBefore(season.getStartDate())) lo = season.getStartDate();
+            if (hi.isAfter(season.getEndDate())) hi = season.getEndDate();
+        }
+        // fetch one extra row to know whether another page exists
+        Pageable page = limit == null ? Pageable.unpaged() : PageRequest.of(0, limit + 1);
+
+        List<Match> rows;
+        if (sort.equals("asc")) {
+            LocalDate afterDate = position != null ? (LocalDate) position[0] : lo;
+            Long afterId = position != null ? (Long) position[1] : 0L;
+            if (afterDate.isBefore(lo)) { afterDate = lo; afterId = 0L; }
+            rows = repo.findPageAsc(teamId, MIN_DATE, hi, afterDate, afterId, page);
+        } else {
+            LocalDate beforeDate = position != null ? (LocalDate) position[0] : hi;
+            Long beforeId = position != null ? (Long) position[1] : Long.MAX_VALUE;
+            if (beforeDate.isAfter(hi)) { beforeDate = hi; beforeId = Long.MAX_VALUE; }
+            rows = repo.findPageDesc(teamId, MIN_DATE, lo, beforeDate, beforeId, page);
+        }
+
+        if (limit != null && rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Match last = rows.get(limit - 1);
+            return ResponseEntity.ok()
+                    .header("X-Next-Cursor", encodeCursor(last.getDate(), last.getId()))
+                    .body(rows);
+        }
+        return ResponseEntity.ok(rows);
+    }
+
+    // opaque to clients: base64url("yyyy-mm-dd:id"); an undated match is at MIN_DATE
+    private static String encodeCursor(LocalDate date, Long id) {
+        String raw = (date != null ? date : MIN_DATE) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(':');
+            return new Object[] {LocalDate.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1))};
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
 
     @PostMapping
+    @Transactional
     public ResponseEntity<?> createMatch(@RequestBody Match match) {
         if (match.getDate() == null) {
             return ResponseEntity.badRequest().body("Date is required");
@@ -45,7 +158,13 @@ public class MatchController {
         }
 
         match.setTeamId(getTeamId());
+        Season season = seasonFor(match.getTeamId(), match.getDate());
+        if (season != null && season.isArchived()) {
+            return ResponseEntity.status(409).body(ARCHIVED);
+        }
+        match.setSeasonId(season == null ? null : season.getId());
         Match saved = repo.save(match);
+        publishChanged(TeamDataChangedEvent.Operation.CREATED, saved.getId());
         return ResponseEntity.ok(saved);
     }
 
@@ -57,10 +176,54 @@ public class MatchController {
         public Integer goalsAgainst;
     }
 
+    // GET /api/matches/{id}/document?v=... - match, lineup (slots and stats) and events in one body.
+    // A finished match's document is served from memory. Its Content-Location carries the
+    // content version; requested with that v= the response is cacheable as immutable, because
+    // any change to the match gives the document a new version (and so a new URL).
+    @GetMapping("/{id}/document")
+    public ResponseEntity<?> getDocument(@PathVariable Long id, @RequestParam(required = false) String v,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                         WebRequest request) {
+        MatchDocumentStore.Document doc = documents.get(getTeamId(), id).orElse(null);
+        if (doc == null) {
+            return ResponseEntity.status(404).body("Match not found");
+        }
+
+        boolean immutable = doc.finished() && doc.version().equals(v);
+        CacheControl cacheControl = immutable
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(ETags.forDocument(id, doc.version()))) {
+            return ResponseEntity.status(304).cacheControl(cacheControl).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(ETags.forDocument(id, doc.version()))
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (doc.finished()) {
+            response.header(HttpHeaders.CONTENT_LOCATION, "/api/matches/" + id + "/document?v=" + doc.version());
+        }
+        if (doc.gzipped() && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(doc.body());
+        }
+        return response.body(doc.plain());
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateMatch(@PathVariable Long id, @RequestBody MatchPatch patch) {
+    @Transactional
+    public ResponseEntity<?> updateMatch(@PathVariable Long id, @RequestBody MatchPatch patch,
+                                         @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         return repo.findById(id)
                 .map(existing -> {
+                    if (ETags.ifMatchFails(ifMatch, ETags.forVersion(existing.getVersion()))) {
+                        return ResponseEntity.status(412).body("Match was modified by someone else");
+                    }
+                    if (archive.isArchivedMatch(existing.getTeamId(), existing.getId())) {
+                        return ResponseEntity.status(409).body(ARCHIVED);
+                    }
+
                     if (patch.date != null) existing.setDate(patch.date);
                     if (patch.opponent != null) existing.setOpponent(patch.opponent);
                     if (patch.home != null) existing.setHome(patch.home);
@@ -81,8 +244,14 @@ public class MatchController {
                         return ResponseEntity.badRequest().body("Goals Against must be 0 or more");
                     }
 
-                    Match saved = repo.save(existing);
-                    return ResponseEntity.ok(saved);
+                    Season season = seasonFor(existing.getTeamId(), existing.getDate());
+                    if (season != null && season.isArchived()) {
+                        return ResponseEntity.status(409).body(ARCHIVED);
+                    }
+                    existing.setSeasonId(season == null ? null : season.getId());
+                    Match saved = repo.saveAndFlush(existing);
+                    publishChanged(TeamDataChangedEvent.Operation.UPDATED, saved.getId());
+                    return ResponseEntity.ok().eTag(ETags.forVersion(saved.getVersion())).body(saved);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -91,15 +260,29 @@ public class MatchController {
         public List<Long> ids;
     }
 
+    // deletes lineups and events of the matches too; ids of other teams are ignored.
+    // 409 (nothing deleted) when any of the matches is in an archived season.
     @PostMapping("/bulk-delete")
     public ResponseEntity<?> bulkDelete(@RequestBody IdsRequest request) {
         if (request == null || request.ids == null || request.ids.isEmpty()) {
             return ResponseEntity.badRequest().body("No ids provided");
         }
-        repo.deleteAllById(request.ids);
+        BulkDeleteService.MatchDeletes result = bulkDeletes.deleteMatches(getTeamId(), request.ids);
+        if (!result.archived().isEmpty()) {
+            return ResponseEntity.status(409).body(ARCHIVED + ": " + result.archived());
+        }
         return ResponseEntity.ok().build();
     }
 
+    private Season seasonFor(Long teamId, LocalDate date) {
+        return seasons.findCovering(teamId, date).orElse(null);
+    }
+
+    private void publishChanged(TeamDataChangedEvent.Operation op, Long matchId) {
+        publisher.publishEvent(new TeamDataChangedEvent(
+                getTeamId(), TeamDataChangedEvent.EntityType.MATCH, op, matchId));
+    }
+
     private Long getTeamId() {
         String principal = (String) SecurityContextHolder
             .getContext().getAuthentication().getPrincipal();
@@ -1,15 +1,24 @@
 package com.localxi.local_xi_backend.controller;
 
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.metrics.AppMetrics;
 import com.localxi.local_xi_backend.model.Lineup;
-import com.localxi.local_xi_backend.model.LineupPlayerStat;
 import com.localxi.local_xi_backend.model.Match;
 import com.localxi.local_xi_backend.model.MatchEvent;
 import com.localxi.local_xi_backend.repository.LineupRepository;
 import com.localxi.local_xi_backend.repository.MatchEventRepository;
 import com.localxi.local_xi_backend.repository.MatchRepository;
+import com.localxi.local_xi_backend.service.LineupMerge;
+import com.localxi.local_xi_backend.service.MatchEventRules;
+import com.localxi.local_xi_backend.service.MatchReadService;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 
@@ -25,28 +34,64 @@ public class MatchEventController {
     private final MatchEventRepository repo;
     private final MatchRepository matchRepo;
     private final LineupRepository lineupRepo;
+    private final ApplicationEventPublisher publisher;
+    private final MatchReadService reads;
+    private final AppMetrics metrics;
+    private final SeasonArchive archive;
 
-    public MatchEventController(MatchEventRepository repo, MatchRepository matchRepo, LineupRepository lineupRepo) {
+    private static final String ARCHIVED = "Matches of archived seasons can't be changed";
+
+    public MatchEventController(MatchEventRepository repo, MatchRepository matchRepo, LineupRepository lineupRepo,
+                                ApplicationEventPublisher publisher, MatchReadService reads, AppMetrics metrics,
+                                SeasonArchive archive) {
         this.repo = repo;
         this.matchRepo = matchRepo;
         this.lineupRepo = lineupRepo;
+        this.publisher = publisher;
+        this.reads = reads;
+        this.metrics = metrics;
+        this.archive = archive;
     }
 
     // GET /api/match-events/match/{matchId}
     @GetMapping("/match/{matchId}")
-    public List<MatchEvent> getForMatch(@PathVariable Long matchId) {
-        return repo.findByMatchIdOrderByMinuteAscIdAsc(matchId);
+    public ResponseEntity<byte[]> getForMatch(@PathVariable Long matchId, WebRequest request) {
+        String etag = ETags.forTeamList("events", matchId, repo.versionForMatch(getTeamId(), matchId));
+        if (request.checkNotModified(etag)) return null;
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(reads.eventsJson(getTeamId(), matchId));
+    }
+
+    // GET /api/match-events/season/{seasonId} - ordered by match, then minute
+    @GetMapping("/season/{seasonId}")
+    public ResponseEntity<?> getForSeason(@PathVariable Long seasonId) {
+        Long teamId = getTeamId();
+        if (archive.isArchivedSeason(teamId, seasonId)) {
+            return ResponseEntity.ok(archive.seasonEvents(teamId, seasonId));
+        }
+        return ResponseEntity.ok(repo.findAllForSeason(teamId, seasonId));
     }
 
     // PUT /api/match-events/match/{matchId}
     // Body: JSON array of MatchEvent-like objects (id optional/ignored)
     @PutMapping("/match/{matchId}")
     @Transactional
-    public ResponseEntity<?> replaceForMatch(@PathVariable Long matchId, @RequestBody List<MatchEvent> incoming) {
+    public ResponseEntity<?> replaceForMatch(@PathVariable Long matchId, @RequestBody List<MatchEvent> incoming,
+                                             @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         if (incoming == null) incoming = Collections.emptyList();
+        if (archive.isArchivedMatch(getTeamId(), matchId)) {
+            return ResponseEntity.status(409).body(ARCHIVED);
+        }
+
+        String current = ETags.forTeamList("events", matchId, repo.versionForMatch(getTeamId(), matchId));
+        if (ETags.ifMatchFails(ifMatch, current)) {
+            return ResponseEntity.status(412).body("Match events were modified by someone else");
+        }
 
         for (MatchEvent e : incoming) {
-            String msg = validateEvent(e);
+            String msg = MatchEventRules.validate(e);
             if (!msg.isEmpty()) return ResponseEntity.badRequest().body(msg);
         }
 
@@ -64,7 +109,11 @@ public class MatchEventController {
             toSave.add(x);
         }
 
-        return ResponseEntity.ok(repo.saveAll(toSave));
+        List<MatchEvent> saved = repo.saveAll(toSave);
+        metrics.eventsIngested("api", saved.size());
+        publisher.publishEvent(new TeamDataChangedEvent(
+                getTeamId(), TeamDataChangedEvent.EntityType.MATCH_EVENT, TeamDataChangedEvent.Operation.UPDATED, matchId));
+        return ResponseEntity.ok(saved);
     }
 
     // ✅ NEW: POST /api/match-events/match/{matchId}/recompute
@@ -78,17 +127,15 @@ public class MatchEventController {
         if (match == null) {
             return ResponseEntity.status(404).body("Match not found: " + matchId);
         }
+        if (archive.isArchivedMatch(getTeamId(), matchId)) {
+            return ResponseEntity.status(409).body(ARCHIVED);
+        }
 
         // 2) Load events
         List<MatchEvent> events = repo.findByMatchIdOrderByMinuteAscIdAsc(matchId);
 
         // 3) Compute score (for now: every GOAL counts as Goals For)
-        int gf = 0;
-        for (MatchEvent e : events) {
-            if (e.getType() == MatchEvent.EventType.GOAL) gf += 1;
-        }
-
-        match.setGoalsFor(gf);
+        match.setGoalsFor(LineupMerge.goalsFor(events));
 
         // If you haven't implemented "opponent goals" yet:
         // leave goalsAgainst as-is (don't clobber user input)
@@ -97,73 +144,24 @@ public class MatchEventController {
         matchRepo.save(match);
 
         // 4) Compute per-player stats from events
-        Map<Long, Agg> agg = new HashMap<>();
-
-        for (MatchEvent e : events) {
-            if (e.getType() == null) continue;
-
-            switch (e.getType()) {
-                case GOAL -> {
-                    if (e.getPlayerId() != null) {
-                        agg.computeIfAbsent(e.getPlayerId(), k -> new Agg()).goals += 1;
-                    }
-                    if (e.getRelatedPlayerId() != null) {
-                        agg.computeIfAbsent(e.getRelatedPlayerId(), k -> new Agg()).assists += 1;
-                    }
-                }
-                case YELLOW -> {
-                    if (e.getPlayerId() != null) {
-                        agg.computeIfAbsent(e.getPlayerId(), k -> new Agg()).yellow += 1;
-                    }
-                }
-                case RED -> {
-                    if (e.getPlayerId() != null) {
-                        agg.computeIfAbsent(e.getPlayerId(), k -> new Agg()).red += 1;
-                    }
-                }
-                case SUB -> {
-                    // no numeric stats from subs (minutes can be derived later if you want)
-                }
-            }
-        }
+        Map<Long, LineupMerge.Totals> totals = LineupMerge.totalsFromEvents(events);
 
         // 5) Update lineup playerStats IF a lineup exists
-        Lineup lineup = lineupRepo.findByMatchIdWithDetails(matchId).orElse(null);
+        Lineup lineup = lineupRepo.findByMatchIdForUpdate(matchId).orElse(null);
         if (lineup != null) {
+            LineupMerge.applyTotals(lineup, totals);
+            lineupRepo.incrementVersion(lineup.getId());
+            lineupRepo.save(lineup);
+        }
 
-            // index existing by playerId (Set + equals/hashCode already helps, but keep it deterministic)
-            Map<Long, LineupPlayerStat> existingByPlayerId = new HashMap<>();
-            for (LineupPlayerStat s : lineup.getPlayerStats()) {
-                if (s.getPlayerId() != null) existingByPlayerId.put(s.getPlayerId(), s);
-            }
-
-            Set<Long> keep = new HashSet<>();
-
-            for (Map.Entry<Long, Agg> entry : agg.entrySet()) {
-                Long pid = entry.getKey();
-                Agg a = entry.getValue();
-
-                keep.add(pid);
-
-                LineupPlayerStat target = existingByPlayerId.get(pid);
-                if (target == null) {
-                    target = new LineupPlayerStat();
-                    target.setLineup(lineup);
-                    target.setPlayerId(pid);
-                    lineup.getPlayerStats().add(target);
-                    existingByPlayerId.put(pid, target);
-                }
-
-                target.setGoals(a.goals);
-                target.setAssists(a.assists);
-                target.setYellowCards(a.yellow);
-                target.setRedCards(a.red);
-            }
-
-            // remove any stats rows no longer present in events aggregation
-            lineup.getPlayerStats().removeIf(s -> s.getPlayerId() != null && !keep.contains(s.getPlayerId()));
+        metrics.recompute();
 
-            lineupRepo.save(lineup);
+        // recompute rewrites the score and lineup stats, not the events themselves
+        publisher.publishEvent(new TeamDataChangedEvent(
+                getTeamId(), TeamDataChangedEvent.EntityType.MATCH, TeamDataChangedEvent.Operation.UPDATED, matchId));
+        if (lineup != null) {
+            publisher.publishEvent(new TeamDataChangedEvent(
+                    getTeamId(), TeamDataChangedEvent.EntityType.LINEUP, TeamDataChangedEvent.Operation.UPDATED, matchId));
         }
 
         // Return a small payload so frontend can show success (and optionally refresh)
@@ -176,33 +174,9 @@ public class MatchEventController {
         return ResponseEntity.ok(out);
     }
 
-    private static class Agg {
-        int goals = 0;
-        int assists = 0;
-        int yellow = 0;
-        int red = 0;
-    }
-
-    private String validateEvent(MatchEvent e) {
-        if (e == null) return "Event cannot be null.";
-        if (e.getType() == null) return "Event type is required.";
-        if (e.getMinute() == null) return "Event minute is required.";
-        if (e.getMinute() < 0 || e.getMinute() > 130) return "Event minute must be between 0 and 130.";
-
-        switch (e.getType()) {
-            case GOAL -> {
-                if (e.getPlayerId() == null) return "GOAL requires playerId (scorer).";
-            }
-            case YELLOW, RED -> {
-                if (e.getPlayerId() == null) return e.getType().name() + " requires playerId.";
-            }
-            case SUB -> {
-                if (e.getPlayerId() == null) return "SUB requires playerId (sub ON).";
-                if (e.getRelatedPlayerId() == null) return "SUB requires relatedPlayerId (sub OFF).";
-                if (Objects.equals(e.getPlayerId(), e.getRelatedPlayerId()))
-                    return "SUB on/off players must be different.";
-            }
-        }
-        return "";
+    private Long getTeamId() {
+        String principal = (String) SecurityContextHolder
+            .getContext().getAuthentication().getPrincipal();
+        return Long.valueOf(principal.split(":")[1]);
     }
 }
\ No newline at end of file
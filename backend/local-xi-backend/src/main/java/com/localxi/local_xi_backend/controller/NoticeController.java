@@ -1,11 +1,15 @@
 package com.localxi.local_xi_backend.controller;
 
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
 import com.localxi.local_xi_backend.model.Notice;
 import com.localxi.local_xi_backend.repository.AppUserRepository;
 import com.localxi.local_xi_backend.repository.NoticeRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,20 +24,26 @@ public class NoticeController {
 
     private final NoticeRepository notices;
     private final AppUserRepository users;
+    private final ApplicationEventPublisher publisher;
 
-    public NoticeController(NoticeRepository notices, AppUserRepository users) {
+    public NoticeController(NoticeRepository notices, AppUserRepository users, ApplicationEventPublisher publisher) {
         this.notices = notices;
         this.users = users;
+        this.publisher = publisher;
     }
 
     @GetMapping
-    public ResponseEntity<?> listForMyTeam() {
+    @Transactional
+    public ResponseEntity<?> listForMyTeam(WebRequest request) {
         Long userId = getUserId();
 
         var userOpt = users.findById(userId);
         if (userOpt.isEmpty()) return ResponseEntity.status(401).build();
 
         Long teamId = userOpt.get().getTeam().getId();
+        String etag = ETags.forTeamList("notices", teamId, notices.versionForTeam(teamId));
+        if (request.checkNotModified(etag)) return null;
+
         List<Notice> out = notices.findByTeam_IdOrderByCreatedAtDesc(teamId);
         return ResponseEntity.ok(out);
     }
@@ -44,6 +54,7 @@ public class NoticeController {
     }
 
     @PostMapping
+    @Transactional
     public ResponseEntity<?> create(@RequestBody CreateNoticeRequest req) {
         Long userId = getUserId();
 
@@ -61,10 +72,14 @@ public class NoticeController {
         n.setTitle(req.title.trim());
         n.setBody(req.body.trim());
 
-        return ResponseEntity.ok(notices.save(n));
+        Notice saved = notices.save(n);
+        publisher.publishEvent(new TeamDataChangedEvent(
+                user.getTeam().getId(), TeamDataChangedEvent.EntityType.NOTICE, TeamDataChangedEvent.Operation.CREATED, saved.getId()));
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<?> delete(@PathVariable Long id) {
         Long userId = getUserId();
 
@@ -83,6 +98,8 @@ public class NoticeController {
         }
 
         notices.delete(notice);
+        publisher.publishEvent(new TeamDataChangedEvent(
+                noticeTeamId, TeamDataChangedEvent.EntityType.NOTICE, TeamDataChangedEvent.Operation.DELETED, id));
         return ResponseEntity.ok().build();
     }
 
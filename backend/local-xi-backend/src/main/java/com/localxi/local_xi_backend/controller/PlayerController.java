@@ -1,10 +1,15 @@
 package com.localxi.local_xi_backend.controller;
 
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
 import com.localxi.local_xi_backend.model.Player;
 import com.localxi.local_xi_backend.repository.PlayerRepository;
+import com.localxi.local_xi_backend.service.BulkDeleteService;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,17 +23,26 @@ import java.util.List;
 public class PlayerController {
 
     private final PlayerRepository repo;
+    private final BulkDeleteService bulkDeletes;
+    private final ApplicationEventPublisher publisher;
 
-    public PlayerController(PlayerRepository repo) {
+    public PlayerController(PlayerRepository repo, BulkDeleteService bulkDeletes, ApplicationEventPublisher publisher) {
         this.repo = repo;
+        this.bulkDeletes = bulkDeletes;
+        this.publisher = publisher;
     }
 
     @GetMapping
-    public List<Player> getAll() {
-        return repo.findAllByTeamIdOrderByNumber(getTeamId());
+    public ResponseEntity<?> getAll(WebRequest request) {
+        Long teamId = getTeamId();
+        String etag = ETags.forTeamList("players", teamId, repo.versionForTeam(teamId));
+        if (request.checkNotModified(etag)) return null;
+
+        return ResponseEntity.ok(repo.findAllByTeamIdOrderByNumber(teamId));
     }
 
     @PostMapping
+    @Transactional
     public ResponseEntity<?> create(@RequestBody Player payload) {
         if (payload.getName() == null || payload.getName().trim().isEmpty()) {
             return ResponseEntity.badRequest().body("name is required");
@@ -49,19 +63,20 @@ public class PlayerController {
         p.setNumber(payload.getNumber());
         p.setTeamId(getTeamId());
 
-        return ResponseEntity.ok(repo.save(p));
+        Player saved = repo.save(p);
+        publisher.publishEvent(new TeamDataChangedEvent(
+                getTeamId(), TeamDataChangedEvent.EntityType.PLAYER, TeamDataChangedEvent.Operation.CREATED, saved.getId()));
+        return ResponseEntity.ok(saved);
     }
 
+    // ids of other teams are ignored
     @DeleteMapping
     public ResponseEntity<?> deleteMany(@RequestBody List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
             return ResponseEntity.badRequest().body("ids are required");
         }
 
-        List<Player> existing = repo.findAllById(ids);
-        if (!existing.isEmpty()) {
-            repo.deleteAll(existing);
-        }
+        bulkDeletes.deletePlayers(getTeamId(), ids);
         return ResponseEntity.ok().build();
     }
 
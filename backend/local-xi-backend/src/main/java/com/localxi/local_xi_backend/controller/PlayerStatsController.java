@@ -1,7 +1,9 @@
 package com.localxi.local_xi_backend.controller;
 
+import com.localxi.local_xi_backend.archive.SeasonArchive;
 import com.localxi.local_xi_backend.repository.LineupPlayerStatRepository;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.LinkedHashMap;
@@ -17,27 +19,35 @@ import java.util.Map;
 public class PlayerStatsController {
 
     private final LineupPlayerStatRepository statsRepo;
+    private final SeasonArchive archive;
 
-    public PlayerStatsController(LineupPlayerStatRepository statsRepo) {
+    public PlayerStatsController(LineupPlayerStatRepository statsRepo, SeasonArchive archive) {
         this.statsRepo = statsRepo;
+        this.archive = archive;
     }
 
-    // GET /api/player-stats/{playerId}/totals
+    // GET /api/player-stats/{playerId}/totals?seasonId=3  (seasonId optional: all seasons)
     @GetMapping("/{playerId}/totals")
-    public ResponseEntity<?> totals(@PathVariable Long playerId) {
+    public ResponseEntity<?> totals(@PathVariable Long playerId, @RequestParam(required = false) Long seasonId) {
 
-        Object raw = statsRepo.totalsForPlayer(playerId);
+        Object raw = seasonId == null
+                ? statsRepo.totalsForPlayer(playerId)
+                : statsRepo.totalsForPlayerInSeason(playerId, seasonId);
 
         // JPA returns a single row as Object[] for multi-select queries
         Object[] row = (raw instanceof Object[]) ? (Object[]) raw : new Object[] {0, 0, 0, 0};
 
-        int goals = toInt(row, 0);
-        int assists = toInt(row, 1);
-        int yellowCards = toInt(row, 2);
-        int redCards = toInt(row, 3);
+        // stats of archived seasons are no longer in the table
+        int[] archived = archive.playerTotals(getTeamId(), playerId, seasonId);
+
+        int goals = toInt(row, 0) + archived[0];
+        int assists = toInt(row, 1) + archived[1];
+        int yellowCards = toInt(row, 2) + archived[2];
+        int redCards = toInt(row, 3) + archived[3];
 
         Map<String, Object> out = new LinkedHashMap<>();
         out.put("playerId", playerId);
+        out.put("seasonId", seasonId);
         out.put("goals", goals);
         out.put("assists", assists);
         out.put("yellowCards", yellowCards);
@@ -57,4 +67,10 @@ public class PlayerStatsController {
             return 0;
         }
     }
-}
\ No newline at end of file
+
+    private Long getTeamId() {
+        String principal = (String) SecurityContextHolder
+            .getContext().getAuthentication().getPrincipal();
+        return Long.valueOf(principal.split(":")[1]);
+    }
+}
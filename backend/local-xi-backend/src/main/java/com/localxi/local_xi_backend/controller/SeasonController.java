@@ -0,0 +1,171 @@
+package com.localxi.local_xi_backend.controller;
+
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.model.Season;
+import com.localxi.local_xi_backend.repository.MatchRepository;
+import com.localxi.local_xi_backend.repository.SeasonRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@CrossOrigin(
+        origins = "https://local-xi-production.up.railway.app",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE}
+)
+@RestController
+@RequestMapping("/api/seasons")
+public class SeasonController {
+
+    private final SeasonRepository repo;
+    private final MatchRepository matchRepo;
+    private final ApplicationEventPublisher publisher;
+
+    public SeasonController(SeasonRepository repo, MatchRepository matchRepo, ApplicationEventPublisher publisher) {
+        this.repo = repo;
+        this.matchRepo = matchRepo;
+        this.publisher = publisher;
+    }
+
+    // newest first
+    @GetMapping
+    public ResponseEntity<?> getSeasons(WebRequest request) {
+        Long teamId = getTeamId();
+        String etag = ETags.forTeamList("seasons", teamId, repo.versionForTeam(teamId));
+        if (request.checkNotModified(etag)) return null;
+
+        return ResponseEntity.ok(repo.findAllByTeamIdOrderByStartDateDesc(teamId));
+    }
+
+    // the season covering today, else the most recent one
+    @GetMapping("/current")
+    public ResponseEntity<?> getCurrent() {
+        Long teamId = getTeamId();
+        return repo.findCovering(teamId, LocalDate.now())
+                .or(() -> repo.findAllByTeamIdOrderByStartDateDesc(teamId).stream().findFirst())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    public static class SeasonPatch {
+        public String name;
+        public LocalDate startDate;
+        public LocalDate endDate;
+    }
+
+    @PostMapping
+    @Transactional
+    public ResponseEntity<?> createSeason(@RequestBody SeasonPatch body) {
+        Long teamId = getTeamId();
+        Season season = new Season();
+        season.setTeamId(teamId);
+        season.setName(body.name);
+        season.setStartDate(body.startDate);
+        season.setEndDate(body.endDate);
+
+        ResponseEntity<?> invalid = validate(season);
+        if (invalid != null) return invalid;
+
+        Season saved = repo.saveAndFlush(season);
+        reassignMatches(teamId, saved);
+        publishChanged(TeamDataChangedEvent.Operation.CREATED, saved.getId());
+        return ResponseEntity.ok(saved);
+    }
+
+    @PutMapping("/{id}")
+    @Transactional
+    public ResponseEntity<?> updateSeason(@PathVariable Long id, @RequestBody SeasonPatch patch,
+                                          @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        Long teamId = getTeamId();
+        return repo.findByIdAndTeamId(id, teamId)
+                .<ResponseEntity<?>>map(existing -> {
+                    if (ETags.ifMatchFails(ifMatch, ETags.forVersion(existing.getVersion()))) {
+                        return ResponseEntity.status(412).body("Season was modified by someone else");
+                    }
+                    if (existing.isArchived()) {
+                        return ResponseEntity.status(409).body("Archived seasons can't be changed");
+                    }
+
+                    if (patch.name != null) existing.setName(patch.name);
+                    if (patch.startDate != null) existing.setStartDate(patch.startDate);
+                    if (patch.endDate != null) existing.setEndDate(patch.endDate);
+
+                    ResponseEntity<?> invalid = validate(existing);
+                    if (invalid != null) return invalid;
+
+                    Season saved = repo.saveAndFlush(existing);
+                    reassignMatches(teamId, saved);
+                    publishChanged(TeamDataChangedEvent.Operation.UPDATED, saved.getId());
+                    return ResponseEntity.ok().eTag(ETags.forVersion(saved.getVersion())).body(saved);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // matches of a deleted season are kept, just no longer assigned to one
+    @DeleteMapping("/{id}")
+    @Transactional
+    public ResponseEntity<?> deleteSeason(@PathVariable Long id) {
+        Long teamId = getTeamId();
+        return repo.findByIdAndTeamId(id, teamId)
+                .<ResponseEntity<?>>map(existing -> {
+                    if (existing.isArchived()) {
+                        return ResponseEntity.status(409).body("Archived seasons can't be deleted");
+                    }
+                    List<Long> affected = matchRepo.findIdsForSeasonRange(
+                            teamId, id, existing.getStartDate(), existing.getEndDate());
+                    repo.delete(existing);
+                    repo.flush();
+                    reassign(teamId, affected);
+                    publishChanged(TeamDataChangedEvent.Operation.DELETED, id);
+                    return ResponseEntity.ok().build();
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<?> validate(Season season) {
+        if (season.getName() == null || season.getName().trim().isEmpty()) {
+            return ResponseEntity.badRequest().body("Season name is required");
+        }
+        if (season.getStartDate() == null || season.getEndDate() == null) {
+            return ResponseEntity.badRequest().body("startDate and endDate are required");
+        }
+        if (season.getEndDate().isBefore(season.getStartDate())) {
+            return ResponseEntity.badRequest().body("endDate must not be before startDate");
+        }
+        Long excludeId = season.getId() != null ? season.getId() : -1L;
+        if (repo.overlaps(season.getTeamId(), season.getStartDate(), season.getEndDate(), excludeId)) {
+            return ResponseEntity.status(409).body("Season overlaps another season");
+        }
+        return null;
+    }
+
+    // matches previously in this season plus those now inside its range
+    private void reassignMatches(Long teamId, Season season) {
+        reassign(teamId, matchRepo.findIdsForSeasonRange(
+                teamId, season.getId(), season.getStartDate(), season.getEndDate()));
+    }
+
+    private void reassign(Long teamId, List<Long> matchIds) {
+        if (matchIds.isEmpty()) return;
+        matchRepo.reassignSeasons(matchIds);
+        publisher.publishEvent(new TeamDataChangedEvent(
+                teamId, TeamDataChangedEvent.EntityType.MATCH, TeamDataChangedEvent.Operation.UPDATED, matchIds));
+    }
+
+    private void publishChanged(TeamDataChangedEvent.Operation op, Long seasonId) {
+        publisher.publishEvent(new TeamDataChangedEvent(
+                getTeamId(), TeamDataChangedEvent.EntityType.SEASON, op, seasonId));
+    }
+
+    private Long getTeamId() {
+        String principal = (String) SecurityContextHolder
+            .getContext().getAuthentication().getPrincipal();
+        return Long.valueOf(principal.split(":")[1]);
+    }
+}
@@ -0,0 +1,43 @@
+package com.localxi.local_xi_backend.controller;
+
+import com.localxi.local_xi_backend.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeoutException;
+
+@CrossOrigin(
+        origins = "https://local-xi-production.up.railway.app",
+        allowedHeaders = "*",
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE}
+)
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService sync;
+
+    public SyncController(SyncService sync) {
+        this.sync = sync;
+    }
+
+    // GET /api/sync?since=0
+    @GetMapping
+    public ResponseEntity<?> changesSince(@RequestParam long since) {
+        if (since < 0) {
+            return ResponseEntity.badRequest().body("since must be 0 or more");
+        }
+        try {
+            return ResponseEntity.ok(sync.changesSince(getTeamId(), since));
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(504).body("Sync took too long to load");
+        }
+    }
+
+    private Long getTeamId() {
+        String principal = (String) SecurityContextHolder
+            .getContext().getAuthentication().getPrincipal();
+        return Long.valueOf(principal.split(":")[1]);
+    }
+}
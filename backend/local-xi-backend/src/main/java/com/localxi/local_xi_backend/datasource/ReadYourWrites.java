@@ -0,0 +1,65 @@
+package com.localxi.local_xi_backend.datasource;
+
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a team's reads on the primary for stickyMillis after one of its writes commits, so
+ * the writer (and the caches reloading after the write) never read a replica that hasn't
+ * applied it yet. Keep stickyMillis above the monitor's maxLagMillis + heartbeatMillis:
+ * after that the replica is either caught up or no longer used.
+ */
+public class ReadYourWrites {
+
+    private final long stickyMillis;
+    // teamId -> time of the last committed write
+    private final Map<Long, Long> lastWrite = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(long stickyMillis) {
+        this.stickyMillis = stickyMillis;
+    }
+
+    // fallbackExecution: some controllers write through repo.save() without an outer transaction.
+    // First of all listeners: the caches that reload after a write (TeamColumnStore at order 0)
+    // must already find the team sticky.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamDataChanged(TeamDataChangedEvent event) {
+        if (event.getTeamId() != null) wrote(event.getTeamId());
+    }
+
+    void wrote(Long teamId) {
+        lastWrite.put(teamId, System.currentTimeMillis());
+    }
+
+    // true while the current request's team has a recent write
+    boolean isSticky() {
+        Long teamId = currentTeamId();
+        if (teamId == null) return false;
+        Long at = lastWrite.get(teamId);
+        if (at == null) return false;
+        if (System.currentTimeMillis() - at < stickyMillis) return true;
+        lastWrite.remove(teamId, at);
+        return false;
+    }
+
+    // principal is "userId:teamId" (see JwtAuthFilter)
+    private static Long currentTeamId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof String principal)) return null;
+        int colon = principal.indexOf(':');
+        if (colon < 0) return null;
+        try {
+            return Long.valueOf(principal.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
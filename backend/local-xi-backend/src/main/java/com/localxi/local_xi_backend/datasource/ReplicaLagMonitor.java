@@ -0,0 +1,133 @@
+package com.localxi.local_xi_backend.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether the replica may serve reads. Every heartbeatMillis the current time is
+ * written to replica_heartbeat on the primary and read back from the replica; the difference
+ * is the replication lag (plus at most one heartbeat). Above maxLagMillis, or when the replica
+ * can't be queried, reads go to the primary until a later probe finds it caught up.
+ * Both timestamps come from this process's clock, so server clock skew doesn't matter.
+ */
+public class ReplicaLagMonitor implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final ScheduledExecutorService timer;
+
+    private boolean tableCreated;
+    // -1 until the first successful measurement
+    private volatile long lagMillis = -1;
+    private volatile boolean healthy;
+
+    private final AtomicLong toPrimary = new AtomicLong();
+    private final AtomicLong toReplica = new AtomicLong();
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long heartbeatMillis, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        this.timer.scheduleWithFixedDelay(this::probe, 0, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaHealthy() {
+        return healthy;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public void probe() {
+        beat();
+        measure();
+    }
+
+    // primary side: create the table on first use, then stamp the current time
+    void beat() {
+        try {
+            if (!tableCreated) {
+                primary.execute("create table if not exists replica_heartbeat (id int primary key, ts bigint not null)");
+                tableCreated = true;
+            }
+            long now = System.currentTimeMillis();
+            if (primary.update("update replica_heartbeat set ts = ? where id = 1", now) == 0) {
+                primary.update("insert into replica_heartbeat (id, ts) values (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not write replica heartbeat on the primary: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    // replica side: how old is the newest heartbeat it has applied
+    void measure() {
+        try {
+            Long ts = replica.queryForObject("select ts from replica_heartbeat where id = 1", Long.class);
+            lagMillis = Math.max(0, System.currentTimeMillis() - (ts == null ? 0 : ts));
+            boolean ok = lagMillis <= maxLagMillis;
+            if (ok != healthy) {
+                if (ok) log.info("Replica caught up (lag {} ms), serving reads from it", lagMillis);
+                else log.warn("Replica lag {} ms above {} ms, reads go to the primary", lagMillis, maxLagMillis);
+            }
+            healthy = ok;
+        } catch (DataAccessException e) {
+            replicaFailed(e);
+        }
+    }
+
+    // the replica could not be queried / connected to; stays down until the next good probe
+    void replicaFailed(Exception e) {
+        if (healthy) log.warn("Replica unavailable, reads go to the primary: {}", e.getMessage());
+        healthy = false;
+    }
+
+    void routed(boolean replica) {
+        (replica ? toReplica : toPrimary).incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("localxi.replica.lag", this, m -> m.lagMillis)
+                .description("Replication lag measured by the heartbeat (-1 before the first measurement)")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("localxi.replica.healthy", this, m -> m.healthy ? 1 : 0)
+                .description("1 while read-only transactions may use the replica")
+                .register(registry);
+        FunctionCounter.builder("localxi.datasource.routed", toPrimary, AtomicLong::get)
+                .description("Connections handed out by the routing datasource")
+                .tag("target", "primary")
+                .register(registry);
+        FunctionCounter.builder("localxi.datasource.routed", toReplica, AtomicLong::get)
+                .description("Connections handed out by the routing datasource")
+                .tag("target", "replica")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package com.localxi.local_xi_backend.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Read-only transactions go to the replica, everything else to the primary. A read-only
+ * transaction still uses the primary while the replica lags or is down (ReplicaLagMonitor)
+ * and while the team has a recent write (ReadYourWrites).
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for the
+ * connection before the read-only flag is bound to the thread.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor monitor;
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor monitor, ReadYourWrites readYourWrites) {
+        this.monitor = monitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return Route.PRIMARY;
+        if (!monitor.isReplicaHealthy()) return Route.PRIMARY;
+        if (readYourWrites.isSticky()) return Route.PRIMARY;
+        return Route.REPLICA;
+    }
+
+    // a replica that refuses connections is marked down and the read retried on the primary
+    @Override
+    public Connection getConnection() throws SQLException {
+        boolean replica = determineCurrentLookupKey() == Route.REPLICA;
+        try {
+            Connection c = super.getConnection();
+            monitor.routed(replica);
+            return c;
+        } catch (SQLException e) {
+            if (!replica) throw e;
+            monitor.replicaFailed(e);
+            Connection c = super.getConnection();
+            monitor.routed(false);
+            return c;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.localxi.local_xi_backend.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the controllers after a write to team data.
+ * ChangeLogRecorder writes it to the change log before commit; cache listeners
+ * (AnalyticsCache, MatchReadService) react after commit.
+ */
+public class TeamDataChangedEvent {
+
+    public enum EntityType {
+        MATCH,
+        LINEUP,
+        MATCH_EVENT,
+        PLAYER,
+        FORMATION,
+        NOTICE,
+        SEASON
+    }
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Long teamId;
+    private final EntityType entityType;
+    private final Operation operation;
+    // LINEUP and MATCH_EVENT are identified by their matchId
+    private final List<Long> entityIds;
+
+    public TeamDataChangedEvent(Long teamId, EntityType entityType, Operation operation, Collection<Long> entityIds) {
+        this.teamId = teamId;
+        this.entityType = entityType;
+        this.operation = operation;
+        this.entityIds = entityIds == null ? List.of() : List.copyOf(entityIds);
+    }
+
+    public TeamDataChangedEvent(Long teamId, EntityType entityType, Operation operation, Long entityId) {
+        this(teamId, entityType, operation, entityId == null ? List.of() : List.of(entityId));
+    }
+
+    public Long getTeamId() { return teamId; }
+    public EntityType getEntityType() { return entityType; }
+    public Operation getOperation() { return operation; }
+    public List<Long> getEntityIds() { return entityIds; }
+}
@@ -0,0 +1,77 @@
+package com.localxi.local_xi_backend.metrics;
+
+import com.localxi.local_xi_backend.security.LoginRateLimiter;
+import com.localxi.local_xi_backend.service.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application counters next to the built-in HTTP / JVM / Hikari meters:
+ * <ul>
+ *   <li>{@code localxi.logins} by outcome (success, invalid, locked)</li>
+ *   <li>{@code localxi.login.locks}: accounts locked by the login rate limiter</li>
+ *   <li>{@code localxi.recomputes}: stats recomputed from match events</li>
+ *   <li>{@code localxi.events.ingested} by source (api, import)</li>
+ *   <li>{@code localxi.singleflight.*}: match read coalescing</li>
+ * </ul>
+ */
+@Component
+public class AppMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter locks;
+    private final Counter recomputes;
+
+    public AppMetrics(MeterRegistry registry, SingleFlight singleFlight, LoginRateLimiter limiter) {
+        this.registry = registry;
+        this.locks = Counter.builder("localxi.login.locks")
+                .description("Logins locked out after too many failures")
+                .register(registry);
+        this.recomputes = Counter.builder("localxi.recomputes")
+                .description("Match score and lineup stats recomputed from events")
+                .register(registry);
+
+        FunctionCounter.builder("localxi.singleflight.leaders", singleFlight, SingleFlight::getLeaders)
+                .description("Loads run by the first caller for a key")
+                .register(registry);
+        FunctionCounter.builder("localxi.singleflight.coalesced", singleFlight, SingleFlight::getCoalesced)
+                .description("Callers served by another caller's in-flight load")
+                .register(registry);
+        FunctionCounter.builder("localxi.singleflight.timeouts", singleFlight, SingleFlight::getTimeouts)
+                .description("Coalesced callers that gave up waiting and loaded themselves")
+                .register(registry);
+        Gauge.builder("localxi.singleflight.inflight", singleFlight, SingleFlight::getInFlight)
+                .description("Loads currently in flight")
+                .register(registry);
+        Gauge.builder("localxi.login.tracked", limiter, LoginRateLimiter::size)
+                .description("email|ip pairs the login rate limiter is tracking")
+                .register(registry);
+    }
+
+    public void login(String outcome) {
+        Counter.builder("localxi.logins")
+                .description("Login attempts")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void loginLocked() {
+        locks.increment();
+    }
+
+    public void recompute() {
+        recomputes.increment();
+    }
+
+    public void eventsIngested(String source, int count) {
+        Counter.builder("localxi.events.ingested")
+                .description("Match events written")
+                .tag("source", source)
+                .register(registry)
+                .increment(count);
+    }
+}
@@ -0,0 +1,28 @@
+package com.localxi.local_xi_backend.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Marks the current thread as running "LineupRepository.findByMatchIdWithSlots" (etc.) for the
+ * duration of a repository call. Nested calls (default methods calling queries) win while they
+ * run, so each statement is tagged with the query method that actually issued it.
+ */
+public class RepositoryMethodInterceptor implements MethodInterceptor {
+
+    private final String repository;
+
+    public RepositoryMethodInterceptor(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String previous = SqlContext.enterRepositoryMethod(repository + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            SqlContext.exitRepositoryMethod(previous);
+        }
+    }
+}
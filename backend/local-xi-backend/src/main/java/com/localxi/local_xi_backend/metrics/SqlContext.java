@@ -0,0 +1,91 @@
+package com.localxi.local_xi_backend.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Where the statement currently executing came from: the repository method being invoked
+ * and the HTTP request being served. Both are thread-bound; the request scope is carried
+ * onto worker threads by {@link #wrap(Runnable)}.
+ */
+public final class SqlContext {
+
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+    private static final ThreadLocal<Request> REQUEST = new ThreadLocal<>();
+
+    private SqlContext() {}
+
+    /** Statement counts for one HTTP request (shared by the threads working on it). */
+    public static class Request {
+        private final HttpServletRequest http;
+        final AtomicInteger statements = new AtomicInteger();
+        // normalized select -> times run
+        final Map<String, AtomicInteger> selects = new ConcurrentHashMap<>();
+
+        Request(HttpServletRequest http) {
+            this.http = http;
+        }
+
+        // "GET /api/lineups/match/{matchId}" once the handler is mapped, the raw URI before that
+        public String endpoint() {
+            Object pattern = http.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return http.getMethod() + " " + (pattern != null ? pattern : http.getRequestURI());
+        }
+
+        // for metric tags: only mapped routes, so unknown URLs can't blow up cardinality
+        String route() {
+            Object pattern = http.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return pattern != null ? http.getMethod() + " " + pattern : "UNMAPPED";
+        }
+    }
+
+    public static String repositoryMethod() {
+        return REPOSITORY_METHOD.get();
+    }
+
+    // returns the previous value so nested repository calls can restore it
+    static String enterRepositoryMethod(String method) {
+        String previous = REPOSITORY_METHOD.get();
+        REPOSITORY_METHOD.set(method);
+        return previous;
+    }
+
+    static void exitRepositoryMethod(String previous) {
+        if (previous == null) REPOSITORY_METHOD.remove();
+        else REPOSITORY_METHOD.set(previous);
+    }
+
+    public static Request request() {
+        return REQUEST.get();
+    }
+
+    static Request begin(HttpServletRequest http) {
+        Request request = new Request(http);
+        REQUEST.set(request);
+        return request;
+    }
+
+    static void end() {
+        REQUEST.remove();
+    }
+
+    // Runs the task under the submitting thread's request, e.g. as an executor's TaskDecorator
+    public static Runnable wrap(Runnable task) {
+        Request request = REQUEST.get();
+        if (request == null) return task;
+        return () -> {
+            Request previous = REQUEST.get();
+            REQUEST.set(request);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) REQUEST.remove();
+                else REQUEST.set(previous);
+            }
+        };
+    }
+}
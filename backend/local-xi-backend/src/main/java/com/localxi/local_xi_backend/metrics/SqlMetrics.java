@@ -0,0 +1,162 @@
+package com.localxi.local_xi_backend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Receives every JDBC execution from the datasource proxy:
+ * <ul>
+ *   <li>{@code localxi.sql.statements} timer, tagged with the statement kind and the repository method</li>
+ *   <li>statements slower than {@code app.sql.slowQueryMillis} are logged with their binds and endpoint
+ *       and counted in {@code localxi.sql.slow}</li>
+ *   <li>per request, a select shape run more than {@code app.sql.repeatThreshold} times is logged as a
+ *       likely N+1 and counted in {@code localxi.sql.repeated}</li>
+ *   <li>{@code localxi.sql.request.statements}: statements per request, by route</li>
+ * </ul>
+ * Every statement is logged at DEBUG (the replacement for spring.jpa.show-sql).
+ */
+@Component
+public class SqlMetrics implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMetrics.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // "in (?,?,?)" -> "in (?...)" so padded IN lists of different sizes share a shape
+    private static final Pattern PARAM_LIST = Pattern.compile("\\(\\?(?:\\s*,\\s*\\?)+\\)");
+    private static final int MAX_LOGGED_PARAM_SETS = 3;
+
+    private final MeterRegistry registry;
+    private final long slowQueryMillis;
+    private final int repeatThreshold;
+
+    public SqlMetrics(MeterRegistry registry,
+                      @Value("${app.sql.slowQueryMillis:250}") long slowQueryMillis,
+                      @Value("${app.sql.repeatThreshold:10}") int repeatThreshold) {
+        this.registry = registry;
+        this.slowQueryMillis = slowQueryMillis;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) return;
+
+        String sql = queryInfoList.get(0).getQuery();
+        String kind = kind(sql);
+        String method = SqlContext.repositoryMethod();
+        long elapsed = execInfo.getElapsedTime();
+
+        Timer.builder("localxi.sql.statements")
+                .description("JDBC statement execution time")
+                .tag("kind", kind)
+                .tag("method", method != null ? method : "none")
+                .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+                .register(registry)
+                .record(elapsed, TimeUnit.MILLISECONDS);
+
+        SqlContext.Request request = SqlContext.request();
+        if (request != null) {
+            request.statements.incrementAndGet();
+            if (kind.equals("select")) {
+                request.selects.computeIfAbsent(shape(sql), k -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+
+        if (elapsed >= slowQueryMillis) {
+            Counter.builder("localxi.sql.slow")
+                    .description("Statements over app.sql.slowQueryMillis")
+                    .tag("method", method != null ? method : "none")
+                    .register(registry)
+                    .increment();
+            log.warn("Slow query {} ms [{}] {}: {} binds {}", elapsed,
+                    request != null ? request.endpoint() : "no request",
+                    method != null ? method : "-", sql, binds(queryInfoList.get(0)));
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} ms [{}] {}: {} binds {}", elapsed,
+                    request != null ? request.endpoint() : "no request",
+                    method != null ? method : "-", sql, binds(queryInfoList.get(0)));
+        }
+    }
+
+    // Called once the request has finished: statement count per route and the N+1 check.
+    void requestFinished(SqlContext.Request request) {
+        String route = request.route();
+
+        DistributionSummary.builder("localxi.sql.request.statements")
+                .description("JDBC statements per HTTP request")
+                .tag("route", route)
+                .register(registry)
+                .record(request.statements.get());
+
+        for (Map.Entry<String, AtomicInteger> e : request.selects.entrySet()) {
+            int times = e.getValue().get();
+            if (times <= repeatThreshold) continue;
+
+            Counter.builder("localxi.sql.repeated")
+                    .description("Requests running one select shape more than app.sql.repeatThreshold times")
+                    .tag("route", route)
+                    .register(registry)
+                    .increment();
+            log.warn("Possible N+1: [{}] ran the same select {} times: {}", request.endpoint(), times, e.getKey());
+        }
+    }
+
+    static String shape(String sql) {
+        return PARAM_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?...)");
+    }
+
+    static String kind(String sql) {
+        String s = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (s.startsWith("select") || s.startsWith("with")) return "select";
+        if (s.startsWith("insert")) return "insert";
+        if (s.startsWith("update")) return "update";
+        if (s.startsWith("delete")) return "delete";
+        return "other";
+    }
+
+    // bind values by position; batches show their first few parameter sets
+    private static String binds(QueryInfo query) {
+        List<List<ParameterSetOperation>> sets = query.getParametersList();
+        if (sets.isEmpty()) return "[]";
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(sets.size(), MAX_LOGGED_PARAM_SETS); i++) {
+            if (i > 0) sb.append(' ');
+            sb.append('[');
+            List<ParameterSetOperation> ops = sets.get(i);
+            for (int j = 0; j < ops.size(); j++) {
+                if (j > 0) sb.append(", ");
+                Object[] args = ops.get(j).getArgs();
+                // setNull(index, sqlType) has no value worth showing
+                sb.append(ParameterSetOperation.isSetNullParameterOperation(ops.get(j)) || args.length < 2
+                        ? "null" : String.valueOf(args[1]));
+            }
+            sb.append(']');
+        }
+        if (sets.size() > MAX_LOGGED_PARAM_SETS) {
+            sb.append(" ... (").append(sets.size()).append(" sets)");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.localxi.local_xi_backend.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link SqlContext.Request} around each request so statements can be attributed to
+ * the endpoint, and reports the request's totals to {@link SqlMetrics} when it completes.
+ */
+public class SqlRequestFilter extends OncePerRequestFilter {
+
+    private final SqlMetrics metrics;
+
+    public SqlRequestFilter(SqlMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlContext.Request sql = SqlContext.begin(request);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlContext.end();
+            metrics.requestFinished(sql);
+        }
+    }
+}
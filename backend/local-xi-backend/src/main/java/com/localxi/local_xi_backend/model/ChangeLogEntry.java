@@ -0,0 +1,62 @@
+package com.localxi.local_xi_backend.model;
+
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "change_log",
+        indexes = @Index(name = "idx_change_log_team_seq", columnList = "team_id, seq", unique = true)
+)
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    // per-team, monotonic (Team.changeSeq)
+    @Column(nullable = false)
+    private long seq;
+
+    // plain varchar rather than a native MySQL enum, so new entity types don't need a migration
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private TeamDataChangedEvent.EntityType entityType;
+
+    // LINEUP / MATCH_EVENT rows hold the matchId
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TeamDataChangedEvent.Operation operation;
+
+    @Column(nullable = false)
+    private Instant changedAt = Instant.now();
+
+    public ChangeLogEntry() {}
+
+    public ChangeLogEntry(Long teamId, long seq, TeamDataChangedEvent.EntityType entityType, Long entityId,
+                          TeamDataChangedEvent.Operation operation) {
+        this.teamId = teamId;
+        this.seq = seq;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+    }
+
+    public Long getId() { return id; }
+    public Long getTeamId() { return teamId; }
+    public long getSeq() { return seq; }
+    public TeamDataChangedEvent.EntityType getEntityType() { return entityType; }
+    public Long getEntityId() { return entityId; }
+    public TeamDataChangedEvent.Operation getOperation() { return operation; }
+    public Instant getChangedAt() { return changedAt; }
+}
@@ -1,6 +1,8 @@
 package com.localxi.local_xi_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +24,13 @@ public class Formation {
     @CollectionTable(name = "formation_slots", joinColumns = @JoinColumn(name = "formation_id"))
     private List<FormationSlot> slots = new ArrayList<>();
 
+    // bumped by Hibernate on every update; drives ETag / If-Match
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     public Formation() {}
 
     public Formation(String name, String shape, List<FormationSlot> slots) {
@@ -43,4 +52,6 @@ public class Formation {
 
     public Long getTeamId() { return teamId; }
     public void setTeamId(Long teamId) { this.teamId = teamId; }
+
+    public long getVersion() { return version; }
 }
@@ -1,7 +1,9 @@
 package com.localxi.local_xi_backend.model;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -25,6 +27,14 @@ public class Lineup {
     // captain player id (nullable ok)
     private Long captainPlayerId;
 
+    // slots / playerStats are the inverse side, so writes force-increment this explicitly
+    // (see LineupRepository.incrementVersion)
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     // ✅ Slots (keep List)
     @JsonManagedReference(value = "lineup")
     @OneToMany(mappedBy = "lineup", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
@@ -48,6 +58,8 @@ public class Lineup {
     public Long getCaptainPlayerId() { return captainPlayerId; }
     public void setCaptainPlayerId(Long captainPlayerId) { this.captainPlayerId = captainPlayerId; }
 
+    public long getVersion() { return version; }
+
     public List<LineupSlot> getSlots() { return slots; }
     public void setSlots(List<LineupSlot> slots) { this.slots = slots; }
 
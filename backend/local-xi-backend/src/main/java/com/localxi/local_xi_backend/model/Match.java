@@ -1,10 +1,25 @@
 package com.localxi.local_xi_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
+import java.util.Locale;
 
 @Entity
-@Table(name = "matches")
+@Table(
+        name = "matches",
+        // keyset pagination: WHERE team_id = ? AND (date, id) > (?, ?) ORDER BY date, id
+        indexes = {
+                @Index(name = "idx_matches_team_date_id", columnList = "team_id, date, id"),
+                // season-scoped analytics: WHERE team_id = ? AND season_id = ? - the lineup / event /
+                // stat queries join through this, so past seasons are never scanned
+                @Index(name = "idx_matches_team_season_date", columnList = "team_id, season_id, date"),
+                // head-to-head: WHERE team_id = ? [AND opponent_key = ?] GROUP BY opponent_key
+                @Index(name = "idx_matches_team_opponent", columnList = "team_id, opponent_key")
+        }
+)
 public class Match {
 
     @Id
@@ -13,6 +28,12 @@ public class Match {
 
     private LocalDate date;
     private String opponent;
+
+    // opponent with case and whitespace folded (see opponentKey); set along with opponent
+    @Column(name = "opponent_key")
+    @JsonIgnore
+    private String opponentKey;
+
     private boolean home; // true = home, false = away
     private Integer goalsFor;
     private Integer goalsAgainst;
@@ -20,12 +41,24 @@ public class Match {
     @Column(name = "team_id", nullable = false)
     private Long teamId;
 
+    // derived from date on every write (the team's season covering it); null = no season
+    @Column(name = "season_id")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long seasonId;
+
+    // bumped by Hibernate on every update; drives ETag / If-Match
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     public Match() {}
 
     public Match(Long id, LocalDate date, String opponent, boolean home, Integer goalsFor, Integer goalsAgainst) {
         this.id = id;
         this.date = date;
-        this.opponent = opponent;
+        setOpponent(opponent);
         this.home = home;
         this.goalsFor = goalsFor;
         this.goalsAgainst = goalsAgainst;
@@ -38,7 +71,17 @@ public class Match {
     public void setDate(LocalDate date) { this.date = date; }
 
     public String getOpponent() { return opponent; }
-    public void setOpponent(String opponent) { this.opponent = opponent; }
+    public void setOpponent(String opponent) {
+        this.opponent = opponent;
+        this.opponentKey = opponentKey(opponent);
+    }
+
+    public String getOpponentKey() { return opponentKey; }
+
+    // "  Rovers   FC " and "rovers fc" are the same opponent
+    public static String opponentKey(String opponent) {
+        return opponent == null ? null : opponent.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
 
     public boolean isHome() { return home; }
     public void setHome(boolean home) { this.home = home; }
@@ -51,4 +94,9 @@ public class Match {
 
     public Long getTeamId() { return teamId; }
     public void setTeamId(Long teamId) { this.teamId = teamId; }
+
+    public Long getSeasonId() { return seasonId; }
+    public void setSeasonId(Long seasonId) { this.seasonId = seasonId; }
+
+    public long getVersion() { return version; }
 }
@@ -3,7 +3,11 @@ package com.localxi.local_xi_backend.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "match_event")
+@Table(
+        name = "match_event",
+        // per-match reads and the season-scoped semi-join on matches (no FK, so no implicit index)
+        indexes = @Index(name = "idx_match_event_match_minute", columnList = "match_id, event_minute")
+)
 public class MatchEvent {
 
     public enum EventType {
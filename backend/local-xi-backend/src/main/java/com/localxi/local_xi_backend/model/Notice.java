@@ -1,6 +1,8 @@
 package com.localxi.local_xi_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.Instant;
 
 @Entity
@@ -28,6 +30,13 @@ public class Notice {
     @Column(nullable = false)
     private Instant createdAt = Instant.now();
 
+    // bumped by Hibernate on every update; drives ETag / If-Match
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     public Notice() {}
 
     public Long getId() { return id; }
@@ -36,6 +45,7 @@ public class Notice {
     public String getTitle() { return title; }
     public String getBody() { return body; }
     public Instant getCreatedAt() { return createdAt; }
+    public long getVersion() { return version; }
 
     public void setId(Long id) { this.id = id; }
     public void setTeam(Team team) { this.team = team; }
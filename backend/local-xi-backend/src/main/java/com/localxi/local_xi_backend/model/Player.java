@@ -1,6 +1,8 @@
 package com.localxi.local_xi_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +33,13 @@ public class Player {
     @Column(name = "team_id", nullable = false)
     private Long teamId;
 
+    // bumped by Hibernate on every update; drives ETag / If-Match
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     public Player() {}
 
     public Player(Long id, String name, List<String> positions, int number) {
@@ -56,5 +65,7 @@ public class Player {
 
     public Long getTeamId() { return teamId; }
     public void setTeamId(Long teamId) { this.teamId = teamId; }
+
+    public long getVersion() { return version; }
 }
 
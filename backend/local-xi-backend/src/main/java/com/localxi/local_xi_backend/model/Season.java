@@ -0,0 +1,68 @@
+package com.localxi.local_xi_backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDate;
+
+@Entity
+@Table(
+        name = "season",
+        indexes = @Index(name = "idx_season_team_start", columnList = "team_id, start_date")
+)
+public class Season {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name; // e.g. "2025/26"
+
+    // inclusive on both ends; a team's seasons never overlap
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    // bumped by Hibernate on every update; drives ETag / If-Match
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    // slots, stats and events of its matches have moved to a snapshot file (see SeasonArchive)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean archived;
+
+    public Season() {}
+
+    public Long getId() { return id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+
+    public long getVersion() { return version; }
+
+    public boolean isArchived() { return archived; }
+
+    public boolean covers(LocalDate date) {
+        return date != null && !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
@@ -1,6 +1,8 @@
 package com.localxi.local_xi_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "team")
@@ -13,6 +15,12 @@ public class Team {
     @Column(nullable = false, unique = true, length = 100)
     private String name;
 
+    // last change-log sequence number handed out for this team (see ChangeLogRecorder)
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long changeSeq;
+
     public Team() {}
 
     public Team(String name) {
@@ -21,6 +29,7 @@ public class Team {
 
     public Long getId() { return id; }
     public String getName() { return name; }
+    public long getChangeSeq() { return changeSeq; }
 
     public void setId(Long id) { this.id = id; }
     public void setName(String name) { this.name = name; }
@@ -0,0 +1,361 @@
+package com.localxi.local_xi_backend.perf;
+
+import com.localxi.local_xi_backend.model.Match;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Fills the perf profile's H2 database with a production-sized synthetic dataset: teams with
+ * squads, formations, seasons of matches, lineups with player stats, and event streams
+ * consistent with the scores.
+ *
+ * Deterministic for a given app.perf.seed: each team draws from its own seeded random, and
+ * ids are assigned here rather than by the database. Rows are written with JDBC batch
+ * inserts, one transaction per app.perf.teamsPerTransaction teams. If the first perf team
+ * already exists the run is skipped, so a file database is generated once and reused.
+ *
+ * Logins: managerNNNN@perf.localxi and playerNNNN-KK@perf.localxi, password app.perf.password.
+ */
+@Component
+@Profile("perf")
+public class PerfDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfDataGenerator.class);
+
+    private static final int BATCH_ROWS = 5_000;
+
+    private static final String[] FIRST_NAMES = {
+            "Alex", "Ben", "Callum", "Dan", "Eli", "Finn", "George", "Harry", "Isaac", "Jack", "Kai", "Leo",
+            "Max", "Noah", "Oscar", "Rory", "Sam", "Theo", "Will", "Zak", "Adam", "Jamie", "Luke", "Owen"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Jones", "Taylor", "Brown", "Williams", "Wilson", "Johnson", "Davies", "Patel", "Wright",
+            "Walker", "Evans", "Thomas", "Roberts", "Green", "Hall", "Wood", "Hughes", "Clarke", "Turner"
+    };
+    private static final String[] OPPONENTS = {
+            "Rovers", "United", "Athletic", "City", "Wanderers", "Albion", "Town", "Rangers", "Celtic",
+            "Villa", "Harriers", "Corinthians", "Dynamo", "Sporting", "Olympic", "Borough"
+    };
+    // squad of 22 by default: 2 GK, 7 DEF, 7 MID, 6 FWD (repeats for bigger squads)
+    private static final String[] SQUAD_POSITIONS = {
+            "GK", "CB", "CB", "LB", "RB", "CM", "CM", "DM", "LW", "RW", "ST",
+            "GK", "CB", "CB", "LB", "RB", "CM", "AM", "CM", "ST", "ST", "LW"
+    };
+    private static final String[][] SHAPES = {
+            {"4-4-2", "GK", "LB", "CB", "CB", "RB", "LM", "CM", "CM", "RM", "ST", "ST"},
+            {"4-3-3", "GK", "LB", "CB", "CB", "RB", "CM", "DM", "CM", "LW", "ST", "RW"},
+            {"3-5-2", "GK", "CB", "CB", "CB", "LWB", "CM", "DM", "CM", "RWB", "ST", "ST"},
+    };
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final PasswordEncoder encoder;
+
+    private final long seed;
+    private final int teams;
+    private final int squadSize;
+    private final int playerLogins;
+    private final int seasons;
+    private final int matchesPerSeason;
+    private final int subsPerMatch;
+    private final int teamsPerTransaction;
+    private final String password;
+
+    public PerfDataGenerator(JdbcTemplate jdbc, PlatformTransactionManager txManager, PasswordEncoder encoder,
+                             @Value("${app.perf.seed:42}") long seed,
+                             @Value("${app.perf.teams:1000}") int teams,
+                             @Value("${app.perf.squadSize:22}") int squadSize,
+                             @Value("${app.perf.playerLogins:5}") int playerLogins,
+                             @Value("${app.perf.seasons:10}") int seasons,
+                             @Value("${app.perf.matchesPerSeason:46}") int matchesPerSeason,
+                             @Value("${app.perf.subsPerMatch:3}") int subsPerMatch,
+                             @Value("${app.perf.teamsPerTransaction:50}") int teamsPerTransaction,
+                             @Value("${app.perf.password:perf123}") String password) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.encoder = encoder;
+        this.seed = seed;
+        this.teams = teams;
+        this.squadSize = Math.max(squadSize, 14);
+        this.playerLogins = Math.min(playerLogins, this.squadSize);
+        this.seasons = seasons;
+        this.matchesPerSeason = Math.min(matchesPerSeason, 46);
+        this.subsPerMatch = Math.min(subsPerMatch, this.squadSize - 11);
+        this.teamsPerTransaction = Math.max(1, teamsPerTransaction);
+        this.password = password;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbc.queryForObject("select count(*) from team where name = ?", Integer.class, teamName(0));
+        if (existing != null && existing > 0) {
+            log.info("Perf dataset already present, skipping generation");
+            return;
+        }
+
+        long started = System.nanoTime();
+        Ids ids = new Ids();
+        Batches batches = new Batches();
+        // one hash for every generated login - BCrypt per user would dominate the run
+        String hash = encoder.encode(password);
+
+        for (int from = 0; from < teams; from += teamsPerTransaction) {
+            int to = Math.min(teams, from + teamsPerTransaction);
+            int first = from;
+            tx.executeWithoutResult(status -> {
+                for (int t = first; t < to; t++) generateTeam(t, ids, batches, hash);
+                batches.flushAll();
+            });
+        }
+        ids.restartIdentities();
+
+        log.info("Perf dataset: {} teams, {} matches, {} lineups, {} events in {} s",
+                teams, ids.match - ids.matchBase, ids.lineup - ids.lineupBase, ids.event - ids.eventBase,
+                (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private static String teamName(int t) {
+        return String.format("Perf FC %04d", t + 1);
+    }
+
+    private void generateTeam(int t, Ids ids, Batches b, String hash) {
+        SplittableRandom rnd = new SplittableRandom(seed * 1_000_003L + t);
+
+        long teamId = ++ids.team;
+        b.add(Table.TEAM, teamId, teamName(t), 0L);
+
+        long managerId = ++ids.user;
+        b.add(Table.USER, managerId, teamId, String.format("manager%04d@perf.localxi", t + 1), hash, "MANAGER");
+        for (int k = 1; k <= playerLogins; k++) {
+            b.add(Table.USER, ++ids.user, teamId, String.format("player%04d-%02d@perf.localxi", t + 1, k), hash, "PLAYER");
+        }
+
+        // squad: shirt numbers 1..n, positions by index so every squad can fill any shape
+        long[] players = new long[squadSize];
+        String[] positions = new String[squadSize];
+        for (int i = 0; i < squadSize; i++) {
+            players[i] = ++ids.player;
+            positions[i] = SQUAD_POSITIONS[i % SQUAD_POSITIONS.length];
+            String name = FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[rnd.nextInt(LAST_NAMES.length)];
+            b.add(Table.PLAYER, players[i], name, i + 1, teamId, 0L);
+            b.add(Table.PLAYER_POSITION, players[i], positions[i]);
+        }
+
+        long[] formations = new long[SHAPES.length];
+        for (int f = 0; f < SHAPES.length; f++) {
+            formations[f] = ++ids.formation;
+            b.add(Table.FORMATION, formations[f], "Formation " + (f + 1), SHAPES[f][0], teamId, 0L);
+            for (int s = 1; s <= 11; s++) {
+                b.add(Table.FORMATION_SLOT, formations[f], SHAPES[f][s] + "-" + s, SHAPES[f][s]);
+            }
+        }
+
+        // the newest season is in progress: only its first half has been played
+        int currentYear = 2026;
+        for (int s = 0; s < seasons; s++) {
+            int year = currentYear - (seasons - 1 - s);
+            long seasonId = ++ids.season;
+            LocalDate start = LocalDate.of(year, 7, 1);
+            LocalDate end = LocalDate.of(year + 1, 6, 30);
+            b.add(Table.SEASON, seasonId, year + "/" + String.format("%02d", (year + 1) % 100),
+                    Date.valueOf(start), Date.valueOf(end), teamId, 0L);
+
+            boolean current = s == seasons - 1;
+            int spacing = Math.max(1, 320 / Math.max(1, matchesPerSeason));
+            for (int m = 0; m < matchesPerSeason; m++) {
+                boolean played = !current || m < matchesPerSeason / 2;
+                LocalDate date = LocalDate.of(year, 8, 8).plusDays((long) m * spacing);
+                generateMatch(rnd, ids, b, teamId, seasonId, date, played, players, formations);
+            }
+        }
+
+        b.add(Table.NOTICE, ++ids.notice, teamId, managerId, "Welcome to " + teamName(t),
+                "Training is Tuesday and Thursday at 7pm.", Timestamp.from(Instant.parse("2026-07-01T09:00:00Z")), 0L);
+    }
+
+    private void generateMatch(SplittableRandom rnd, Ids ids, Batches b, long teamId, long seasonId, LocalDate date,
+                               boolean played, long[] players, long[] formations) {
+        long matchId = ++ids.match;
+        Integer goalsFor = played ? goals(rnd) : null;
+        Integer goalsAgainst = played ? goals(rnd) : null;
+        String opponent = OPPONENTS[rnd.nextInt(OPPONENTS.length)];
+        b.add(Table.MATCH, matchId, Date.valueOf(date), opponent, Match.opponentKey(opponent), rnd.nextBoolean(),
+                goalsFor, goalsAgainst, teamId, seasonId, 0L);
+        if (!played) return;
+
+        // starting XI: keeper 1 or 2, then ten outfield players from the rest of the squad
+        int f = rnd.nextInt(formations.length);
+        List<Integer> outfield = new ArrayList<>();
+        for (int i = 0; i < players.length; i++) {
+            if (i != 0 && i != 11) outfield.add(i);
+        }
+        shuffle(outfield, rnd);
+        int[] xi = new int[11];
+        xi[0] = rnd.nextInt(4) == 0 ? 11 : 0;
+        for (int i = 1; i < 11; i++) xi[i] = outfield.get(i - 1);
+        List<Integer> bench = outfield.subList(10, outfield.size());
+
+        long lineupId = ++ids.lineup;
+        long captain = players[xi[1 + rnd.nextInt(10)]];
+        b.add(Table.LINEUP, lineupId, matchId, formations[f], captain, 0L);
+
+        // per player index: goals, assists, yellows, reds
+        Map<Integer, int[]> tally = new LinkedHashMap<>();
+        for (int i : xi) tally.put(i, new int[4]);
+
+        List<Object[]> events = new ArrayList<>();
+        for (int g = 0; g < goalsFor; g++) {
+            int scorer = xi[1 + rnd.nextInt(10)];
+            int assister = rnd.nextInt(3) == 0 ? -1 : xi[1 + rnd.nextInt(10)];
+            if (assister == scorer) assister = -1;
+            tally.get(scorer)[0]++;
+            if (assister >= 0) tally.get(assister)[1]++;
+            events.add(event(rnd.nextInt(1, 91), "GOAL", players[scorer], assister >= 0 ? players[assister] : null));
+        }
+        int cards = rnd.nextInt(4);
+        for (int c = 0; c < cards; c++) {
+            int booked = xi[rnd.nextInt(11)];
+            boolean red = rnd.nextInt(15) == 0;
+            tally.get(booked)[red ? 3 : 2]++;
+            events.add(event(rnd.nextInt(1, 91), red ? "RED" : "YELLOW", players[booked], null));
+        }
+        for (int s = 0; s < subsPerMatch && s < bench.size(); s++) {
+            int off = xi[1 + rnd.nextInt(10)];
+            int on = bench.get(s);
+            events.add(event(rnd.nextInt(46, 90), "SUB", players[on], players[off]));
+        }
+        events.sort(Comparator.comparingInt(e -> (Integer) e[0]));
+        for (Object[] e : events) {
+            b.add(Table.EVENT, ++ids.event, matchId, e[0], e[1], e[2], e[3], null);
+        }
+
+        String[] shape = SHAPES[f];
+        for (int s = 0; s < 11; s++) {
+            int p = xi[s];
+            double rating = Math.round((5.0 + rnd.nextDouble() * 4.0) * 10) / 10.0;
+            int[] x = tally.get(p);
+            b.add(Table.SLOT, ++ids.slot, lineupId, shape[s + 1] + "-" + (s + 1), shape[s + 1], players[p],
+                    players[p] == captain, rating, null, null, null, null);
+            b.add(Table.STAT, ++ids.stat, lineupId, players[p], x[0], x[1], x[2], x[3], rating);
+        }
+    }
+
+    private static Object[] event(int minute, String type, Long playerId, Long relatedPlayerId) {
+        return new Object[] {minute, type, playerId, relatedPlayerId};
+    }
+
+    // roughly Poisson(1.4)
+    private static int goals(SplittableRandom rnd) {
+        double l = Math.exp(-1.4);
+        double p = 1.0;
+        int k = 0;
+        do {
+            k++;
+            p *= rnd.nextDouble();
+        } while (p > l);
+        return Math.min(k - 1, 9);
+    }
+
+    private static void shuffle(List<Integer> list, SplittableRandom rnd) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            Collections.swap(list, i, rnd.nextInt(i + 1));
+        }
+    }
+
+    // ---------- tables and batching ----------
+
+    private enum Table {
+        TEAM("insert into team (id, name, change_seq) values (?, ?, ?)"),
+        USER("insert into app_user (id, team_id, email, password_hash, role) values (?, ?, ?, ?, ?)"),
+        PLAYER("insert into player (id, name, number, team_id, version) values (?, ?, ?, ?, ?)"),
+        PLAYER_POSITION("insert into player_positions (player_id, position) values (?, ?)"),
+        FORMATION("insert into formations (id, name, shape, team_id, version) values (?, ?, ?, ?, ?)"),
+        FORMATION_SLOT("insert into formation_slots (formation_id, slot_id, position) values (?, ?, ?)"),
+        SEASON("insert into season (id, name, start_date, end_date, team_id, version) values (?, ?, ?, ?, ?, ?)"),
+        MATCH("insert into matches (id, date, opponent, opponent_key, home, goals_for, goals_against, team_id, season_id, "
+                + "version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+        LINEUP("insert into lineup (id, match_id, formation_id, captain_player_id, version) values (?, ?, ?, ?, ?)"),
+        SLOT("insert into lineup_slot (id, lineup_id, slot_id, pos, player_id, is_captain, rating, goals, assists, "
+                + "yellow_cards, red_cards) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+        STAT("insert into lineup_player_stat (id, lineup_id, player_id, goals, assists, yellow_cards, red_cards, rating) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)"),
+        EVENT("insert into match_event (id, match_id, event_minute, type, player_id, related_player_id, note) "
+                + "values (?, ?, ?, ?, ?, ?, ?)"),
+        NOTICE("insert into notice (id, team_id, created_by_user_id, title, body, created_at, version) "
+                + "values (?, ?, ?, ?, ?, ?, ?)");
+
+        final String sql;
+
+        Table(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    // Pending rows per table, flushed as JDBC batches. Parents are flushed before children
+    // (enum order), so foreign keys always resolve.
+    private class Batches {
+        private final Map<Table, List<Object[]>> rows = new EnumMap<>(Table.class);
+
+        void add(Table table, Object... values) {
+            List<Object[]> pending = rows.computeIfAbsent(table, k -> new ArrayList<>());
+            pending.add(values);
+            if (pending.size() >= BATCH_ROWS) flushAll();
+        }
+
+        void flushAll() {
+            for (Table table : Table.values()) {
+                List<Object[]> pending = rows.get(table);
+                if (pending == null || pending.isEmpty()) continue;
+                jdbc.batchUpdate(table.sql, pending);
+                pending.clear();
+            }
+        }
+    }
+
+    // Next ids per table, continuing after whatever is already there (e.g. the Demo FC seed).
+    private class Ids {
+        long team = max("team"), user = max("app_user"), player = max("player"), formation = max("formations");
+        long season = max("season"), notice = max("notice"), slot = max("lineup_slot"), stat = max("lineup_player_stat");
+        final long matchBase = max("matches"), lineupBase = max("lineup"), eventBase = max("match_event");
+        long match = matchBase, lineup = lineupBase, event = eventBase;
+
+        private long max(String table) {
+            Long v = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            return v == null ? 0 : v;
+        }
+
+        // ids were assigned here, so move the H2 identity sequences past them
+        void restartIdentities() {
+            restart("team", team);
+            restart("app_user", user);
+            restart("player", player);
+            restart("formations", formation);
+            restart("season", season);
+            restart("notice", notice);
+            restart("matches", match);
+            restart("lineup", lineup);
+            restart("lineup_slot", slot);
+            restart("lineup_player_stat", stat);
+            restart("match_event", event);
+        }
+
+        private void restart(String table, long last) {
+            jdbc.execute("alter table " + table + " alter column id restart with " + (last + 1));
+        }
+    }
+}
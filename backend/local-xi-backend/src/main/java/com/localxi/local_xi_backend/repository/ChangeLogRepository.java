@@ -0,0 +1,11 @@
+package com.localxi.local_xi_backend.repository;
+
+import com.localxi.local_xi_backend.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+    List<ChangeLogEntry> findByTeamIdAndSeqGreaterThanOrderBySeqAsc(Long teamId, long seq, Pageable page);
+}
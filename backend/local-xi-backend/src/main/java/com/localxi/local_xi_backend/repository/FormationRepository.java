@@ -2,9 +2,15 @@ package com.localxi.local_xi_backend.repository;
 
 import com.localxi.local_xi_backend.model.Formation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface FormationRepository extends JpaRepository<Formation, Long> {
     List<Formation> findAllByTeamId(Long teamId);
+
+    // [count, max(id), sum(version)] - changes on any create, update or delete (see ETags)
+    @Query("select count(f), coalesce(max(f.id), 0), coalesce(sum(f.version), 0) from Formation f where f.teamId = :teamId")
+    Object versionForTeam(@Param("teamId") Long teamId);
 }
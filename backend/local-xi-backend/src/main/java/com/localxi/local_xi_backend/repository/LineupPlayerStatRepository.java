@@ -4,6 +4,9 @@ import com.localxi.local_xi_backend.model.LineupPlayerStat;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.util.Collection;
 
 public interface LineupPlayerStatRepository extends JpaRepository<LineupPlayerStat, Long> {
 
@@ -17,4 +20,25 @@ public interface LineupPlayerStatRepository extends JpaRepository<LineupPlayerSt
         where s.playerId = :playerId
     """)
     Object totalsForPlayer(@Param("playerId") Long playerId);
+
+    @Query("""
+        select
+          coalesce(sum(s.goals), 0),
+          coalesce(sum(s.assists), 0),
+          coalesce(sum(s.yellowCards), 0),
+          coalesce(sum(s.redCards), 0)
+        from LineupPlayerStat s
+        join s.lineup l
+        where s.playerId = :playerId
+          and l.matchId in (select m.id from Match m where m.seasonId = :seasonId)
+    """)
+    Object totalsForPlayerInSeason(@Param("playerId") Long playerId, @Param("seasonId") Long seasonId);
+
+    @Modifying
+    @Query("delete from LineupPlayerStat s where s.lineup.id in (select l.id from Lineup l where l.matchId in :matchIds)")
+    int deleteForMatches(@Param("matchIds") Collection<Long> matchIds);
+
+    @Modifying
+    @Query("delete from LineupPlayerStat s where s.lineup.id in :lineupIds")
+    int deleteForLineups(@Param("lineupIds") Collection<Long> lineupIds);
 }
@@ -1,10 +1,16 @@
 package com.localxi.local_xi_backend.repository;
 
 import com.localxi.local_xi_backend.model.Lineup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,18 +22,149 @@ public interface LineupRepository extends JpaRepository<Lineup, Long> {
     List<Lineup> findAllByMatchIdIn(List<Long> ids);
 
     // ✅ Use this for GET + PUT to avoid lazy issues and to work with existing children
+    // Slots and playerStats are fetched by two queries: joining both in one multiplies the
+    // rows (slots x stats) and duplicates entries in the slots list.
+    @Transactional(readOnly = true)
+    default Optional<Lineup> findByMatchIdWithDetails(Long matchId) {
+        Optional<Lineup> lineup = findByMatchIdWithSlots(matchId);
+        lineup.ifPresent(l -> fetchPlayerStats(List.of(l)));
+        return lineup;
+    }
+
+    @Transactional(readOnly = true)
+    default List<Lineup> findAllByMatchIdInWithDetails(Collection<Long> matchIds) {
+        return withPlayerStats(findAllByMatchIdInWithSlots(matchIds));
+    }
+
     @Query("""
         select distinct l
         from Lineup l
         left join fetch l.slots
-        left join fetch l.playerStats
         where l.matchId = :matchId
     """)
-    Optional<Lineup> findByMatchIdWithDetails(@Param("matchId") Long matchId);
-}
+    Optional<Lineup> findByMatchIdWithSlots(@Param("matchId") Long matchId);
+
+    @Query("""
+        select distinct l
+        from Lineup l
+        left join fetch l.slots
+        where l.matchId in :matchIds
+    """)
+    List<Lineup> findAllByMatchIdInWithSlots(@Param("matchIds") Collection<Long> matchIds);
+
+    // initializes playerStats of lineups already loaded in the current persistence context
+    @Query("""
+        select distinct l
+        from Lineup l
+        left join fetch l.playerStats
+        where l in :lineups
+    """)
+    List<Lineup> fetchPlayerStats(@Param("lineups") Collection<Lineup> lineups);
+
+    private List<Lineup> withPlayerStats(List<Lineup> lineups) {
+        if (!lineups.isEmpty()) fetchPlayerStats(lineups);
+        return lineups;
+    }
+
+    // For writes: locks the row without touching its version, so a request that is then
+    // rejected (412, 400) leaves the version, and every client's ETag, as it was.
+    // (no fetch joins - the lock mode would apply to the unversioned children too)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Lineup l where l.matchId = :matchId")
+    Optional<Lineup> findByMatchIdForUpdate(@Param("matchId") Long matchId);
 
+    // Once a write is accepted: bumps Lineup.version of the lineup already loaded by
+    // findByMatchIdForUpdate, which slot/stat edits alone would not. The pessimistic mode bumps
+    // it right away rather than on commit, so the version seen after a flush is the committed
+    // one (the PUT returns it as its ETag).
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("select l from Lineup l where l.id = :id")
+    Optional<Lineup> incrementVersion(@Param("id") Long id);
 
+    // [id, version] without loading the lineup graph (empty list = no lineup, or not the team's)
+    @Query("""
+        select l.id, l.version from Lineup l
+        where l.matchId = :matchId and l.matchId in (select m.id from Match m where m.teamId = :teamId)
+    """)
+    List<Object[]> versionForMatch(@Param("teamId") Long teamId, @Param("matchId") Long matchId);
+
+    // rows: [matchId, playerId, rating, goals, assists, yellowCards, redCards, kind, id] by match:
+    // filled slots first (kind 0, no goals or cards), then player stats (kind 1), each in id order.
+    // One statement instead of a slot query plus a stat query.
+    @Query(nativeQuery = true, value = """
+        select l.match_id, s.player_id, s.rating, 0, 0, 0, 0, 0 as kind, s.id as row_id
+        from lineup_slot s
+        join lineup l on l.id = s.lineup_id
+        join matches m on m.id = l.match_id
+        where m.team_id = :teamId and s.player_id is not null
+        union all
+        select l.match_id, p.player_id, p.rating, p.goals, p.assists, p.yellow_cards, p.red_cards, 1, p.id
+        from lineup_player_stat p
+        join lineup l on l.id = p.lineup_id
+        join matches m on m.id = l.match_id
+        where m.team_id = :teamId
+        order by 1, 8, 9
+    """)
+    List<Object[]> appearanceRowsForTeam(@Param("teamId") Long teamId);
+
+    @Query(nativeQuery = true, value = """
+        select l.match_id, s.player_id, s.rating, 0, 0, 0, 0, 0 as kind, s.id as row_id
+        from lineup_slot s
+        join lineup l on l.id = s.lineup_id
+        join matches m on m.id = l.match_id
+        where m.team_id = :teamId and l.match_id in (:matchIds) and s.player_id is not null
+        union all
+        select l.match_id, p.player_id, p.rating, p.goals, p.assists, p.yellow_cards, p.red_cards, 1, p.id
+        from lineup_player_stat p
+        join lineup l on l.id = p.lineup_id
+        join matches m on m.id = l.match_id
+        where m.team_id = :teamId and l.match_id in (:matchIds)
+        order by 1, 8, 9
+    """)
+    List<Object[]> appearanceRowsForMatches(@Param("teamId") Long teamId, @Param("matchIds") Collection<Long> matchIds);
+
+    @Query(nativeQuery = true, value = """
+        select l.match_id, s.player_id, s.rating, 0, 0, 0, 0, 0 as kind, s.id as row_id
+        from lineup_slot s
+        join lineup l on l.id = s.lineup_id
+        join matches m on m.id = l.match_id
+        where m.team_id between :fromTeam and :toTeam and s.player_id is not null
+        union all
+        select l.match_id, p.player_id, p.rating, p.goals, p.assists, p.yellow_cards, p.red_cards, 1, p.id
+        from lineup_player_stat p
+        join lineup l on l.id = p.lineup_id
+        join matches m on m.id = l.match_id
+        where m.team_id between :fromTeam and :toTeam
+        order by 1, 8, 9
+    """)
+    List<Object[]> appearanceRowsForTeamRange(@Param("fromTeam") Long fromTeam, @Param("toTeam") Long toTeam);
+
+    // rows: [matchId, formationId] for every lineup of the team
+    @Query("""
+        select l.matchId, l.formationId
+        from Lineup l
+        where l.matchId in (select m.id from Match m where m.teamId = :teamId)
+    """)
+    List<Object[]> formationIdsForTeam(@Param("teamId") Long teamId);
 
+    @Transactional(readOnly = true)
+    default List<Lineup> findAllForSeasonWithDetails(Long teamId, Long seasonId) {
+        return withPlayerStats(findAllForSeasonWithSlots(teamId, seasonId));
+    }
 
+    @Query("""
+        select distinct l
+        from Lineup l
+        left join fetch l.slots
+        where l.matchId in (select m.id from Match m where m.teamId = :teamId and m.seasonId = :seasonId)
+    """)
+    List<Lineup> findAllForSeasonWithSlots(@Param("teamId") Long teamId, @Param("seasonId") Long seasonId);
 
+    @Modifying
+    @Query("delete from Lineup l where l.matchId in :matchIds")
+    int deleteForMatches(@Param("matchIds") Collection<Long> matchIds);
 
+    // lineups whose match no longer exists (left behind by older bulk deletes)
+    @Query("select l.id from Lineup l where not exists (select m.id from Match m where m.id = l.matchId) order by l.id")
+    List<Long> findOrphanIds(Pageable page);
+}
@@ -2,5 +2,19 @@ package com.localxi.local_xi_backend.repository;
 
 import com.localxi.local_xi_backend.model.LineupSlot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
 
-public interface LineupSlotRepository extends JpaRepository<LineupSlot, Long> {}
+import java.util.Collection;
+
+public interface LineupSlotRepository extends JpaRepository<LineupSlot, Long> {
+
+    @Modifying
+    @Query("delete from LineupSlot s where s.lineup.id in (select l.id from Lineup l where l.matchId in :matchIds)")
+    int deleteForMatches(@Param("matchIds") Collection<Long> matchIds);
+
+    @Modifying
+    @Query("delete from LineupSlot s where s.lineup.id in :lineupIds")
+    int deleteForLineups(@Param("lineupIds") Collection<Long> lineupIds);
+}
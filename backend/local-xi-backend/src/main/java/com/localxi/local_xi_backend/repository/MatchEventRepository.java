@@ -2,10 +2,38 @@ package com.localxi.local_xi_backend.repository;
 
 import com.localxi.local_xi_backend.model.MatchEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MatchEventRepository extends JpaRepository<MatchEvent, Long> {
     List<MatchEvent> findByMatchIdOrderByMinuteAscIdAsc(Long matchId);
+    List<MatchEvent> findByMatchIdInOrderByMatchIdAscMinuteAscIdAsc(Collection<Long> matchIds);
     void deleteByMatchId(Long matchId);
-}
\ No newline at end of file
+
+    // [count, max(id)] - events are only ever replaced (new ids), never updated in place.
+    // [0, 0] for another team's match, like an empty one.
+    @Query("""
+        select count(e), coalesce(max(e.id), 0) from MatchEvent e
+        where e.matchId = :matchId and e.matchId in (select m.id from Match m where m.teamId = :teamId)
+    """)
+    Object versionForMatch(@Param("teamId") Long teamId, @Param("matchId") Long matchId);
+
+    @Query("""
+        select e from MatchEvent e
+        where e.matchId in (select m.id from Match m where m.teamId = :teamId and m.seasonId = :seasonId)
+        order by e.matchId, e.minute, e.id
+    """)
+    List<MatchEvent> findAllForSeason(@Param("teamId") Long teamId, @Param("seasonId") Long seasonId);
+
+    @Modifying
+    @Query("delete from MatchEvent e where e.matchId in :matchIds")
+    int deleteForMatches(@Param("matchIds") Collection<Long> matchIds);
+
+    @Query("select e.id from MatchEvent e where not exists (select m.id from Match m where m.id = e.matchId) order by e.id")
+    List<Long> findOrphanIds(Pageable page);
+}
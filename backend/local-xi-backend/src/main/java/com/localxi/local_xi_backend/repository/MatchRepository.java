@@ -1,11 +1,149 @@
 package com.localxi.local_xi_backend.repository;
 
 import com.localxi.local_xi_backend.model.Match;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface MatchRepository extends JpaRepository<Match, Long> {
     List<Match> findAllByTeamId(Long teamId);
-}
 
+    List<Match> findAllByTeamIdAndSeasonId(Long teamId, Long seasonId);
+
+    List<Match> findAllByTeamIdAndSeasonIdIn(Long teamId, Collection<Long> seasonIds);
+
+    // matches outside the given seasons, including those without a season
+    @Query("select m from Match m where m.teamId = :teamId and (m.seasonId is null or m.seasonId not in :seasonIds)")
+    List<Match> findAllByTeamIdExcludingSeasons(@Param("teamId") Long teamId, @Param("seasonIds") Collection<Long> seasonIds);
+
+    // rows: [matchId, seasonId, goalsFor, goalsAgainst, formationId] by match id; formationId is
+    // null for matches without a lineup
+    @Query("""
+        select m.id, m.seasonId, m.goalsFor, m.goalsAgainst, l.formationId
+        from Match m left join Lineup l on l.matchId = m.id
+        where m.teamId = :teamId
+        order by m.id
+    """)
+    List<Object[]> resultColumnsForTeam(@Param("teamId") Long teamId);
+
+    @Query("""
+        select m.id, m.seasonId, m.goalsFor, m.goalsAgainst, l.formationId
+        from Match m left join Lineup l on l.matchId = m.id
+        where m.teamId = :teamId and m.id in :ids
+        order by m.id
+    """)
+    List<Object[]> resultColumnsForMatches(@Param("teamId") Long teamId, @Param("ids") Collection<Long> ids);
+
+    // rows: [teamId, matchId, seasonId, goalsFor, goalsAgainst, formationId] for a range of teams
+    @Query("""
+        select m.teamId, m.id, m.seasonId, m.goalsFor, m.goalsAgainst, l.formationId
+        from Match m left join Lineup l on l.matchId = m.id
+        where m.teamId between :fromTeam and :toTeam
+        order by m.teamId, m.id
+    """)
+    List<Object[]> resultColumnsForTeamRange(@Param("fromTeam") Long fromTeam, @Param("toTeam") Long toTeam);
+
+    // matches whose season assignment changes when a season's range is set to [from, to]
+    @Query("""
+        select m.id from Match m
+        where m.teamId = :teamId
+          and (m.seasonId = :seasonId or (m.date >= :from and m.date <= :to))
+    """)
+    List<Long> findIdsForSeasonRange(@Param("teamId") Long teamId, @Param("seasonId") Long seasonId,
+                                     @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Re-derive season_id for the given matches from the team's seasons. Bumps version so
+    // list ETags change.
+    @Modifying
+    @Query("""
+        update Match m
+        set m.seasonId = (
+              select s.id from Season s
+              where s.teamId = m.teamId and s.startDate <= m.date and s.endDate >= m.date
+            ),
+            m.version = m.version + 1
+        where m.id in :ids
+    """)
+    int reassignSeasons(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages on (date, id), bounded by [from, to]. Callers pass the cursor position
+    // (or from/0 resp. to/Long.MAX_VALUE for the first page) and limit via Pageable.
+    // A match without a date sits at :undated, so it is paged like any other row.
+    @Query("""
+        select m from Match m
+        where m.teamId = :teamId
+          and coalesce(m.date, :undated) <= :to
+          and (coalesce(m.date, :undated) > :afterDate
+               or (coalesce(m.date, :undated) = :afterDate and m.id > :afterId))
+        order by coalesce(m.date, :undated) asc, m.id asc
+    """)
+    List<Match> findPageAsc(@Param("teamId") Long teamId, @Param("undated") LocalDate undated, @Param("to") LocalDate to,
+                            @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId, Pageable page);
+
+    @Query("""
+        select m from Match m
+        where m.teamId = :teamId
+          and coalesce(m.date, :undated) >= :from
+          and (coalesce(m.date, :undated) < :beforeDate
+               or (coalesce(m.date, :undated) = :beforeDate and m.id < :beforeId))
+        order by coalesce(m.date, :undated) desc, m.id desc
+    """)
+    List<Match> findPageDesc(@Param("teamId") Long teamId, @Param("undated") LocalDate undated, @Param("from") LocalDate from,
+                             @Param("beforeDate") LocalDate beforeDate, @Param("beforeId") Long beforeId, Pageable page);
+
+    // [count, max(id), sum(version)] - changes on any create, update or delete (see ETags)
+    @Query("select count(m), coalesce(max(m.id), 0), coalesce(sum(m.version), 0) from Match m where m.teamId = :teamId")
+    Object versionForTeam(@Param("teamId") Long teamId);
+
+    // the subset of ids that belong to the team (bulk operations never trust client ids)
+    @Query("select m.id from Match m where m.teamId = :teamId and m.id in :ids")
+    List<Long> findOwnedIds(@Param("teamId") Long teamId, @Param("ids") Collection<Long> ids);
+
+    // rows: [id, date, seasonId]
+    @Query("select m.id, m.date, m.seasonId from Match m where m.teamId = :teamId")
+    List<Object[]> idsDatesAndSeasonsForTeam(@Param("teamId") Long teamId);
+
+    // Head-to-head per opponent in one pass over idx_matches_team_opponent; key null = every opponent.
+    // kind 0: [0, key, name, 0, played, wins, draws, losses, goalsFor, goalsAgainst] per opponent
+    // kind 1: [1, key, '', playerId, goals, 0...] per opponent and scorer (live stats)
+    // kind 2: [2, key, '', matchId, 0...] per match of an archived season (its stats are in the archive)
+    @Query(nativeQuery = true, value = """
+        select 0 as kind, m.opponent_key, max(m.opponent), 0,
+               sum(case when m.goals_for is not null and m.goals_against is not null then 1 else 0 end),
+               sum(case when m.goals_for > m.goals_against then 1 else 0 end),
+               sum(case when m.goals_for = m.goals_against then 1 else 0 end),
+               sum(case when m.goals_for < m.goals_against then 1 else 0 end),
+               coalesce(sum(m.goals_for), 0), coalesce(sum(m.goals_against), 0)
+        from matches m
+        where m.team_id = :teamId and (:key is null or m.opponent_key = :key)
+        group by m.opponent_key
+        union all
+        select 1, m.opponent_key, '', p.player_id, sum(p.goals), 0, 0, 0, 0, 0
+        from lineup_player_stat p
+        join lineup l on l.id = p.lineup_id
+        join matches m on m.id = l.match_id
+        where m.team_id = :teamId and (:key is null or m.opponent_key = :key) and p.goals > 0
+        group by m.opponent_key, p.player_id
+        union all
+        select 2, m.opponent_key, '', m.id, 0, 0, 0, 0, 0, 0
+        from matches m
+        join season s on s.id = m.season_id
+        where m.team_id = :teamId and (:key is null or m.opponent_key = :key) and s.archived = true
+    """)
+    List<Object[]> headToHeadRows(@Param("teamId") Long teamId, @Param("key") String opponentKey);
+
+    // rows: [id, opponent] of matches saved before opponent_key existed (see OpponentKeyBackfill)
+    @Query("select m.id, m.opponent from Match m where m.opponentKey is null and m.opponent is not null order by m.id")
+    List<Object[]> idsAndOpponentsWithoutKey(Pageable page);
+
+    // by id: comparing on opponent would follow the column collation (case, accents, trailing spaces)
+    @Modifying
+    @Query("update Match m set m.opponentKey = :key where m.id in :ids")
+    int setOpponentKey(@Param("ids") Collection<Long> ids, @Param("key") String key);
+}
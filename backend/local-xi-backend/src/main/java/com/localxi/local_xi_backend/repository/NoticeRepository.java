@@ -2,9 +2,15 @@ package com.localxi.local_xi_backend.repository;
 
 import com.localxi.local_xi_backend.model.Notice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface NoticeRepository extends JpaRepository<Notice, Long> {
     List<Notice> findByTeam_IdOrderByCreatedAtDesc(Long teamId);
+
+    // [count, max(id), sum(version)] - changes on any create, update or delete (see ETags)
+    @Query("select count(n), coalesce(max(n.id), 0), coalesce(sum(n.version), 0) from Notice n where n.team.id = :teamId")
+    Object versionForTeam(@Param("teamId") Long teamId);
 }
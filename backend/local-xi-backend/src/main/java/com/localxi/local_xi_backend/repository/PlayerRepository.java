@@ -2,11 +2,42 @@ package com.localxi.local_xi_backend.repository;
 
 import com.localxi.local_xi_backend.model.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PlayerRepository extends JpaRepository<Player, Long> {
     List<Player> findAllByTeamIdOrderByNumber(Long teamId);
     boolean existsByNumberAndTeamId(int number, Long teamId);
+
+    // [count, max(id), sum(version)] - changes on any create, update or delete (see ETags)
+    @Query("select count(p), coalesce(max(p.id), 0), coalesce(sum(p.version), 0) from Player p where p.teamId = :teamId")
+    Object versionForTeam(@Param("teamId") Long teamId);
+
+    @Query("select p.id from Player p where p.teamId = :teamId and p.id in :ids")
+    List<Long> findOwnedIds(@Param("teamId") Long teamId, @Param("ids") Collection<Long> ids);
+
+    // element collection table - not reachable from JPQL bulk deletes
+    @Modifying
+    @Query(value = "delete from player_positions where player_id in (:ids)", nativeQuery = true)
+    int deletePositions(@Param("ids") Collection<Long> ids);
+
+    // rows: [id, number] - lookups for the bulk importer without loading positions
+    @Query("select p.id, p.number from Player p where p.teamId = :teamId")
+    List<Object[]> idsAndNumbersForTeam(@Param("teamId") Long teamId);
+
+    // rows: [id, teamId, name, number] for a range of teams, without loading positions
+    @Query("select p.id, p.teamId, p.name, p.number from Player p where p.teamId between :fromTeam and :toTeam")
+    List<Object[]> namesForTeamRange(@Param("fromTeam") Long fromTeam, @Param("toTeam") Long toTeam);
+
+    // rows: [playerId, position] for a range of teams
+    @Query(value = """
+            select pp.player_id, pp.position from player_positions pp join player p on p.id = pp.player_id
+            where p.team_id between :fromTeam and :toTeam
+            """, nativeQuery = true)
+    List<Object[]> positionsForTeamRange(@Param("fromTeam") Long fromTeam, @Param("toTeam") Long toTeam);
 }
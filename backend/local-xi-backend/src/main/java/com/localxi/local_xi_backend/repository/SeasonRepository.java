@@ -0,0 +1,59 @@
+package com.localxi.local_xi_backend.repository;
+
+import com.localxi.local_xi_backend.model.Season;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SeasonRepository extends JpaRepository<Season, Long> {
+    List<Season> findAllByTeamIdOrderByStartDateDesc(Long teamId);
+
+    Optional<Season> findByIdAndTeamId(Long id, Long teamId);
+
+    // the season whose [startDate, endDate] contains the date (seasons don't overlap)
+    @Query("""
+        select s from Season s
+        where s.teamId = :teamId and s.startDate <= :date and s.endDate >= :date
+    """)
+    Optional<Season> findCovering(@Param("teamId") Long teamId, @Param("date") LocalDate date);
+
+    // any other season of the team that overlaps [from, to]
+    @Query("""
+        select count(s) > 0 from Season s
+        where s.teamId = :teamId and s.id <> :excludeId
+          and s.startDate <= :to and s.endDate >= :from
+    """)
+    boolean overlaps(@Param("teamId") Long teamId, @Param("from") LocalDate from,
+                     @Param("to") LocalDate to, @Param("excludeId") Long excludeId);
+
+    // seasons that ended before the cutoff and still have their rows in the live tables
+    @Query("select s from Season s where s.archived = false and s.endDate < :cutoff order by s.teamId, s.startDate")
+    List<Season> findArchivable(@Param("cutoff") LocalDate cutoff);
+
+    // rows: [matchId, Season] for the team's matches among matchIds that have a season, the
+    // season rows share-locked until the transaction ends (write guard, see SeasonArchive)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select m.id, s from Match m join Season s on s.id = m.seasonId where m.teamId = :teamId and m.id in :matchIds")
+    List<Object[]> lockSeasonsOfMatches(@Param("teamId") Long teamId, @Param("matchIds") Collection<Long> matchIds);
+
+    // the seasons, share-locked until the transaction ends (write guard, see SeasonArchive)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select s from Season s where s.id in :ids")
+    List<Season> lockAll(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Season s set s.archived = true where s.id in :ids")
+    int markArchived(@Param("ids") Collection<Long> ids);
+
+    // [count, max(id), sum(version)] - changes on any create, update or delete (see ETags)
+    @Query("select count(s), coalesce(max(s.id), 0), coalesce(sum(s.version), 0) from Season s where s.teamId = :teamId")
+    Object versionForTeam(@Param("teamId") Long teamId);
+}
@@ -2,9 +2,25 @@ package com.localxi.local_xi_backend.repository;
 
 import com.localxi.local_xi_backend.model.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
     Optional<Team> findByName(String name);
+
+    // Row lock on the team until commit, so sequence numbers become visible in order.
+    @Modifying
+    @Query("update Team t set t.changeSeq = t.changeSeq + :count where t.id = :teamId")
+    int advanceChangeSeq(@Param("teamId") Long teamId, @Param("count") long count);
+
+    @Query("select t.changeSeq from Team t where t.id = :teamId")
+    Optional<Long> findChangeSeq(@Param("teamId") Long teamId);
+
+    // rows: [id, name] by id
+    @Query("select t.id, t.name from Team t order by t.id")
+    List<Object[]> idsAndNames();
 }
@@ -47,7 +47,8 @@ public class LoginRateLimiter {
         return Math.max(0, s);
     }
 
-    public void recordFailure(String email, String ip) {
+    // true when this failure locked the pair
+    public boolean recordFailure(String email, String ip) {
         String k = key(email, ip);
         Entry e = store.computeIfAbsent(k, _k -> new Entry());
 
@@ -63,13 +64,19 @@ public class LoginRateLimiter {
 
         if (e.fails >= MAX_ATTEMPTS) {
             e.lockedUntil = Instant.now().plusSeconds(LOCK_SECONDS);
+            return e.fails == MAX_ATTEMPTS;
         }
+        return false;
     }
 
     public void recordSuccess(String email, String ip) {
         store.remove(key(email, ip));
     }
 
+    public int size() {
+        return store.size();
+    }
+
     // Optional: cleanup old entries (not required for your demo)
     // You could call this from a scheduled task if you want.
     public void pruneOlderThanSeconds(long seconds) {
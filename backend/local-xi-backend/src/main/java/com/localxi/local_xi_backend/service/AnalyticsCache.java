@@ -0,0 +1,83 @@
+package com.localxi.local_xi_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches computed analytics per team + view + query params.
+ *
+ * Entries are never removed on write: each (team, view) pair has a generation counter
+ * that is part of the key, so bumping it makes older entries unreachable and the
+ * size bound evicts them eventually. No locks on either the read or the write path.
+ */
+@Component
+public class AnalyticsCache {
+
+    public enum View {
+        SEASON_SUMMARY,
+        LEADERBOARD,
+        FORMATIONS,
+        OPPONENTS
+    }
+
+    private record Key(Long teamId, View view, String params, long generation) {}
+
+    private record GenKey(Long teamId, View view) {}
+
+    private final Cache<Key, Object> store;
+    private final Map<GenKey, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public AnalyticsCache(@Value("${app.analytics.cache.maxEntries:5000}") long maxEntries) {
+        this.store = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long teamId, View view, String params, Supplier<T> loader) {
+        Key key = new Key(teamId, view, Objects.toString(params, ""), generation(teamId, view).get());
+        return (T) store.get(key, k -> loader.get());
+    }
+
+    public void invalidate(Long teamId, Set<View> views) {
+        for (View v : views) {
+            generation(teamId, v).incrementAndGet();
+        }
+    }
+
+    // fallbackExecution: some controllers write through repo.save() without an outer transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamDataChanged(TeamDataChangedEvent event) {
+        if (event.getTeamId() == null) return;
+        invalidate(event.getTeamId(), affectedViews(event.getEntityType()));
+    }
+
+    static Set<View> affectedViews(TeamDataChangedEvent.EntityType type) {
+        return switch (type) {
+            // score changes feed every view
+            case MATCH, MATCH_EVENT -> EnumSet.allOf(View.class);
+            // lineup stats carry the goals behind the opponents' top scorers
+            case LINEUP -> EnumSet.of(View.LEADERBOARD, View.FORMATIONS, View.OPPONENTS);
+            // player names / numbers are shown on the leaderboard and as opponents' top scorers
+            case PLAYER -> EnumSet.of(View.LEADERBOARD, View.OPPONENTS);
+            // formation labels are only shown on the comparison
+            case FORMATION -> EnumSet.of(View.FORMATIONS);
+            // season boundary changes re-assign matches, which publishes MATCH as well
+            case NOTICE, SEASON -> EnumSet.noneOf(View.class);
+        };
+    }
+
+    private AtomicLong generation(Long teamId, View view) {
+        return generations.computeIfAbsent(new GenKey(teamId, view), k -> new AtomicLong());
+    }
+}
@@ -0,0 +1,445 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.analytics.PlayerTotals;
+import com.localxi.local_xi_backend.analytics.TeamColumnStore;
+import com.localxi.local_xi_backend.analytics.TeamColumns;
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.archive.SeasonSnapshot;
+import com.localxi.local_xi_backend.model.Formation;
+import com.localxi.local_xi_backend.model.Match;
+import com.localxi.local_xi_backend.model.Player;
+import com.localxi.local_xi_backend.repository.FormationRepository;
+import com.localxi.local_xi_backend.repository.MatchRepository;
+import com.localxi.local_xi_backend.repository.PlayerRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Server-side versions of the Analytics page calculations (season summary,
+ * top performer leaderboard, formation comparison) and the head-to-head record per opponent. Results are cached per team
+ * in AnalyticsCache and invalidated by TeamDataChangedEvent.
+ *
+ * The leaderboard and formation comparison scan the team's columns in TeamColumnStore (which
+ * also covers archived seasons). The season summary reads matches; for archived seasons
+ * (SeasonArchive) its totals come from the snapshot's season headers.
+ */
+@Service
+public class AnalyticsService {
+
+    private final AnalyticsCache cache;
+    private final MatchRepository matchRepo;
+    private final PlayerRepository playerRepo;
+    private final FormationRepository formationRepo;
+    private final TeamColumnStore columns;
+    private final SeasonArchive archive;
+
+    public AnalyticsService(AnalyticsCache cache, MatchRepository matchRepo, PlayerRepository playerRepo,
+                            FormationRepository formationRepo, TeamColumnStore columns, SeasonArchive archive) {
+        this.cache = cache;
+        this.matchRepo = matchRepo;
+        this.playerRepo = playerRepo;
+        this.formationRepo = formationRepo;
+        this.columns = columns;
+        this.archive = archive;
+    }
+
+    // ---------- season summary ----------
+
+    public static class FormEntry {
+        public Long matchId;
+        public LocalDate date;
+        public String opponent;
+        public boolean home;
+        public Integer goalsFor;
+        public Integer goalsAgainst;
+        public String result;
+    }
+
+    public static class SeasonSummary {
+        public int played;
+        public int wins;
+        public int draws;
+        public int losses;
+        public int gf;
+        public int ga;
+        public int gd;
+        public int points;
+        public List<FormEntry> recentForm = new ArrayList<>();
+    }
+
+    // seasonId == null means the team's whole history
+    public SeasonSummary seasonSummary(Long teamId, Long seasonId, int recent) {
+        return cache.get(teamId, AnalyticsCache.View.SEASON_SUMMARY, "season=" + seasonId + "&recent=" + recent,
+                () -> computeSeasonSummary(teamId, seasonId, recent));
+    }
+
+    private SeasonSummary computeSeasonSummary(Long teamId, Long seasonId, int recent) {
+        Set<Long> archived = archive.archivedSeasonIds(teamId);
+        if (!archived.isEmpty() && (seasonId == null || archived.contains(seasonId))) {
+            return archivedSeasonSummary(teamId, seasonId, archived, recent);
+        }
+
+        List<Match> results = new ArrayList<>();
+        for (Match m : matches(teamId, seasonId)) {
+            if (isResult(m)) results.add(m);
+        }
+        SeasonSummary out = new SeasonSummary();
+        addResults(out, results, recent);
+        return out;
+    }
+
+    // Archived totals come from the snapshot headers, so only live matches are loaded (plus
+    // archived ones when recent form needs more results than the live seasons have).
+    private SeasonSummary archivedSeasonSummary(Long teamId, Long seasonId, Set<Long> archived, int recent) {
+        SeasonSummary out = new SeasonSummary();
+        for (Long id : seasonId == null ? archived : Set.of(seasonId)) {
+            SeasonSnapshot.Totals t = archive.totals(teamId, id);
+            out.played += t.played();
+            out.wins += t.wins();
+            out.draws += t.draws();
+            out.losses += t.losses();
+            out.gf += t.gf();
+            out.ga += t.ga();
+        }
+
+        List<Match> live = new ArrayList<>();
+        if (seasonId == null) {
+            for (Match m : matchRepo.findAllByTeamIdExcludingSeasons(teamId, archived)) {
+                if (isResult(m)) live.add(m);
+            }
+        }
+        addResults(out, live, recent);
+
+        if (out.recentForm.size() < recent) {
+            List<Match> older = new ArrayList<>();
+            for (Match m : seasonId == null
+                    ? matchRepo.findAllByTeamIdAndSeasonIdIn(teamId, archived)
+                    : matchRepo.findAllByTeamIdAndSeasonId(teamId, seasonId)) {
+                if (isResult(m)) older.add(m);
+            }
+            older.sort(NEWEST_FIRST);
+            for (Match m : older.subList(0, Math.min(recent - out.recentForm.size(), older.size()))) {
+                out.recentForm.add(formEntry(m));
+            }
+        }
+        return out;
+    }
+
+    // adds the results to the totals and fills recent form from them (newest first)
+    private void addResults(SeasonSummary out, List<Match> results, int recent) {
+        results.sort(NEWEST_FIRST);
+
+        for (Match m : results) {
+            out.played++;
+            out.gf += m.getGoalsFor();
+            out.ga += m.getGoalsAgainst();
+            switch (resultOf(m)) {
+                case "W" -> out.wins++;
+                case "D" -> out.draws++;
+                default -> out.losses++;
+            }
+        }
+        out.gd = out.gf - out.ga;
+        out.points = out.wins * 3 + out.draws;
+
+        for (Match m : results.subList(0, Math.min(Math.max(0, recent), results.size()))) {
+            out.recentForm.add(formEntry(m));
+        }
+    }
+
+    private static FormEntry formEntry(Match m) {
+        FormEntry f = new FormEntry();
+        f.matchId = m.getId();
+        f.date = m.getDate();
+        f.opponent = m.getOpponent();
+        f.home = m.isHome();
+        f.goalsFor = m.getGoalsFor();
+        f.goalsAgainst = m.getGoalsAgainst();
+        f.result = resultOf(m);
+        return f;
+    }
+
+    // ---------- top performer leaderboard ----------
+
+    public static class LeaderboardRow {
+        public Long playerId;
+        public String name;
+        public int number;
+        public int appearances;
+        public int goals;
+        public int assists;
+        public int yellowCards;
+        public int redCards;
+        public double totalRating;
+        public int ratingCount;
+        public Double avgRating;
+        public int potm;
+    }
+
+    public static final Set<String> LEADERBOARD_SORTS =
+            Set.of("goals", "assists", "potm", "yellowCards", "redCards", "avgRating", "ratingCount", "appearances");
+
+    // minApps drops players with fewer appearances; limit <= 0 returns every row
+    public List<LeaderboardRow> leaderboard(Long teamId, Long seasonId, String sort, int minApps, int limit) {
+        String key = LEADERBOARD_SORTS.contains(sort) ? sort : "goals";
+        return cache.get(teamId, AnalyticsCache.View.LEADERBOARD,
+                "season=" + seasonId + "&sort=" + key + "&minApps=" + minApps + "&limit=" + limit,
+                () -> computeLeaderboard(teamId, seasonId, key, minApps, limit));
+    }
+
+    private List<LeaderboardRow> computeLeaderboard(Long teamId, Long seasonId, String sort, int minApps, int limit) {
+        TeamColumns c = columns.get(teamId);
+        Player[] roster = roster(teamId, c);
+        boolean[] onRoster = new boolean[roster.length];
+        for (int p = 0; p < roster.length; p++) onRoster[p] = roster[p] != null;
+
+        PlayerTotals t = PlayerTotals.of(c, seasonId, onRoster);
+        List<LeaderboardRow> out = new ArrayList<>(t.count());
+        for (int i = 0; i < t.count(); i++) {
+            int p = t.player(i);
+            if (t.appearances[p] < minApps) continue;
+
+            LeaderboardRow row = new LeaderboardRow();
+            row.playerId = roster[p].getId();
+            row.name = roster[p].getName();
+            row.number = roster[p].getNumber();
+            row.appearances = t.appearances[p];
+            row.goals = t.goals[p];
+            row.assists = t.assists[p];
+            row.yellowCards = t.yellowCards[p];
+            row.redCards = t.redCards[p];
+            row.totalRating = t.totalRating[p];
+            row.ratingCount = t.ratingCount[p];
+            row.avgRating = t.avgRating(p);
+            row.potm = t.potm[p];
+            out.add(row);
+        }
+        out.sort(leaderboardOrder(sort));
+        return limit > 0 && out.size() > limit ? new ArrayList<>(out.subList(0, limit)) : out;
+    }
+
+    // the team's current players by column player index; null for players no longer on the roster
+    private Player[] roster(Long teamId, TeamColumns c) {
+        Map<Long, Player> players = new HashMap<>();
+        for (Player p : playerRepo.findAllByTeamIdOrderByNumber(teamId)) {
+            players.put(p.getId(), p);
+        }
+        Player[] out = new Player[c.playerCount()];
+        for (int p = 0; p < out.length; p++) {
+            out[p] = players.get(c.playerId(p));
+        }
+        return out;
+    }
+
+    private Comparator<LeaderboardRow> leaderboardOrder(String sort) {
+        Comparator<LeaderboardRow> c = switch (sort) {
+            case "assists" -> Comparator.comparingInt(r -> r.assists);
+            case "potm" -> Comparator.comparingInt(r -> r.potm);
+            case "yellowCards" -> Comparator.comparingInt(r -> r.yellowCards);
+            case "redCards" -> Comparator.comparingInt(r -> r.redCards);
+            case "ratingCount" -> Comparator.comparingInt(r -> r.ratingCount);
+            case "appearances" -> Comparator.comparingInt(r -> r.appearances);
+            case "avgRating" -> Comparator.comparingDouble(r -> r.avgRating == null ? -1 : r.avgRating);
+            default -> Comparator.comparingInt(r -> r.goals);
+        };
+        return c.reversed();
+    }
+
+    // ---------- formation comparison ----------
+
+    public static class FormationRow {
+        public Long formationId;
+        public String formationLabel;
+        public int matches;
+        public int wins;
+        public int draws;
+        public int losses;
+        public int points;
+        public double ppg;
+        public int gf;
+        public int ga;
+        public int gd;
+        public double avgGF;
+        public double avgGA;
+        public double avgGD;
+        public Double avgTeamRating;
+    }
+
+    public List<FormationRow> formationComparison(Long teamId, Long seasonId) {
+        return cache.get(teamId, AnalyticsCache.View.FORMATIONS, "season=" + seasonId,
+                () -> computeFormationComparison(teamId, seasonId));
+    }
+
+    private List<FormationRow> computeFormationComparison(Long teamId, Long seasonId) {
+        TeamColumns c = columns.get(teamId);
+
+        Map<Long, FormationRow> rows = new LinkedHashMap<>();
+        Map<Long, double[]> teamRatings = new HashMap<>();
+
+        for (int m = 0; m < c.matchCount(); m++) {
+            if (!c.inSeason(m, seasonId) || !c.hasResult(m) || c.formationId(m) == TeamColumns.NONE) continue;
+            FormationRow row = rows.computeIfAbsent(c.formationId(m), id -> {
+                FormationRow fr = new FormationRow();
+                fr.formationId = id;
+                return fr;
+            });
+
+            int gf = c.goalsFor(m);
+            int ga = c.goalsAgainst(m);
+            row.matches++;
+            if (gf > ga) { row.wins++; row.points += 3; }
+            else if (gf == ga) { row.draws++; row.points += 1; }
+            else row.losses++;
+            row.gf += gf;
+            row.ga += ga;
+
+            // average slot rating of the match, when at least one slot is rated
+            if (c.slotRatingCount(m) > 0) {
+                double[] acc = teamRatings.computeIfAbsent(row.formationId, k -> new double[2]);
+                acc[0] += c.slotRatingSum(m) / c.slotRatingCount(m);
+                acc[1] += 1;
+            }
+        }
+        if (rows.isEmpty()) return List.of();
+
+        Map<Long, String> labels = new HashMap<>();
+        for (Formation f : formationRepo.findAllByTeamId(teamId)) {
+            labels.put(f.getId(), f.getName() + " (" + f.getShape() + ")");
+        }
+
+        List<FormationRow> out = new ArrayList<>(rows.values());
+        for (FormationRow row : out) {
+            row.formationLabel = labels.getOrDefault(row.formationId, "Formation #" + row.formationId);
+            row.gd = row.gf - row.ga;
+            row.ppg = safeDiv(row.points, row.matches);
+            row.avgGF = safeDiv(row.gf, row.matches);
+            row.avgGA = safeDiv(row.ga, row.matches);
+            row.avgGD = safeDiv(row.gd, row.matches);
+
+            double[] acc = teamRatings.get(row.formationId);
+            row.avgTeamRating = acc != null ? acc[0] / acc[1] : null;
+        }
+        out.sort(Comparator.comparingDouble((FormationRow r) -> r.ppg).reversed());
+        return out;
+    }
+
+    // ---------- head-to-head by opponent ----------
+
+    public static class Scorer {
+        public Long playerId;
+        public String name;
+        public int number;
+        public int goals;
+    }
+
+    public static class OpponentRecord {
+        public String opponent;
+        public int played;
+        public int wins;
+        public int draws;
+        public int losses;
+        public int goalsFor;
+        public int goalsAgainst;
+        public int goalDifference;
+        public List<Scorer> topScorers = new ArrayList<>();
+    }
+
+    public static final int TOP_SCORERS = 3;
+
+    // opponent null = every opponent; matched on Match.opponentKey
+    public List<OpponentRecord> opponents(Long teamId, String opponent) {
+        String key = Match.opponentKey(opponent);
+        return cache.get(teamId, AnalyticsCache.View.OPPONENTS, key, () -> computeOpponents(teamId, key));
+    }
+
+    private List<OpponentRecord> computeOpponents(Long teamId, String key) {
+        Map<String, OpponentRecord> records = new HashMap<>();
+        // opponent key -> player id -> goals
+        Map<String, Map<Long, Integer>> goals = new HashMap<>();
+        Map<Long, String> archivedMatches = new HashMap<>();
+        for (Object[] r : matchRepo.headToHeadRows(teamId, key)) {
+            String opponentKey = (String) r[1];
+            switch (((Number) r[0]).intValue()) {
+                case 0 -> {
+                    OpponentRecord o = new OpponentRecord();
+                    o.opponent = (String) r[2];
+                    o.played = ((Number) r[4]).intValue();
+                    o.wins = ((Number) r[5]).intValue();
+                    o.draws = ((Number) r[6]).intValue();
+                    o.losses = ((Number) r[7]).intValue();
+                    o.goalsFor = ((Number) r[8]).intValue();
+                    o.goalsAgainst = ((Number) r[9]).intValue();
+                    o.goalDifference = o.goalsFor - o.goalsAgainst;
+                    records.put(opponentKey, o);
+                }
+                case 1 -> goals.computeIfAbsent(opponentKey, k -> new HashMap<>())
+                        .merge(((Number) r[3]).longValue(), ((Number) r[4]).intValue(), Integer::sum);
+                default -> archivedMatches.put(((Number) r[3]).longValue(), opponentKey);
+            }
+        }
+        if (!archivedMatches.isEmpty()) {
+            for (Object[] r : archive.statRows(teamId, null)) {
+                String opponentKey = archivedMatches.get((Long) r[0]);
+                Integer g = (Integer) r[2];
+                if (opponentKey == null || g == null || g <= 0) continue;
+                goals.computeIfAbsent(opponentKey, k -> new HashMap<>()).merge((Long) r[1], g, Integer::sum);
+            }
+        }
+
+        // scorers still on the roster, as on the leaderboard
+        Map<Long, Player> roster = new HashMap<>();
+        if (!goals.isEmpty()) {
+            for (Player p : playerRepo.findAllByTeamIdOrderByNumber(teamId)) roster.put(p.getId(), p);
+        }
+        for (Map.Entry<String, Map<Long, Integer>> e : goals.entrySet()) {
+            OpponentRecord o = records.get(e.getKey());
+            if (o == null) continue;
+            e.getValue().entrySet().stream()
+                    .filter(g -> roster.containsKey(g.getKey()))
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(TOP_SCORERS)
+                    .forEach(g -> {
+                        Player p = roster.get(g.getKey());
+                        Scorer sc = new Scorer();
+                        sc.playerId = p.getId();
+                        sc.name = p.getName();
+                        sc.number = p.getNumber();
+                        sc.goals = g.getValue();
+                        o.topScorers.add(sc);
+                    });
+        }
+
+        List<OpponentRecord> out = new ArrayList<>(records.values());
+        out.sort(Comparator.comparingInt((OpponentRecord o) -> o.played).reversed()
+                .thenComparing(o -> o.opponent, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return out;
+    }
+
+    // ---------- helpers ----------
+
+    // season-scoped variants go through idx_matches_team_season_date, so past seasons aren't read
+    private List<Match> matches(Long teamId, Long seasonId) {
+        return seasonId == null ? matchRepo.findAllByTeamId(teamId) : matchRepo.findAllByTeamIdAndSeasonId(teamId, seasonId);
+    }
+
+    private static final Comparator<Match> NEWEST_FIRST =
+            Comparator.comparing(Match::getDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private static boolean isResult(Match m) {
+        return m.getGoalsFor() != null && m.getGoalsAgainst() != null;
+    }
+
+    private static String resultOf(Match m) {
+        int gf = m.getGoalsFor();
+        int ga = m.getGoalsAgainst();
+        if (gf > ga) return "W";
+        if (gf == ga) return "D";
+        return "L";
+    }
+
+    private static double safeDiv(double n, double d) {
+        return d == 0 ? 0 : n / d;
+    }
+}
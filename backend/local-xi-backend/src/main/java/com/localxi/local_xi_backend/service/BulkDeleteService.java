@@ -0,0 +1,94 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.repository.*;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based deletes: a fixed number of DELETE ... WHERE ... IN statements per call,
+ * however many ids are passed, instead of loading and removing entities one by one.
+ * Client ids are first narrowed to the caller's team.
+ */
+@Service
+public class BulkDeleteService {
+
+    private final MatchRepository matchRepo;
+    private final LineupRepository lineupRepo;
+    private final LineupSlotRepository slotRepo;
+    private final LineupPlayerStatRepository statRepo;
+    private final MatchEventRepository eventRepo;
+    private final PlayerRepository playerRepo;
+    private final ApplicationEventPublisher publisher;
+    private final SeasonArchive archive;
+
+    public BulkDeleteService(MatchRepository matchRepo, LineupRepository lineupRepo, LineupSlotRepository slotRepo,
+                             LineupPlayerStatRepository statRepo, MatchEventRepository eventRepo,
+                             PlayerRepository playerRepo, ApplicationEventPublisher publisher, SeasonArchive archive) {
+        this.matchRepo = matchRepo;
+        this.lineupRepo = lineupRepo;
+        this.slotRepo = slotRepo;
+        this.statRepo = statRepo;
+        this.eventRepo = eventRepo;
+        this.playerRepo = playerRepo;
+        this.publisher = publisher;
+        this.archive = archive;
+    }
+
+    // deleted: the ids removed; archived: the ids that stopped the call (then nothing was removed)
+    public record MatchDeletes(List<Long> deleted, List<Long> archived) {}
+
+    /**
+     * Deletes the team's matches among {@code ids} together with their lineups (slots and
+     * stats included) and events. Seven statements: the team's ids, a lock on their seasons,
+     * then five deletes, children first so no FK is violated. If any of the matches belongs
+     * to an archived season (its rows live in the season snapshot) nothing is deleted and
+     * those ids are returned as archived.
+     */
+    @Transactional
+    public MatchDeletes deleteMatches(Long teamId, Collection<Long> ids) {
+        List<Long> owned = matchRepo.findOwnedIds(teamId, ids);
+        Set<Long> archived = archive.archivedMatchIds(teamId, owned);
+        if (!archived.isEmpty()) return new MatchDeletes(List.of(), archived.stream().sorted().toList());
+        if (owned.isEmpty()) return new MatchDeletes(owned, List.of());
+
+        slotRepo.deleteForMatches(owned);
+        statRepo.deleteForMatches(owned);
+        lineupRepo.deleteForMatches(owned);
+        eventRepo.deleteForMatches(owned);
+        matchRepo.deleteAllByIdInBatch(owned);
+
+        // lineups and events are keyed by matchId, so sync clients drop them too
+        publish(teamId, TeamDataChangedEvent.EntityType.MATCH, owned);
+        publish(teamId, TeamDataChangedEvent.EntityType.LINEUP, owned);
+        publish(teamId, TeamDataChangedEvent.EntityType.MATCH_EVENT, owned);
+        return new MatchDeletes(owned, List.of());
+    }
+
+    /**
+     * Deletes the team's players among {@code ids}. Three statements. Historical lineup
+     * and event rows keep their player ids; the analytics views already skip players
+     * that no longer exist.
+     */
+    @Transactional
+    public List<Long> deletePlayers(Long teamId, Collection<Long> ids) {
+        List<Long> owned = playerRepo.findOwnedIds(teamId, ids);
+        if (owned.isEmpty()) return owned;
+
+        playerRepo.deletePositions(owned);
+        playerRepo.deleteAllByIdInBatch(owned);
+
+        publish(teamId, TeamDataChangedEvent.EntityType.PLAYER, owned);
+        return owned;
+    }
+
+    private void publish(Long teamId, TeamDataChangedEvent.EntityType type, List<Long> ids) {
+        publisher.publishEvent(new TeamDataChangedEvent(teamId, type, TeamDataChangedEvent.Operation.DELETED, ids));
+    }
+}
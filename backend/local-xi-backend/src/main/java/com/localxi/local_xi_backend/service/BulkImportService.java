@@ -0,0 +1,583 @@
+package com.localxi.local_xi_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.model.Match;
+import com.localxi.local_xi_backend.model.MatchEvent;
+import com.localxi.local_xi_backend.model.Season;
+import com.localxi.local_xi_backend.repository.MatchRepository;
+import com.localxi.local_xi_backend.repository.PlayerRepository;
+import com.localxi.local_xi_backend.repository.SeasonRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Bulk import of players, matches or match events from NDJSON or CSV.
+ *
+ * The body is read line by line. Each row is validated against lookups loaded once per
+ * import (shirt numbers, player / match ids, seasons), so there are no per-row queries.
+ * Valid rows are buffered and written in JDBC batches, one transaction per chunk.
+ * Invalid rows are skipped and reported with their line number.
+ *
+ * Rows for archived seasons are rejected like in the controllers. Should a season be archived
+ * while an import runs, the chunk that would write into it fails as a whole (the write
+ * re-checks Season.archived under a lock).
+ *
+ * CSV: the first line is the header, quoted fields are supported but not embedded line
+ * breaks, and list fields (player positions) are separated by '|'.
+ */
+@Service
+public class BulkImportService {
+
+    public enum Kind { PLAYERS, MATCHES, EVENTS }
+
+    public enum Format { NDJSON, CSV }
+
+    public static class LineError {
+        public int line;
+        public String message;
+
+        LineError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+
+    public static class ImportResult {
+        public boolean dryRun;
+        public int imported;
+        public int rejected;
+        // only the first MAX_ERRORS are listed
+        public List<LineError> errors = new ArrayList<>();
+        public boolean errorsTruncated;
+    }
+
+    private static final int MAX_ERRORS = 1000;
+    private static final String ARCHIVED = "Matches of archived seasons can't be changed";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher publisher;
+    private final ObjectMapper mapper;
+    private final PlayerRepository playerRepo;
+    private final MatchRepository matchRepo;
+    private final SeasonRepository seasonRepo;
+    private final SeasonArchive archive;
+    private final int chunkSize;
+
+    public BulkImportService(JdbcTemplate jdbc, PlatformTransactionManager txManager,
+                             ApplicationEventPublisher publisher, ObjectMapper mapper,
+                             PlayerRepository playerRepo, MatchRepository matchRepo, SeasonRepository seasonRepo,
+                             SeasonArchive archive,
+                             @Value("${app.import.chunkSize:500}") int chunkSize) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.publisher = publisher;
+        this.mapper = mapper;
+        this.playerRepo = playerRepo;
+        this.matchRepo = matchRepo;
+        this.seasonRepo = seasonRepo;
+        this.archive = archive;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importRows(Long teamId, Kind kind, Format format, InputStream body, boolean dryRun)
+            throws IOException {
+        Sink<?> sink = switch (kind) {
+            case PLAYERS -> new PlayerSink(teamId);
+            case MATCHES -> new MatchSink(teamId);
+            case EVENTS -> new EventSink(teamId);
+        };
+
+        ImportResult result = new ImportResult();
+        result.dryRun = dryRun;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<String> header = null;
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+
+            Row row;
+            try {
+                if (format == Format.CSV) {
+                    if (header == null) {
+                        header = parseCsvLine(line);
+                        continue;
+                    }
+                    row = csvRow(header, parseCsvLine(line));
+                } else {
+                    row = jsonRow(mapper.readTree(line));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                reject(result, lineNo, "Malformed " + format.name().toLowerCase() + " line");
+                continue;
+            }
+
+            try {
+                sink.accept(lineNo, row);
+                result.imported++;
+            } catch (IllegalArgumentException e) {
+                reject(result, lineNo, e.getMessage());
+                continue;
+            }
+
+            if (sink.pending.size() >= chunkSize) flush(sink, result, dryRun);
+        }
+        flush(sink, result, dryRun);
+        return result;
+    }
+
+    // writes (or, on a dry run, drops) the buffered rows; a failed chunk is reported per line
+    private void flush(Sink<?> sink, ImportResult result, boolean dryRun) {
+        if (sink.pending.isEmpty()) return;
+        if (!dryRun) {
+            try {
+                tx.executeWithoutResult(status -> sink.write());
+            } catch (DataAccessException e) {
+                for (int line : sink.lines) {
+                    result.imported--;
+                    reject(result, line, "Could not be saved: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        sink.pending.clear();
+        sink.lines.clear();
+    }
+
+    private static void reject(ImportResult result, int line, String message) {
+        result.rejected++;
+        if (result.errors.size() < MAX_ERRORS) result.errors.add(new LineError(line, message));
+        else result.errorsTruncated = true;
+    }
+
+    // ---------- sinks: per-kind validation and batched writes ----------
+
+    private abstract static class Sink<T> {
+        final List<T> pending = new ArrayList<>();
+        final List<Integer> lines = new ArrayList<>();
+
+        // validates and buffers the row; IllegalArgumentException carries the line error
+        abstract void accept(int line, Row row);
+
+        // runs inside the chunk transaction
+        abstract void write();
+
+        void add(int line, T value) {
+            pending.add(value);
+            lines.add(line);
+        }
+    }
+
+    private record NewPlayer(String name, int number, List<String> positions) {}
+
+    // fields: name, number, positions
+    private class PlayerSink extends Sink<NewPlayer> {
+        private final Long teamId;
+        private final Set<Integer> numbers = new HashSet<>();
+
+        PlayerSink(Long teamId) {
+            this.teamId = teamId;
+            for (Object[] r : playerRepo.idsAndNumbersForTeam(teamId)) numbers.add((Integer) r[1]);
+        }
+
+        @Override
+        void accept(int line, Row row) {
+            String name = row.text("name");
+            if (name == null) throw new IllegalArgumentException("name is required");
+            List<String> positions = row.list("positions");
+            if (positions.isEmpty()) throw new IllegalArgumentException("positions are required");
+            Integer number = intOf(row, "number");
+            if (number == null || number < 1 || number > 99) throw new IllegalArgumentException("number must be 1–99");
+            // also catches duplicates within the file
+            if (!numbers.add(number)) throw new IllegalArgumentException("shirt number already exists: " + number);
+
+            add(line, new NewPlayer(name, number, positions));
+        }
+
+        @Override
+        void write() {
+            List<Long> ids = insertReturningIds(
+                    "insert into player (name, number, team_id, version) values (?, ?, ?, 0)",
+                    pending.size(), (ps, i) -> {
+                        NewPlayer p = pending.get(i);
+                        ps.setString(1, p.name());
+                        ps.setInt(2, p.number());
+                        ps.setLong(3, teamId);
+                    });
+
+            List<Object[]> positions = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                for (String pos : pending.get(i).positions()) positions.add(new Object[] {ids.get(i), pos});
+            }
+            jdbc.batchUpdate("insert into player_positions (player_id, position) values (?, ?)", positions);
+
+            publisher.publishEvent(new TeamDataChangedEvent(
+                    teamId, TeamDataChangedEvent.EntityType.PLAYER, TeamDataChangedEvent.Operation.CREATED, ids));
+        }
+    }
+
+    private record NewMatch(LocalDate date, String opponent, boolean home, Integer goalsFor, Integer goalsAgainst,
+                            Long seasonId) {}
+
+    // fields: date, opponent, home, goalsFor, goalsAgainst (season is derived from date)
+    private class MatchSink extends Sink<NewMatch> {
+        private final Long teamId;
+        private final List<Season> seasons;
+
+        MatchSink(Long teamId) {
+            this.teamId = teamId;
+            this.seasons = seasonRepo.findAllByTeamIdOrderByStartDateDesc(teamId);
+        }
+
+        @Override
+        void accept(int line, Row row) {
+            LocalDate date = dateOf(row, "date");
+            if (date == null) throw new IllegalArgumentException("Date is required");
+            String opponent = row.text("opponent");
+            if (opponent == null) throw new IllegalArgumentException("Opponent is required");
+            Integer goalsFor = intOf(row, "goalsFor");
+            if (goalsFor != null && goalsFor < 0) throw new IllegalArgumentException("Goals For must be 0 or more");
+            Integer goalsAgainst = intOf(row, "goalsAgainst");
+            if (goalsAgainst != null && goalsAgainst < 0) throw new IllegalArgumentException("Goals Against must be 0 or more");
+
+            Season season = null;
+            for (Season s : seasons) {
+                if (s.covers(date)) season = s;
+            }
+            if (season != null && season.isArchived()) throw new IllegalArgumentException(ARCHIVED);
+            add(line, new NewMatch(date, opponent, boolOf(row, "home"), goalsFor, goalsAgainst,
+                    season == null ? null : season.getId()));
+        }
+
+        @Override
+        void write() {
+            Set<Long> seasonIds = new HashSet<>();
+            for (NewMatch m : pending) {
+                if (m.seasonId() != null) seasonIds.add(m.seasonId());
+            }
+            if (!seasonIds.isEmpty() && seasonRepo.lockAll(seasonIds).stream().anyMatch(Season::isArchived)) {
+                throw new ConcurrencyFailureException(ARCHIVED);
+            }
+
+            List<Long> ids = insertReturningIds("""
+                    insert into matches (date, opponent, opponent_key, home, goals_for, goals_against, team_id, season_id, version)
+                    values (?, ?, ?, ?, ?, ?, ?, ?, 0)
+                    """,
+                    pending.size(), (ps, i) -> {
+                        NewMatch m = pending.get(i);
+                        ps.setObject(1, m.date());
+                        ps.setString(2, m.opponent());
+                        ps.setString(3, Match.opponentKey(m.opponent()));
+                        ps.setBoolean(4, m.home());
+                        ps.setObject(5, m.goalsFor(), Types.INTEGER);
+                        ps.setObject(6, m.goalsAgainst(), Types.INTEGER);
+                        ps.setLong(7, teamId);
+                        ps.setObject(8, m.seasonId(), Types.BIGINT);
+                    });
+
+            publisher.publishEvent(new TeamDataChangedEvent(
+                    teamId, TeamDataChangedEvent.EntityType.MATCH, TeamDataChangedEvent.Operation.CREATED, ids));
+        }
+    }
+
+    // Fields: matchId or matchDate, minute, type, playerId or playerNumber,
+    // relatedPlayerId or relatedPlayerNumber, note. Events are appended to the match.
+    private class EventSink extends Sink<MatchEvent> {
+        private static final Long AMBIGUOUS = -1L;
+
+        private final Long teamId;
+        private final Set<Long> playerIds = new HashSet<>();
+        private final Map<Integer, Long> playersByNumber = new HashMap<>();
+        private final Set<Long> matchIds = new HashSet<>();
+        private final Set<Long> archivedMatchIds = new HashSet<>();
+        private final Map<LocalDate, Long> matchesByDate = new HashMap<>();
+
+        EventSink(Long teamId) {
+            this.teamId = teamId;
+            for (Object[] r : playerRepo.idsAndNumbersForTeam(teamId)) {
+                playerIds.add((Long) r[0]);
+                playersByNumber.put((Integer) r[1], (Long) r[0]);
+            }
+            Set<Long> archivedSeasons = new HashSet<>();
+            for (Season s : seasonRepo.findAllByTeamIdOrderByStartDateDesc(teamId)) {
+                if (s.isArchived()) archivedSeasons.add(s.getId());
+            }
+            for (Object[] r : matchRepo.idsDatesAndSeasonsForTeam(teamId)) {
+                matchIds.add((Long) r[0]);
+                if (archivedSeasons.contains((Long) r[2])) archivedMatchIds.add((Long) r[0]);
+                matchesByDate.merge((LocalDate) r[1], (Long) r[0], (a, b) -> AMBIGUOUS);
+            }
+        }
+
+        @Override
+        void accept(int line, Row row) {
+            MatchEvent e = new MatchEvent();
+            e.setMatchId(matchRef(row));
+            if (archivedMatchIds.contains(e.getMatchId())) throw new IllegalArgumentException(ARCHIVED);
+            e.setMinute(intOf(row, "minute"));
+            String type = row.text("type");
+            if (type != null) {
+                try {
+                    e.setType(MatchEvent.EventType.valueOf(type.toUpperCase()));
+                } catch (IllegalArgumentException ex) {
+                    throw new IllegalArgumentException("Unknown event type: " + type);
+                }
+            }
+            e.setPlayerId(playerRef(row, "playerId", "playerNumber"));
+            e.setRelatedPlayerId(playerRef(row, "relatedPlayerId", "relatedPlayerNumber"));
+            e.setNote(row.text("note"));
+
+            String msg = MatchEventRules.validate(e);
+            if (!msg.isEmpty()) throw new IllegalArgumentException(msg);
+            add(line, e);
+        }
+
+        private Long matchRef(Row row) {
+            Long id = longOf(row, "matchId");
+            if (id != null) {
+                if (!matchIds.contains(id)) throw new IllegalArgumentException("Match not found: " + id);
+                return id;
+            }
+            LocalDate date = dateOf(row, "matchDate");
+            if (date == null) throw new IllegalArgumentException("matchId or matchDate is required");
+            Long byDate = matchesByDate.get(date);
+            if (byDate == null) throw new IllegalArgumentException("No match on " + date);
+            if (byDate.equals(AMBIGUOUS)) throw new IllegalArgumentException("Several matches on " + date + ", use matchId");
+            return byDate;
+        }
+
+        private Long playerRef(Row row, String idField, String numberField) {
+            Long id = longOf(row, idField);
+            if (id != null) {
+                if (!playerIds.contains(id)) throw new IllegalArgumentException("Player not found: " + id);
+                return id;
+            }
+            Integer number = intOf(row, numberField);
+            if (number == null) return null;
+            Long byNumber = playersByNumber.get(number);
+            if (byNumber == null) throw new IllegalArgumentException("No player with number " + number);
+            return byNumber;
+        }
+
+        @Override
+        void write() {
+            Set<Long> touched = new LinkedHashSet<>();
+            for (MatchEvent e : pending) touched.add(e.getMatchId());
+            if (!archive.archivedMatchIds(teamId, touched).isEmpty()) throw new ConcurrencyFailureException(ARCHIVED);
+
+            jdbc.batchUpdate("""
+                    insert into match_event (match_id, event_minute, type, player_id, related_player_id, note)
+                    values (?, ?, ?, ?, ?, ?)
+                    """, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    MatchEvent e = pending.get(i);
+                    ps.setLong(1, e.getMatchId());
+                    ps.setInt(2, e.getMinute());
+                    ps.setString(3, e.getType().name());
+                    ps.setObject(4, e.getPlayerId(), Types.BIGINT);
+                    ps.setObject(5, e.getRelatedPlayerId(), Types.BIGINT);
+                    ps.setString(6, e.getNote());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return pending.size();
+                }
+            });
+
+            publisher.publishEvent(new TeamDataChangedEvent(
+                    teamId, TeamDataChangedEvent.EntityType.MATCH_EVENT, TeamDataChangedEvent.Operation.UPDATED, touched));
+        }
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    // one JDBC batch; returns the generated ids in row order
+    private List<Long> insertReturningIds(String sql, int size, Binder binder) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        binder.bind(ps, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                }, keys);
+
+        List<Long> ids = new ArrayList<>(size);
+        for (Map<String, Object> row : keys.getKeyList()) {
+            ids.add(((Number) row.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    // ---------- row parsing ----------
+
+    private interface Row {
+        // trimmed value, null when missing or blank
+        String text(String field);
+
+        List<String> list(String field);
+    }
+
+    private static Row jsonRow(JsonNode node) {
+        if (node == null || !node.isObject()) throw new IllegalArgumentException("not an object");
+        return new Row() {
+            @Override
+            public String text(String field) {
+                JsonNode v = node.get(field);
+                if (v == null || v.isNull()) return null;
+                String s = v.asText().trim();
+                return s.isEmpty() ? null : s;
+            }
+
+            @Override
+            public List<String> list(String field) {
+                JsonNode v = node.get(field);
+                if (v == null || v.isNull()) return List.of();
+                if (!v.isArray()) return splitList(v.asText());
+                List<String> out = new ArrayList<>();
+                for (JsonNode item : v) {
+                    String s = item.asText().trim();
+                    if (!s.isEmpty()) out.add(s);
+                }
+                return out;
+            }
+        };
+    }
+
+    private static Row csvRow(List<String> header, List<String> values) {
+        if (values.size() > header.size()) throw new IllegalArgumentException("more fields than header columns");
+        Map<String, String> byName = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) byName.put(header.get(i), values.get(i));
+        return new Row() {
+            @Override
+            public String text(String field) {
+                String s = byName.get(field);
+                if (s == null) return null;
+                s = s.trim();
+                return s.isEmpty() ? null : s;
+            }
+
+            @Override
+            public List<String> list(String field) {
+                String s = text(field);
+                return s == null ? List.of() : splitList(s);
+            }
+        };
+    }
+
+    private static List<String> splitList(String s) {
+        List<String> out = new ArrayList<>();
+        for (String part : s.split("\\|")) {
+            if (!part.isBlank()) out.add(part.trim());
+        }
+        return out;
+    }
+
+    // RFC 4180 fields on a single line ("" escapes a quote inside a quoted field)
+    static List<String> parseCsvLine(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cur.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("unterminated quote");
+        out.add(cur.toString());
+        return out;
+    }
+
+    private static Integer intOf(Row row, String field) {
+        String s = row.text(field);
+        if (s == null) return null;
+        try {
+            return Integer.valueOf(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " must be a whole number");
+        }
+    }
+
+    private static Long longOf(Row row, String field) {
+        String s = row.text(field);
+        if (s == null) return null;
+        try {
+            return Long.valueOf(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " must be a whole number");
+        }
+    }
+
+    private static LocalDate dateOf(Row row, String field) {
+        String s = row.text(field);
+        if (s == null) return null;
+        try {
+            return LocalDate.parse(s);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " must be yyyy-mm-dd");
+        }
+    }
+
+    // true / false, or home / away
+    private static boolean boolOf(Row row, String field) {
+        String s = row.text(field);
+        if (s == null) return false;
+        return switch (s.toLowerCase()) {
+            case "true", "home" -> true;
+            case "false", "away" -> false;
+            default -> throw new IllegalArgumentException(field + " must be true or false");
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.model.ChangeLogEntry;
+import com.localxi.local_xi_backend.repository.ChangeLogRepository;
+import com.localxi.local_xi_backend.repository.TeamRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends every TeamDataChangedEvent to the change log inside the writing transaction,
+ * numbering entries from the team's change sequence. Read by SyncService.
+ */
+@Component
+public class ChangeLogRecorder {
+
+    private final TeamRepository teams;
+    private final ChangeLogRepository log;
+
+    public ChangeLogRecorder(TeamRepository teams, ChangeLogRepository log) {
+        this.teams = teams;
+        this.log = log;
+    }
+
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTeamDataChanged(TeamDataChangedEvent event) {
+        List<Long> ids = event.getEntityIds();
+        if (event.getTeamId() == null || ids.isEmpty()) return;
+
+        if (teams.advanceChangeSeq(event.getTeamId(), ids.size()) == 0) return;
+        long last = teams.findChangeSeq(event.getTeamId()).orElseThrow();
+
+        long seq = last - ids.size();
+        List<ChangeLogEntry> entries = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            entries.add(new ChangeLogEntry(event.getTeamId(), ++seq, event.getEntityType(), id, event.getOperation()));
+        }
+        log.saveAll(entries);
+    }
+}
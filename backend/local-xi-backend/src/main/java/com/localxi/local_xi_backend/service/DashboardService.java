@@ -0,0 +1,76 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.controller.LineupController;
+import com.localxi.local_xi_backend.repository.FormationRepository;
+import com.localxi.local_xi_backend.repository.LineupRepository;
+import com.localxi.local_xi_backend.repository.MatchRepository;
+import com.localxi.local_xi_backend.repository.NoticeRepository;
+import com.localxi.local_xi_backend.repository.PlayerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Everything the app needs for first paint in one request. Sections are loaded in
+ * parallel through FanOut, each in its own read-only transaction (own connection).
+ */
+@Service
+public class DashboardService {
+
+    public static final List<String> SECTIONS =
+            List.of("matches", "players", "formations", "notices", "lineupSummaries");
+
+    private final FanOut fanOut;
+    private final long timeoutMillis;
+    private final MatchRepository matchRepo;
+    private final PlayerRepository playerRepo;
+    private final FormationRepository formationRepo;
+    private final NoticeRepository noticeRepo;
+    private final LineupRepository lineupRepo;
+
+    public DashboardService(FanOut fanOut,
+                            @Value("${app.dashboard.timeoutMillis:5000}") long timeoutMillis,
+                            MatchRepository matchRepo, PlayerRepository playerRepo,
+                            FormationRepository formationRepo, NoticeRepository noticeRepo,
+                            LineupRepository lineupRepo) {
+        this.fanOut = fanOut;
+        this.timeoutMillis = timeoutMillis;
+        this.matchRepo = matchRepo;
+        this.playerRepo = playerRepo;
+        this.formationRepo = formationRepo;
+        this.noticeRepo = noticeRepo;
+        this.lineupRepo = lineupRepo;
+    }
+
+    public Map<String, Object> load(Long teamId, Collection<String> include) throws TimeoutException {
+        try (FanOut.Scope scope = fanOut.open(timeoutMillis)) {
+            Map<String, Supplier<Object>> pending = new LinkedHashMap<>();
+            for (String section : SECTIONS) {
+                if (include.contains(section)) {
+                    pending.put(section, scope.fork(() -> loadSection(teamId, section)));
+                }
+            }
+            scope.join();
+
+            Map<String, Object> out = new LinkedHashMap<>();
+            pending.forEach((section, result) -> out.put(section, result.get()));
+            return out;
+        }
+    }
+
+    private Object loadSection(Long teamId, String section) {
+        return switch (section) {
+            case "matches" -> matchRepo.findAllByTeamId(teamId);
+            case "players" -> playerRepo.findAllByTeamIdOrderByNumber(teamId);
+            case "formations" -> formationRepo.findAllByTeamId(teamId);
+            case "notices" -> noticeRepo.findByTeam_IdOrderByCreatedAtDesc(teamId);
+            case "lineupSummaries" -> lineupRepo.formationIdsForTeam(teamId).stream()
+                    .map(r -> new LineupController.LineupSummary((Long) r[0], (Long) r[1]))
+                    .toList();
+            default -> throw new IllegalArgumentException("Unknown dashboard section: " + section);
+        };
+    }
+}
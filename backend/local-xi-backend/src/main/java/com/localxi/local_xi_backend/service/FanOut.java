@@ -0,0 +1,166 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.metrics.SqlContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Structured fan-out for endpoints with several independent repository calls, shaped like
+ * StructuredTaskScope.ShutdownOnFailure (still a preview API on Java 21):
+ *
+ * <pre>
+ * try (FanOut.Scope scope = fanOut.open(timeoutMillis)) {
+ *     Supplier&lt;List&lt;Match&gt;&gt; matches = scope.fork(() -&gt; matchRepo.findAllByTeamId(teamId));
+ *     Supplier&lt;List&lt;Player&gt;&gt; players = scope.fork(() -&gt; playerRepo.findAllByTeamIdOrderByNumber(teamId));
+ *     scope.join();
+ *     ... matches.get(), players.get()
+ * }
+ * </pre>
+ *
+ * Each task runs in its own read-only transaction (own connection); forkInMemory() tasks, which
+ * only compute over data already in memory, run without one. join() returns when all
+ * tasks are done; the first failure or the deadline interrupts the others, and so does leaving
+ * the block. Tasks run on virtual threads when spring.threads.virtual.enabled is set, otherwise
+ * on fanOutExecutor; on virtual threads at most app.fanout.maxConcurrency tasks run at once so
+ * a burst of requests can't take the whole connection pool.
+ */
+@Component
+public class FanOut implements DisposableBean {
+
+    private final TransactionTemplate readOnlyTx;
+    private final ExecutorService virtualThreads;
+    private final ThreadPoolTaskExecutor platformThreads;
+    private final Semaphore permits;
+
+    public FanOut(PlatformTransactionManager txManager,
+                  @Qualifier("fanOutExecutor") ThreadPoolTaskExecutor platformThreads,
+                  @Value("${spring.threads.virtual.enabled:false}") boolean virtual,
+                  @Value("${app.fanout.maxConcurrency:16}") int maxConcurrency) {
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.platformThreads = platformThreads;
+        this.virtualThreads = virtual ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads != null;
+    }
+
+    public Scope open(long timeoutMillis) {
+        return new Scope(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final long deadlineNanos;
+        private final List<Future<?>> futures = new ArrayList<>();
+        // forked tasks still running, plus one until join() so early finishers can't complete done
+        private final AtomicInteger running = new AtomicInteger(1);
+        // completed normally when the last task finishes, exceptionally by the first failure
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private boolean joined;
+
+        private Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        // result is readable once join() has returned
+        public <T> Supplier<T> fork(Supplier<T> task) {
+            return start(() -> readOnlyTx.execute(status -> task.get()));
+        }
+
+        // for tasks that don't touch the database: no transaction, so no connection is taken
+        public <T> Supplier<T> forkInMemory(Supplier<T> task) {
+            return start(task);
+        }
+
+        private <T> Supplier<T> start(Supplier<T> task) {
+            if (joined) throw new IllegalStateException("fork after join");
+            CompletableFuture<T> result = new CompletableFuture<>();
+            running.incrementAndGet();
+            futures.add(submit(() -> {
+                try {
+                    result.complete(task.get());
+                    if (running.decrementAndGet() == 0) done.complete(null);
+                } catch (RuntimeException | Error e) {
+                    result.completeExceptionally(e);
+                    done.completeExceptionally(e);
+                }
+            }));
+            return () -> {
+                if (!joined) throw new IllegalStateException("result read before join");
+                return result.join();
+            };
+        }
+
+        public void join() throws TimeoutException {
+            if (joined) throw new IllegalStateException("already joined");
+            joined = true;
+            if (running.decrementAndGet() == 0) done.complete(null);
+            try {
+                done.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw e;
+            } catch (ExecutionException e) {
+                cancelAll();
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error err) throw err;
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            for (Future<?> f : futures) f.cancel(true);
+        }
+    }
+
+    // the caller's security context goes along so the read replica routing sees the team
+    private Future<?> submit(Runnable task) {
+        Runnable asCaller = new DelegatingSecurityContextRunnable(task);
+        if (virtualThreads == null) {
+            return platformThreads.submit(asCaller);
+        }
+        Runnable inRequest = SqlContext.wrap(asCaller);
+        return virtualThreads.submit(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("fan-out task cancelled while waiting for a permit");
+            }
+            try {
+                inRequest.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (virtualThreads != null) virtualThreads.shutdownNow();
+    }
+}
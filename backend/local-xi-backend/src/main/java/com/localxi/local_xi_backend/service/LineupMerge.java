@@ -0,0 +1,204 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.model.Lineup;
+import com.localxi.local_xi_backend.model.LineupPlayerStat;
+import com.localxi.local_xi_backend.model.LineupSlot;
+import com.localxi.local_xi_backend.model.MatchEvent;
+
+import java.util.*;
+
+/**
+ * In-memory merges behind PUT /api/lineups/match/{id} and the recompute-from-events endpoint.
+ * No repository access here, so the hot loops can be benchmarked on their own.
+ */
+public final class LineupMerge {
+
+    private LineupMerge() {}
+
+    // per-player totals derived from a match's events
+    public static class Totals {
+        public int goals = 0;
+        public int assists = 0;
+        public int yellow = 0;
+        public int red = 0;
+    }
+
+    // Replaces the lineup's slots with the payload's and merges its playerStats (derived from
+    // the slots when none are sent). "" when valid, otherwise the message to return.
+    public static String applyPayload(Lineup lineup, Lineup payload) {
+        lineup.getSlots().clear();
+        for (LineupSlot s : payload.getSlots()) {
+            if (s.getSlotId() == null || s.getSlotId().trim().isEmpty()) {
+                return "slotId is required";
+            }
+            if (s.getPos() == null || s.getPos().trim().isEmpty()) {
+                return "pos is required";
+            }
+
+            LineupSlot slot = new LineupSlot();
+            slot.setLineup(lineup);
+            slot.setSlotId(s.getSlotId());
+            slot.setPos(s.getPos());
+            slot.setPlayerId(s.getPlayerId());
+            slot.setCaptain(s.isCaptain());
+            slot.setRating(s.getRating());
+
+            // legacy fields (optional)
+            slot.setGoals(s.getGoals());
+            slot.setAssists(s.getAssists());
+            slot.setYellowCards(s.getYellowCards());
+            slot.setRedCards(s.getRedCards());
+
+            lineup.getSlots().add(slot);
+        }
+
+        Map<Long, LineupPlayerStat> existingByPlayerId = new HashMap<>();
+        for (LineupPlayerStat s : lineup.getPlayerStats()) {
+            if (s.getPlayerId() != null) {
+                existingByPlayerId.put(s.getPlayerId(), s);
+            }
+        }
+
+        Collection<LineupPlayerStat> incoming = payload.getPlayerStats();
+
+        if (incoming == null || incoming.isEmpty()) {
+            Map<Long, LineupPlayerStat> derived = new HashMap<>();
+            for (LineupSlot s : payload.getSlots()) {
+                if (s.getPlayerId() == null) continue;
+
+                LineupPlayerStat stat = derived.get(s.getPlayerId());
+                if (stat == null) {
+                    stat = new LineupPlayerStat();
+                    stat.setPlayerId(s.getPlayerId());
+                    stat.setGoals(0);
+                    stat.setAssists(0);
+                    stat.setYellowCards(0);
+                    stat.setRedCards(0);
+                    stat.setRating(s.getRating());
+                    derived.put(s.getPlayerId(), stat);
+                }
+
+                stat.setGoals(n0(stat.getGoals()) + n0(s.getGoals()));
+                stat.setAssists(n0(stat.getAssists()) + n0(s.getAssists()));
+                stat.setYellowCards(n0(stat.getYellowCards()) + n0(s.getYellowCards()));
+                stat.setRedCards(n0(stat.getRedCards()) + n0(s.getRedCards()));
+
+                if (stat.getRating() == null && s.getRating() != null) {
+                    stat.setRating(s.getRating());
+                }
+            }
+            incoming = derived.values();
+        }
+
+        Set<Long> keep = new HashSet<>();
+
+        for (LineupPlayerStat in : incoming) {
+            if (in.getPlayerId() == null) {
+                return "playerStats.playerId is required";
+            }
+
+            Long pid = in.getPlayerId();
+            keep.add(pid);
+
+            LineupPlayerStat target = existingByPlayerId.get(pid);
+            if (target == null) {
+                target = new LineupPlayerStat();
+                target.setLineup(lineup);
+                target.setPlayerId(pid);
+                lineup.getPlayerStats().add(target);
+                existingByPlayerId.put(pid, target);
+            }
+
+            target.setGoals(in.getGoals());
+            target.setAssists(in.getAssists());
+            target.setYellowCards(in.getYellowCards());
+            target.setRedCards(in.getRedCards());
+            target.setRating(in.getRating());
+        }
+
+        lineup.getPlayerStats().removeIf(s -> s.getPlayerId() != null && !keep.contains(s.getPlayerId()));
+        return "";
+    }
+
+    // every GOAL counts as Goals For
+    public static int goalsFor(List<MatchEvent> events) {
+        int gf = 0;
+        for (MatchEvent e : events) {
+            if (e.getType() == MatchEvent.EventType.GOAL) gf += 1;
+        }
+        return gf;
+    }
+
+    // per-player goals / assists / cards; SUBs carry no numeric stats
+    public static Map<Long, Totals> totalsFromEvents(List<MatchEvent> events) {
+        Map<Long, Totals> agg = new HashMap<>();
+
+        for (MatchEvent e : events) {
+            if (e.getType() == null) continue;
+
+            switch (e.getType()) {
+                case GOAL -> {
+                    if (e.getPlayerId() != null) {
+                        agg.computeIfAbsent(e.getPlayerId(), k -> new Totals()).goals += 1;
+                    }
+                    if (e.getRelatedPlayerId() != null) {
+                        agg.computeIfAbsent(e.getRelatedPlayerId(), k -> new Totals()).assists += 1;
+                    }
+                }
+                case YELLOW -> {
+                    if (e.getPlayerId() != null) {
+                        agg.computeIfAbsent(e.getPlayerId(), k -> new Totals()).yellow += 1;
+                    }
+                }
+                case RED -> {
+                    if (e.getPlayerId() != null) {
+                        agg.computeIfAbsent(e.getPlayerId(), k -> new Totals()).red += 1;
+                    }
+                }
+                case SUB -> {
+                    // no numeric stats from subs (minutes can be derived later if you want)
+                }
+            }
+        }
+        return agg;
+    }
+
+    // Overwrites the lineup's playerStats with the totals; rows for players without totals are removed.
+    public static void applyTotals(Lineup lineup, Map<Long, Totals> totals) {
+        // index existing by playerId (Set + equals/hashCode already helps, but keep it deterministic)
+        Map<Long, LineupPlayerStat> existingByPlayerId = new HashMap<>();
+        for (LineupPlayerStat s : lineup.getPlayerStats()) {
+            if (s.getPlayerId() != null) existingByPlayerId.put(s.getPlayerId(), s);
+        }
+
+        Set<Long> keep = new HashSet<>();
+
+        for (Map.Entry<Long, Totals> entry : totals.entrySet()) {
+            Long pid = entry.getKey();
+            Totals a = entry.getValue();
+
+            keep.add(pid);
+
+            LineupPlayerStat target = existingByPlayerId.get(pid);
+            if (target == null) {
+                target = new LineupPlayerStat();
+                target.setLineup(lineup);
+                target.setPlayerId(pid);
+                lineup.getPlayerStats().add(target);
+                existingByPlayerId.put(pid, target);
+            }
+
+            target.setGoals(a.goals);
+            target.setAssists(a.assists);
+            target.setYellowCards(a.yellow);
+            target.setRedCards(a.red);
+        }
+
+        // remove any stats rows no longer present in events aggregation
+        lineup.getPlayerStats().removeIf(s -> s.getPlayerId() != null && !keep.contains(s.getPlayerId()));
+    }
+
+    private static int n0(Integer v) {
+        return v == null ? 0 : Math.max(0, v);
+    }
+}
@@ -0,0 +1,177 @@
+package com.localxi.local_xi_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.model.Lineup;
+import com.localxi.local_xi_backend.model.Match;
+import com.localxi.local_xi_backend.repository.LineupRepository;
+import com.localxi.local_xi_backend.repository.MatchEventRepository;
+import com.localxi.local_xi_backend.repository.MatchRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Read model for match pages: the match, its lineup (slots and player stats) and its events
+ * rendered once into a single JSON document, gzipped when app.matchDocuments.gzip is set.
+ *
+ * Documents of finished matches (both scores entered) are kept in a cache bounded by
+ * app.matchDocuments.maxBytes, so repeat views are a map lookup and a byte copy. Writes to the
+ * match, its lineup or its events drop the entry after commit and the next read renders it
+ * again. Loading happens inside the cache's per-key compute, so a render that raced a write
+ * can't be stored after that write's invalidation. Unfinished matches are rendered per request.
+ */
+@Service
+public class MatchDocumentStore implements MeterBinder {
+
+    /**
+     * @param body     JSON, gzipped when {@code gzipped}
+     * @param version  hash of the uncompressed JSON; changes whenever the content does
+     * @param finished true when the document is cached (and immutable for its version)
+     */
+    public record Document(byte[] body, boolean gzipped, String version, boolean finished) {
+
+        public byte[] plain() {
+            return gzipped ? gunzip(body) : body;
+        }
+    }
+
+    private record Key(Long teamId, Long matchId) {}
+
+    private final Cache<Key, Document> store;
+    private final MatchRepository matchRepo;
+    private final LineupRepository lineupRepo;
+    private final MatchEventRepository eventRepo;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean gzip;
+    private final SeasonArchive archive;
+
+    public MatchDocumentStore(MatchRepository matchRepo, LineupRepository lineupRepo, MatchEventRepository eventRepo,
+                              ObjectMapper mapper, PlatformTransactionManager txManager, SeasonArchive archive,
+                              @Value("${app.matchDocuments.maxBytes:67108864}") long maxBytes,
+                              @Value("${app.matchDocuments.gzip:true}") boolean gzip) {
+        this.matchRepo = matchRepo;
+        this.lineupRepo = lineupRepo;
+        this.eventRepo = eventRepo;
+        this.mapper = mapper;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.gzip = gzip;
+        this.archive = archive;
+        this.store = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key k, Document d) -> d.body().length)
+                .recordStats()
+                .build();
+    }
+
+    // empty when the match doesn't exist or belongs to another team
+    public Optional<Document> get(Long teamId, Long matchId) {
+        Document[] uncached = new Document[1];
+        Document cached = store.get(new Key(teamId, matchId), k -> {
+            Document doc = render(teamId, matchId);
+            if (doc == null || doc.finished()) return doc;
+            // returning null keeps it out of the cache
+            uncached[0] = doc;
+            return null;
+        });
+        return Optional.ofNullable(cached != null ? cached : uncached[0]);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamDataChanged(TeamDataChangedEvent event) {
+        switch (event.getEntityType()) {
+            // LINEUP and MATCH_EVENT ids are match ids
+            case MATCH, LINEUP, MATCH_EVENT -> forget(event.getTeamId(), event.getEntityIds());
+            default -> { }
+        }
+    }
+
+    public void forget(Long teamId, Collection<Long> matchIds) {
+        matchIds.forEach(id -> store.invalidate(new Key(teamId, id)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, store, "matchDocuments");
+    }
+
+    private Document render(Long teamId, Long matchId) {
+        return readOnlyTx.execute(status -> {
+            Match match = matchRepo.findById(matchId).filter(m -> teamId.equals(m.getTeamId())).orElse(null);
+            if (match == null) return null;
+
+            Map<String, Object> doc = new LinkedHashMap<>();
+            doc.put("match", match);
+            Lineup lineup = lineupRepo.findByMatchIdWithDetails(matchId).orElse(null);
+            if (lineup != null) archive.restore(teamId, lineup);
+            doc.put("lineup", lineup);
+            doc.put("events", archive.events(teamId, matchId)
+                    .orElseGet(() -> eventRepo.findByMatchIdOrderByMinuteAscIdAsc(matchId)));
+
+            byte[] json = toJson(doc);
+            boolean finished = match.getGoalsFor() != null && match.getGoalsAgainst() != null;
+            return new Document(gzip ? gzip(json) : json, gzip, sha256(json), finished);
+        });
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize match document", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // first 16 hex digits are plenty to tell versions of one match apart
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
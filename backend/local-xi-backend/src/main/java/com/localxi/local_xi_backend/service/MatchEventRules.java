@@ -0,0 +1,37 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.model.MatchEvent;
+
+import java.util.Objects;
+
+/**
+ * Per-event checks shared by the match-events endpoints and the bulk importer.
+ */
+public final class MatchEventRules {
+
+    private MatchEventRules() {}
+
+    // "" when valid, otherwise the message to return
+    public static String validate(MatchEvent e) {
+        if (e == null) return "Event cannot be null.";
+        if (e.getType() == null) return "Event type is required.";
+        if (e.getMinute() == null) return "Event minute is required.";
+        if (e.getMinute() < 0 || e.getMinute() > 130) return "Event minute must be between 0 and 130.";
+
+        switch (e.getType()) {
+            case GOAL -> {
+                if (e.getPlayerId() == null) return "GOAL requires playerId (scorer).";
+            }
+            case YELLOW, RED -> {
+                if (e.getPlayerId() == null) return e.getType().name() + " requires playerId.";
+            }
+            case SUB -> {
+                if (e.getPlayerId() == null) return "SUB requires playerId (sub ON).";
+                if (e.getRelatedPlayerId() == null) return "SUB requires relatedPlayerId (sub OFF).";
+                if (Objects.equals(e.getPlayerId(), e.getRelatedPlayerId()))
+                    return "SUB on/off players must be different.";
+            }
+        }
+        return "";
+    }
+}
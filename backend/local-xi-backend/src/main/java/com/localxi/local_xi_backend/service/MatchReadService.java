@@ -0,0 +1,73 @@
+package com.localxi.local_xi_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.repository.LineupRepository;
+import com.localxi.local_xi_backend.repository.MatchEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Match-day reads (lineup + events for one match). Everyone in the squad opens the
+ * same match at kickoff, so identical concurrent requests share one query and one
+ * serialized JSON body via SingleFlight. Matches of archived seasons get their slots, stats
+ * and events from the season snapshot.
+ */
+@Service
+public class MatchReadService {
+
+    private record Key(String resource, Long teamId, Long matchId) {}
+
+    private final SingleFlight singleFlight;
+    private final LineupRepository lineupRepo;
+    private final MatchEventRepository eventRepo;
+    private final ObjectMapper mapper;
+    private final SeasonArchive archive;
+
+    public MatchReadService(SingleFlight singleFlight, LineupRepository lineupRepo,
+                            MatchEventRepository eventRepo, ObjectMapper mapper, SeasonArchive archive) {
+        this.singleFlight = singleFlight;
+        this.lineupRepo = lineupRepo;
+        this.eventRepo = eventRepo;
+        this.mapper = mapper;
+        this.archive = archive;
+    }
+
+    // null when the match has no lineup
+    public byte[] lineupJson(Long teamId, Long matchId) {
+        return singleFlight.load(new Key("lineup", teamId, matchId), () ->
+                lineupRepo.findByMatchIdWithDetails(matchId).map(lineup -> {
+                    archive.restore(teamId, lineup);
+                    return toJson(lineup);
+                }).orElse(null));
+    }
+
+    public byte[] eventsJson(Long teamId, Long matchId) {
+        return singleFlight.load(new Key("events", teamId, matchId), () ->
+                toJson(archive.events(teamId, matchId)
+                        .orElseGet(() -> eventRepo.findByMatchIdOrderByMinuteAscIdAsc(matchId))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamDataChanged(TeamDataChangedEvent event) {
+        switch (event.getEntityType()) {
+            case LINEUP -> event.getEntityIds().forEach(id -> singleFlight.forget(new Key("lineup", event.getTeamId(), id)));
+            // recompute rewrites lineup stats as well as events
+            case MATCH_EVENT -> event.getEntityIds().forEach(id -> {
+                singleFlight.forget(new Key("events", event.getTeamId(), id));
+                singleFlight.forget(new Key("lineup", event.getTeamId(), id));
+            });
+            default -> { }
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
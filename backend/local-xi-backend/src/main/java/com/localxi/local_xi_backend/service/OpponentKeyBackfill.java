@@ -0,0 +1,66 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.model.Match;
+import com.localxi.local_xi_backend.repository.MatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off fill of matches.opponent_key for rows written before the column existed. Every write
+ * path sets it now, so run it once after upgrading with app.opponentKeys.backfill=true.
+ *
+ * Works in batches of matches, each in its own short transaction, and updates them by id;
+ * re-running it is harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "app.opponentKeys.backfill", havingValue = "true")
+public class OpponentKeyBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(OpponentKeyBackfill.class);
+
+    private final MatchRepository matchRepo;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public OpponentKeyBackfill(MatchRepository matchRepo, PlatformTransactionManager txManager,
+                               @Value("${app.opponentKeys.batchSize:200}") int batchSize) {
+        this.matchRepo = matchRepo;
+        this.tx = new TransactionTemplate(txManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Opponent keys: {} matches backfilled", backfill());
+    }
+
+    public int backfill() {
+        int total = 0;
+        while (true) {
+            Integer updated = tx.execute(status -> {
+                List<Object[]> rows = matchRepo.idsAndOpponentsWithoutKey(PageRequest.of(0, batchSize));
+                Map<String, List<Long>> idsByKey = new HashMap<>();
+                for (Object[] r : rows) {
+                    idsByKey.computeIfAbsent(Match.opponentKey((String) r[1]), k -> new ArrayList<>()).add((Long) r[0]);
+                }
+                idsByKey.forEach((key, ids) -> matchRepo.setOpponentKey(ids, key));
+                return rows.size();
+            });
+            if (updated == null || updated == 0) return total;
+            total += updated;
+        }
+    }
+}
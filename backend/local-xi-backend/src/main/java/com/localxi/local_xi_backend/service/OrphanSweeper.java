@@ -0,0 +1,86 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.repository.LineupPlayerStatRepository;
+import com.localxi.local_xi_backend.repository.LineupRepository;
+import com.localxi.local_xi_backend.repository.LineupSlotRepository;
+import com.localxi.local_xi_backend.repository.MatchEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * One-off cleanup of lineups (with their slots and stats) and match events whose match
+ * was deleted before bulk deletes cascaded. Run once with app.orphanSweep.enabled=true.
+ *
+ * Works in batches, each in its own short transaction, so it can run against a live
+ * database without holding locks on large ranges; re-running it is harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "app.orphanSweep.enabled", havingValue = "true")
+public class OrphanSweeper implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanSweeper.class);
+
+    private final LineupRepository lineupRepo;
+    private final LineupSlotRepository slotRepo;
+    private final LineupPlayerStatRepository statRepo;
+    private final MatchEventRepository eventRepo;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public OrphanSweeper(LineupRepository lineupRepo, LineupSlotRepository slotRepo,
+                         LineupPlayerStatRepository statRepo, MatchEventRepository eventRepo,
+                         PlatformTransactionManager txManager,
+                         @Value("${app.orphanSweep.batchSize:1000}") int batchSize) {
+        this.lineupRepo = lineupRepo;
+        this.slotRepo = slotRepo;
+        this.statRepo = statRepo;
+        this.eventRepo = eventRepo;
+        this.tx = new TransactionTemplate(txManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Orphan sweep: {} lineups, {} match events removed", sweepLineups(), sweepEvents());
+    }
+
+    public int sweepLineups() {
+        int total = 0;
+        while (true) {
+            Integer removed = tx.execute(status -> {
+                List<Long> ids = lineupRepo.findOrphanIds(PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) return 0;
+                slotRepo.deleteForLineups(ids);
+                statRepo.deleteForLineups(ids);
+                lineupRepo.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            if (removed == null || removed == 0) return total;
+            total += removed;
+        }
+    }
+
+    public int sweepEvents() {
+        int total = 0;
+        while (true) {
+            Integer removed = tx.execute(status -> {
+                List<Long> ids = eventRepo.findOrphanIds(PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) return 0;
+                eventRepo.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            if (removed == null || removed == 0) return total;
+            total += removed;
+        }
+    }
+}
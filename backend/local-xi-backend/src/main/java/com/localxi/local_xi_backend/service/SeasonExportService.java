@@ -0,0 +1,267 @@
+package com.localxi.local_xi_backend.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localxi.local_xi_backend.archive.SeasonArchive;
+import com.localxi.local_xi_backend.archive.SeasonSnapshot;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Streams one season (matches, lineup slots, player stats, events) straight from
+ * forward-only JDBC cursors to the response, one row at a time, so heap use does not
+ * depend on how much history the team has.
+ *
+ * All four sections are read in one read-only transaction for a consistent snapshot.
+ *
+ * An archived season keeps its matches and lineups in the database, but its slots, player stats
+ * and events come from the team's season snapshot (SeasonArchive), in the same order and
+ * columns. Archived events have no ids; their id column is empty.
+ */
+@Service
+public class SeasonExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    // one export section: record type, season-scoped SQL (params: teamId, seasonId), output columns
+    private record Section(String type, String sql, List<String> columns) {}
+
+    private static final String SEASON_MATCHES =
+            "select id from matches where team_id = ? and season_id = ?";
+
+    private static final List<Section> SECTIONS = List.of(
+            new Section("match", """
+                    select id, date, opponent, home, goals_for, goals_against
+                    from matches where team_id = ? and season_id = ?
+                    order by date, id
+                    """,
+                    List.of("id", "date", "opponent", "home", "goalsFor", "goalsAgainst")),
+            new Section("lineupSlot", """
+                    select l.match_id, l.formation_id, l.captain_player_id, s.slot_id, s.pos, s.player_id, s.rating
+                    from lineup_slot s join lineup l on l.id = s.lineup_id
+                    where l.match_id in (%s)
+                    order by l.match_id, s.id
+                    """.formatted(SEASON_MATCHES),
+                    List.of("matchId", "formationId", "captainPlayerId", "slotId", "pos", "playerId", "rating")),
+            new Section("playerStat", """
+                    select l.match_id, s.player_id, s.goals, s.assists, s.yellow_cards, s.red_cards, s.rating
+                    from lineup_player_stat s join lineup l on l.id = s.lineup_id
+                    where l.match_id in (%s)
+                    order by l.match_id, s.id
+                    """.formatted(SEASON_MATCHES),
+                    List.of("matchId", "playerId", "goals", "assists", "yellowCards", "redCards", "rating")),
+            new Section("event", """
+                    select e.match_id, e.id, e.event_minute, e.type, e.player_id, e.related_player_id, e.note
+                    from match_event e
+                    where e.match_id in (%s)
+                    order by e.match_id, e.event_minute, e.id
+                    """.formatted(SEASON_MATCHES),
+                    List.of("matchId", "id", "minute", "eventType", "playerId", "relatedPlayerId", "note"))
+    );
+
+    // formation and captain of each lineup of the season, for archived slot rows
+    private static final String SEASON_LINEUPS = """
+            select l.match_id, l.formation_id, l.captain_player_id
+            from lineup l
+            where l.match_id in (%s)
+            """.formatted(SEASON_MATCHES);
+
+    private final JdbcTemplate jdbc;
+    private final SeasonArchive archive;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper mapper;
+    private final int fetchSize;
+
+    public SeasonExportService(JdbcTemplate jdbc, SeasonArchive archive, PlatformTransactionManager txManager,
+                               ObjectMapper mapper, DataSource dataSource) {
+        this.jdbc = jdbc;
+        this.archive = archive;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.mapper = mapper;
+        this.fetchSize = streamingFetchSize(dataSource);
+    }
+
+    public void export(Long teamId, Long seasonId, Format format, OutputStream out) throws IOException {
+        RowSink sink = format == Format.NDJSON ? new NdjsonSink(mapper, out) : new CsvSink(out);
+        Optional<SeasonSnapshot.SeasonData> archived = archive.season(teamId, seasonId);
+        readOnlyTx.executeWithoutResult(status -> {
+            try {
+                for (Section section : SECTIONS) {
+                    sink.begin(section);
+                    if (archived.isPresent() && !section.type().equals("match")) {
+                        archivedRows(section, teamId, seasonId, archived.get(), sink);
+                        continue;
+                    }
+                    jdbc.query(cursor(section.sql(), teamId, seasonId), (RowCallbackHandler) rs -> {
+                        try {
+                            sink.row(section, values(section, rs));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        sink.finish();
+    }
+
+    // the section's rows of an archived season, with the columns its SQL would have returned
+    private void archivedRows(Section section, Long teamId, Long seasonId, SeasonSnapshot.SeasonData season,
+                              RowSink sink) throws IOException {
+        switch (section.type()) {
+            case "lineupSlot" -> {
+                Map<Long, Object[]> lineups = new HashMap<>();
+                jdbc.query(SEASON_LINEUPS, (RowCallbackHandler) rs -> lineups.put(rs.getLong(1),
+                        new Object[] {rs.getObject(2), rs.getObject(3)}), teamId, seasonId);
+                for (SeasonSnapshot.SlotRow r : season.slots()) {
+                    Object[] lineup = lineups.getOrDefault(r.matchId(), new Object[2]);
+                    sink.row(section, new Object[] {r.matchId(), lineup[0], lineup[1], r.slotId(), r.pos(),
+                            r.playerId(), r.rating()});
+                }
+            }
+            case "playerStat" -> {
+                for (SeasonSnapshot.StatRow r : season.stats()) {
+                    sink.row(section, new Object[] {r.matchId(), r.playerId(), r.goals(), r.assists(),
+                            r.yellowCards(), r.redCards(), r.rating()});
+                }
+            }
+            case "event" -> {
+                for (SeasonSnapshot.EventRow r : season.events()) {
+                    sink.row(section, new Object[] {r.matchId(), null, r.minute(), r.type(), r.playerId(),
+                            r.relatedPlayerId(), r.note()});
+                }
+            }
+            default -> throw new IllegalArgumentException("no archived rows for " + section.type());
+        }
+    }
+
+    private PreparedStatementCreator cursor(String sql, Long teamId, Long seasonId) {
+        return con -> {
+            var ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, teamId);
+            ps.setLong(2, seasonId);
+            return ps;
+        };
+    }
+
+    // Connector/J only streams row by row with Integer.MIN_VALUE; other drivers take a batch size
+    private static int streamingFetchSize(DataSource dataSource) {
+        try (Connection con = dataSource.getConnection()) {
+            String product = con.getMetaData().getDatabaseProductName();
+            return product.toLowerCase().contains("mysql") ? Integer.MIN_VALUE : 500;
+        } catch (SQLException e) {
+            return 500;
+        }
+    }
+
+    // JDBC values as exported: dates as ISO strings, everything else as-is
+    private static Object[] values(Section section, ResultSet rs) throws SQLException {
+        Object[] out = new Object[section.columns().size()];
+        for (int i = 0; i < out.length; i++) {
+            Object v = rs.getObject(i + 1);
+            if (v instanceof java.sql.Date d) v = d.toLocalDate().toString();
+            else if (v instanceof Timestamp t) v = t.toInstant().toString();
+            out[i] = v;
+        }
+        return out;
+    }
+
+    private interface RowSink {
+        void begin(Section section) throws IOException;
+        void row(Section section, Object[] values) throws IOException;
+        void finish() throws IOException;
+    }
+
+    // {"type":"match","id":1,...} per line
+    private static class NdjsonSink implements RowSink {
+        private final JsonGenerator gen;
+
+        NdjsonSink(ObjectMapper mapper, OutputStream out) throws IOException {
+            this.gen = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.gen.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin(Section section) { }
+
+        @Override
+        public void row(Section section, Object[] values) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("type", section.type());
+            for (int i = 0; i < section.columns().size(); i++) {
+                gen.writeFieldName(section.columns().get(i));
+                gen.writeObject(values[i]);
+            }
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            gen.flush();
+        }
+    }
+
+    // Every row starts with its record type; each section is preceded by its own header row
+    // ("type,id,date,..."), so the file can be split by the first column.
+    private static class CsvSink implements RowSink {
+        private final Writer out;
+
+        CsvSink(OutputStream out) {
+            this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void begin(Section section) throws IOException {
+            out.write("type");
+            for (String c : section.columns()) {
+                out.write(',');
+                out.write(c);
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void row(Section section, Object[] values) throws IOException {
+            out.write(section.type());
+            for (int i = 0; i < section.columns().size(); i++) {
+                out.write(',');
+                Object v = values[i];
+                if (v != null) out.write(escape(String.valueOf(v)));
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private static String escape(String s) {
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.localxi.local_xi_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical loads: the first caller for a key runs the loader,
+ * callers arriving while it is in flight wait (bounded) for the same result.
+ * Nothing is kept once the load finishes - this is not a cache.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitMillis;
+
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public SingleFlight(@Value("${app.singleflight.maxWaitMillis:2000}") long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(Object key, Supplier<T> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing == null) {
+            leaders.incrementAndGet();
+            try {
+                T value = loader.get();
+                mine.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        coalesced.incrementAndGet();
+        try {
+            return (T) existing.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // leader is stuck - don't pile up behind it, load independently
+            timeouts.incrementAndGet();
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Drop an in-flight entry so requests arriving after a write start a fresh load.
+    public void forget(Object key) {
+        inFlight.remove(key);
+    }
+
+    public long getLeaders() { return leaders.get(); }
+    public long getCoalesced() { return coalesced.get(); }
+    public long getTimeouts() { return timeouts.get(); }
+    public int getInFlight() { return inFlight.size(); }
+}
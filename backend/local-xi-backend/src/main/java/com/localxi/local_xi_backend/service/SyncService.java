@@ -0,0 +1,173 @@
+package com.localxi.local_xi_backend.service;
+
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.model.*;
+import com.localxi.local_xi_backend.repository.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Delta sync: collapses the team's change log since a sequence number to the last
+ * operation per entity and returns current state for the survivors, ids for the rest.
+ * The per-type lookups are independent and run in parallel through FanOut.
+ */
+@Service
+public class SyncService {
+
+    public static class Section<T> {
+        public List<T> upserted = new ArrayList<>();
+        public List<Long> deleted = new ArrayList<>();
+    }
+
+    public static class MatchEvents {
+        public Long matchId;
+        public List<MatchEvent> events = new ArrayList<>();
+
+        MatchEvents(Long matchId) {
+            this.matchId = matchId;
+        }
+    }
+
+    public static class SyncResult {
+        public long since;
+        // pass this as ?since= next time
+        public long seq;
+        // too many changes since `since` - refetch everything, then continue from `seq`
+        public boolean fullResync;
+        public Section<Match> matches = new Section<>();
+        public Section<Player> players = new Section<>();
+        public Section<Formation> formations = new Section<>();
+        public Section<Notice> notices = new Section<>();
+        public Section<Season> seasons = new Section<>();
+        // lineups and match events are keyed by matchId
+        public Section<Lineup> lineups = new Section<>();
+        public Section<MatchEvents> matchEvents = new Section<>();
+    }
+
+    private final ChangeLogRepository log;
+    private final TeamRepository teams;
+    private final MatchRepository matchRepo;
+    private final PlayerRepository playerRepo;
+    private final FormationRepository formationRepo;
+    private final NoticeRepository noticeRepo;
+    private final LineupRepository lineupRepo;
+    private final MatchEventRepository eventRepo;
+    private final SeasonRepository seasonRepo;
+    private final int maxChanges;
+    private final FanOut fanOut;
+    private final long timeoutMillis;
+
+    public SyncService(ChangeLogRepository log, TeamRepository teams, MatchRepository matchRepo,
+                       PlayerRepository playerRepo, FormationRepository formationRepo, NoticeRepository noticeRepo,
+                       LineupRepository lineupRepo, MatchEventRepository eventRepo, SeasonRepository seasonRepo,
+                       @Value("${app.sync.maxChanges:5000}") int maxChanges,
+                       FanOut fanOut, @Value("${app.sync.timeoutMillis:10000}") long timeoutMillis) {
+        this.log = log;
+        this.teams = teams;
+        this.matchRepo = matchRepo;
+        this.playerRepo = playerRepo;
+        this.formationRepo = formationRepo;
+        this.noticeRepo = noticeRepo;
+        this.lineupRepo = lineupRepo;
+        this.eventRepo = eventRepo;
+        this.seasonRepo = seasonRepo;
+        this.maxChanges = maxChanges;
+        this.fanOut = fanOut;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SyncResult changesSince(Long teamId, long since) throws TimeoutException {
+        SyncResult out = new SyncResult();
+        out.since = since;
+        out.seq = since;
+
+        List<ChangeLogEntry> entries =
+                log.findByTeamIdAndSeqGreaterThanOrderBySeqAsc(teamId, since, PageRequest.of(0, maxChanges + 1));
+
+        if (entries.size() > maxChanges) {
+            out.fullResync = true;
+            out.seq = teams.findChangeSeq(teamId).orElse(0L);
+            return out;
+        }
+        if (entries.isEmpty()) return out;
+
+        // Entries commit in seq order (team row lock), so the last one read is a safe resume point.
+        out.seq = entries.get(entries.size() - 1).getSeq();
+
+        // last operation wins per entity
+        Map<TeamDataChangedEvent.EntityType, Map<Long, TeamDataChangedEvent.Operation>> latest =
+                new EnumMap<>(TeamDataChangedEvent.EntityType.class);
+        for (ChangeLogEntry e : entries) {
+            latest.computeIfAbsent(e.getEntityType(), k -> new LinkedHashMap<>()).put(e.getEntityId(), e.getOperation());
+        }
+
+        try (FanOut.Scope scope = fanOut.open(timeoutMillis)) {
+            List<Runnable> fills = new ArrayList<>();
+            for (var byType : latest.entrySet()) {
+                Set<Long> live = new LinkedHashSet<>();
+                List<Long> deleted = new ArrayList<>();
+                byType.getValue().forEach((id, op) -> {
+                    if (op == TeamDataChangedEvent.Operation.DELETED) deleted.add(id);
+                    else live.add(id);
+                });
+
+                switch (byType.getKey()) {
+                    case MATCH -> fills.add(fill(out.matches, deleted, live, scope.fork(() ->
+                            matchRepo.findAllById(live).stream().filter(m -> teamId.equals(m.getTeamId())).toList()),
+                            Match::getId));
+                    case PLAYER -> fills.add(fill(out.players, deleted, live, scope.fork(() ->
+                            playerRepo.findAllById(live).stream().filter(p -> teamId.equals(p.getTeamId())).toList()),
+                            Player::getId));
+                    case FORMATION -> fills.add(fill(out.formations, deleted, live, scope.fork(() ->
+                            formationRepo.findAllById(live).stream().filter(f -> teamId.equals(f.getTeamId())).toList()),
+                            Formation::getId));
+                    case NOTICE -> fills.add(fill(out.notices, deleted, live, scope.fork(() ->
+                            noticeRepo.findAllById(live).stream().filter(n -> teamId.equals(n.getTeam().getId())).toList()),
+                            Notice::getId));
+                    case SEASON -> fills.add(fill(out.seasons, deleted, live, scope.fork(() ->
+                            seasonRepo.findAllById(live).stream().filter(s -> teamId.equals(s.getTeamId())).toList()),
+                            Season::getId));
+                    case LINEUP -> fills.add(fill(out.lineups, deleted, live, scope.fork(() ->
+                            live.isEmpty() ? List.<Lineup>of() : lineupRepo.findAllByMatchIdInWithDetails(live)),
+                            Lineup::getMatchId));
+                    case MATCH_EVENT -> {
+                        Supplier<List<MatchEvent>> events = scope.fork(() -> live.isEmpty()
+                                ? List.<MatchEvent>of() : eventRepo.findByMatchIdInOrderByMatchIdAscMinuteAscIdAsc(live));
+                        fills.add(() -> {
+                            Map<Long, MatchEvents> byMatch = new LinkedHashMap<>();
+                            for (Long matchId : live) byMatch.put(matchId, new MatchEvents(matchId));
+                            for (MatchEvent e : events.get()) {
+                                byMatch.get(e.getMatchId()).events.add(e);
+                            }
+                            out.matchEvents.upserted.addAll(byMatch.values());
+                            out.matchEvents.deleted.addAll(deleted);
+                        });
+                    }
+                }
+            }
+            scope.join();
+            fills.forEach(Runnable::run);
+        }
+        return out;
+    }
+
+    // anything logged as live but no longer found (or not ours) is reported as deleted
+    private <T> Runnable fill(Section<T> section, List<Long> deleted, Set<Long> live, Supplier<List<T>> found,
+                              Function<T, Long> idOf) {
+        return () -> {
+            Set<Long> missing = new LinkedHashSet<>(live);
+            for (T item : found.get()) {
+                section.upserted.add(item);
+                missing.remove(idOf.apply(item));
+            }
+            section.deleted.addAll(deleted);
+            section.deleted.addAll(missing);
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.localxi.local_xi_backend.analytics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localxi.local_xi_backend.model.AppUser;
+import com.localxi.local_xi_backend.repository.AppUserRepository;
+import com.localxi.local_xi_backend.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Base for the platform index tests (global leaderboards, rating distributions, similar
+ * players). Every subclass shares one context: the perf profile on in-memory H2 with 3 teams
+ * x 2 seasons x 6 matches, and every index built over one-team partitions so the parallel
+ * rebuild has more than one range to merge. Requests run as the manager of the first perf team.
+ *
+ * The subclasses write to the same team, so each one checks against values it reads from the
+ * database at the start of its test rather than against fixed numbers.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:analytics;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.perf.teams=3",
+        "app.perf.seasons=2",
+        "app.perf.matchesPerSeason=6",
+        "app.leaderboards.maxK=5",
+        "app.leaderboards.partitionTeams=1",
+        "app.ratings.partitionTeams=1",
+        "app.similar.scanPartitions=3",
+        "app.similar.partitionTeams=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("perf")
+abstract class AnalyticsTestSupport {
+
+    protected static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    protected MockMvc mvc;
+
+    @Autowired
+    protected JdbcTemplate jdbc;
+
+    @Autowired
+    private AppUserRepository users;
+
+    @Autowired
+    private JwtService jwt;
+
+    protected long teamId;
+    protected String token;
+
+    @BeforeEach
+    void signIn() {
+        AppUser manager = users.findByEmail("manager0001@perf.localxi").orElseThrow();
+        teamId = manager.getTeam().getId();
+        token = jwt.createToken(manager);
+    }
+
+    protected JsonNode read(String path) throws Exception {
+        return JSON.readTree(mvc.perform(authorized(get(path))).andReturn().getResponse().getContentAsByteArray());
+    }
+
+    protected int status(String path) throws Exception {
+        return mvc.perform(authorized(get(path))).andReturn().getResponse().getStatus();
+    }
+
+    protected MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,67 @@
+package com.localxi.local_xi_backend.analytics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.localxi.local_xi_backend.service.AnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Builds the global boards over one-team partitions and checks them against the per-team
+ * leaderboards merged by hand, then checks a lineup write moves its player onto the board.
+ */
+class GlobalLeaderboardsTests extends AnalyticsTestSupport {
+
+    @Autowired
+    private AnalyticsService analytics;
+
+    @Test
+    void boardsMatchPerTeamLeaderboardsAndFollowWrites() throws Exception {
+        List<AnalyticsService.LeaderboardRow> all = new ArrayList<>();
+        for (Long team : jdbc.queryForList("select id from team", Long.class)) {
+            all.addAll(analytics.leaderboard(team, null, "goals", 0, 0));
+        }
+        all.sort(Comparator.comparingInt((AnalyticsService.LeaderboardRow r) -> r.goals).reversed()
+                .thenComparingLong(r -> r.playerId));
+
+        JsonNode board = top("goals", 5);
+        assertThat(board).hasSize(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(board.get(i).get("playerId").asLong()).isEqualTo(all.get(i).playerId);
+            assertThat(board.get(i).get("goals").asInt()).isEqualTo(all.get(i).goals);
+        }
+
+        long matchId = jdbc.queryForObject("""
+                select min(m.id) from matches m where m.team_id = ? and exists (select 1 from lineup l where l.match_id = m.id)
+                """, Long.class, teamId);
+        long formationId = jdbc.queryForObject("select min(id) from formations where team_id = ?", Long.class, teamId);
+        long playerId = jdbc.queryForObject("select max(id) from player where team_id = ?", Long.class, teamId);
+        int status = mvc.perform(authorized(put("/api/lineups/match/" + matchId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"formationId\":" + formationId + ",\"slots\":[],\"playerStats\":[{\"playerId\":" + playerId
+                        + ",\"goals\":500}]}"))
+                .andReturn().getResponse().getStatus();
+        assertThat(status).isEqualTo(200);
+
+        // the team is replaced on the rebuild thread, after the write returned
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (top("goals", 1).get(0).get("playerId").asLong() != playerId && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(top("goals", 1).get(0).get("playerId").asLong()).isEqualTo(playerId);
+
+        assertThat(status("/api/leaderboards/global?metric=saves")).isEqualTo(400);
+        assertThat(status("/api/leaderboards/global?k=6")).isEqualTo(400);
+    }
+
+    private JsonNode top(String metric, int k) throws Exception {
+        return read("/api/leaderboards/global?metric=" + metric + "&k=" + k);
+    }
+}
@@ -0,0 +1,79 @@
+package com.localxi.local_xi_backend.analytics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.localxi.local_xi_backend.service.AnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Checks the squad and platform histograms against the per-team leaderboards, then checks a
+ * lineup write moves both.
+ */
+class RatingDistributionsTests extends AnalyticsTestSupport {
+
+    @Autowired
+    private AnalyticsService analytics;
+
+    @Test
+    void histogramsMatchLeaderboardsAndFollowWrites() throws Exception {
+        long squadApps = 0;
+        long squadPlayers = 0;
+        long platformApps = 0;
+        long platformPlayers = 0;
+        AnalyticsService.LeaderboardRow best = null;
+        for (Long team : jdbc.queryForList("select id from team", Long.class)) {
+            for (AnalyticsService.LeaderboardRow r : analytics.leaderboard(team, null, "avgRating", 0, 0)) {
+                if (r.ratingCount == 0) continue;
+                platformApps += r.ratingCount;
+                platformPlayers++;
+                if (team != teamId) continue;
+                squadApps += r.ratingCount;
+                squadPlayers++;
+                if (best == null) best = r;
+            }
+        }
+
+        JsonNode squad = read("/api/analytics/ratings/distribution?scope=squad");
+        assertThat(squad.get("ratedAppearances").asLong()).isEqualTo(squadApps);
+        assertThat(squad.get("ratedPlayers").asLong()).isEqualTo(squadPlayers);
+        JsonNode platform = read("/api/analytics/ratings/distribution?scope=platform");
+        assertThat(platform.get("ratedAppearances").asLong()).isEqualTo(platformApps);
+        assertThat(platform.get("ratedPlayers").asLong()).isEqualTo(platformPlayers);
+
+        JsonNode player = read("/api/analytics/ratings/player/" + best.playerId);
+        assertThat(player.get("ratedAppearances").asInt()).isEqualTo(best.ratingCount);
+        assertThat(player.get("avgRating").asDouble()).isCloseTo(best.avgRating, within(1e-9));
+        assertThat(player.get("squadPercentile").asDouble()).isGreaterThan(50);
+
+        long matchId = jdbc.queryForObject("""
+                select min(m.id) from matches m where m.team_id = ? and exists (select 1 from lineup l where l.match_id = m.id)
+                """, Long.class, teamId);
+        long formationId = jdbc.queryForObject("select min(id) from formations where team_id = ?", Long.class, teamId);
+        long playerId = jdbc.queryForObject("select max(id) from player where team_id = ?", Long.class, teamId);
+        int status = mvc.perform(authorized(put("/api/lineups/match/" + matchId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"formationId\":" + formationId + ",\"slots\":[],\"playerStats\":[{\"playerId\":" + playerId
+                        + ",\"rating\":10.0}]}"))
+                .andReturn().getResponse().getStatus();
+        assertThat(status).isEqualTo(200);
+
+        // the team is replaced on a background thread, after the write returned
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (read("/api/analytics/ratings/distribution?scope=platform").get("ratedAppearances").asLong() == platformApps
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        JsonNode after = read("/api/analytics/ratings/distribution?scope=platform");
+        JsonNode top = after.get("appearances").get(after.get("appearances").size() - 1);
+        assertThat(top.get("rating").asDouble()).isEqualTo(10.0);
+
+        assertThat(status("/api/analytics/ratings/distribution?scope=league")).isEqualTo(400);
+        long otherPlayer = jdbc.queryForObject("select min(id) from player where team_id <> ?", Long.class, teamId);
+        assertThat(status("/api/analytics/ratings/player/" + otherPlayer)).isEqualTo(404);
+    }
+}
@@ -0,0 +1,75 @@
+package com.localxi.local_xi_backend.analytics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Squad and platform searches (the platform one split over three scan tasks), then two new
+ * players with the same positions and no appearances, who must come out as each other's
+ * nearest match once the background update has run.
+ */
+class SimilarPlayersTests extends AnalyticsTestSupport {
+
+    @Test
+    void nearestPlayersBySquadAndPlatform() throws Exception {
+        long playerId = jdbc.queryForObject("select min(id) from player where team_id = ?", Long.class, teamId);
+
+        JsonNode squad = read("/api/analytics/similar/" + playerId + "?scope=squad&k=5");
+        assertThat(squad).hasSize(5);
+        for (int i = 0; i < squad.size(); i++) {
+            assertThat(squad.get(i).get("teamId").asLong()).isEqualTo(teamId);
+            assertThat(squad.get(i).get("playerId").asLong()).isNotEqualTo(playerId);
+            if (i > 0) {
+                assertThat(squad.get(i).get("similarity").asDouble()).isLessThanOrEqualTo(squad.get(i - 1).get("similarity").asDouble());
+            }
+        }
+
+        JsonNode platform = read("/api/analytics/similar/" + playerId + "?scope=platform&k=20");
+        assertThat(platform).hasSize(20);
+        assertThat(platform.get(0).get("similarity").asDouble()).isGreaterThanOrEqualTo(squad.get(0).get("similarity").asDouble());
+        Set<Long> teams = new HashSet<>();
+        for (JsonNode m : platform) teams.add(m.get("teamId").asLong());
+        assertThat(teams).hasSizeGreaterThan(1);
+
+        long first = create(90);
+        long second = create(91);
+
+        // the team is re-encoded on a background thread, after the writes returned
+        long deadline = System.currentTimeMillis() + 10_000;
+        JsonNode nearest = null;
+        while (System.currentTimeMillis() < deadline) {
+            // 404 until the new players are in
+            MockHttpServletResponse response = mvc.perform(authorized(get("/api/analytics/similar/" + first + "?k=1")))
+                    .andReturn().getResponse();
+            JsonNode found = response.getStatus() == 200 ? JSON.readTree(response.getContentAsByteArray()) : null;
+            if (found != null && found.get(0).get("playerId").asLong() == second) {
+                nearest = found.get(0);
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(nearest).isNotNull();
+        assertThat(nearest.get("similarity").asDouble()).isEqualTo(1.0);
+
+        assertThat(status("/api/analytics/similar/" + playerId + "?scope=league")).isEqualTo(400);
+        assertThat(status("/api/analytics/similar/" + playerId + "?k=51")).isEqualTo(400);
+        long otherPlayer = jdbc.queryForObject("select min(id) from player where team_id <> ?", Long.class, teamId);
+        assertThat(status("/api/analytics/similar/" + otherPlayer)).isEqualTo(404);
+    }
+
+    private long create(int number) throws Exception {
+        String body = mvc.perform(authorized(post("/api/players")).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Trialist " + number + "\",\"number\":" + number + ",\"positions\":[\"ST\",\"LW\"]}"))
+                .andReturn().getResponse().getContentAsString();
+        return JSON.readTree(body).get("id").asLong();
+    }
+}
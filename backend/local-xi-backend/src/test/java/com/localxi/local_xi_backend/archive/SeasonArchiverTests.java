@@ -0,0 +1,194 @@
+package com.localxi.local_xi_backend.archive;
+
+import com.localxi.local_xi_backend.model.AppUser;
+import com.localxi.local_xi_backend.repository.AppUserRepository;
+import com.localxi.local_xi_backend.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Archives the older perf season of every team and checks the read endpoints answer exactly
+ * as they did while the rows were still in the live tables, and that writes to them are
+ * refused. afterDays is set far out so the
+ * startup run archives nothing; the test picks its own cutoff.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.archive.enabled=true",
+        "app.archive.afterDays=100000",
+        "app.perf.teams=2",
+        "app.perf.seasons=2",
+        "app.perf.matchesPerSeason=6"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("perf")
+class SeasonArchiverTests {
+
+    private static final String ARCHIVED = "Matches of archived seasons can't be changed";
+
+    @DynamicPropertySource
+    static void archiveDir(DynamicPropertyRegistry registry) throws IOException {
+        String dir = Files.createTempDirectory("season-archive").toString();
+        registry.add("app.archive.dir", () -> dir);
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private SeasonArchiver archiver;
+
+    @Autowired
+    private AppUserRepository users;
+
+    @Autowired
+    private JwtService jwt;
+
+    @Test
+    void archivedSeasonReadsTheSameAndIsReadOnly() throws Exception {
+        AppUser manager = users.findByEmail("manager0001@perf.localxi").orElseThrow();
+        String token = jwt.createToken(manager);
+        long teamId = manager.getTeam().getId();
+
+        long older = jdbc.queryForObject("select min(id) from season where team_id = ?", Long.class, teamId);
+        LocalDate olderEnd = jdbc.queryForObject("select end_date from season where id = ?", LocalDate.class, older);
+        long matchId = jdbc.queryForObject("""
+                select min(m.id) from matches m where m.season_id = ? and exists (select 1 from lineup l where l.match_id = m.id)
+                """, Long.class, older);
+        long playerId = jdbc.queryForObject("select min(id) from player where team_id = ?", Long.class, teamId);
+
+        List<String> paths = List.of(
+                "/api/analytics/season-summary",
+                "/api/analytics/season-summary?seasonId=" + older,
+                "/api/analytics/leaderboard",
+                "/api/analytics/leaderboard?seasonId=" + older,
+                "/api/analytics/formations?seasonId=" + older,
+                "/api/analytics/opponents",
+                "/api/lineups/match/" + matchId,
+                "/api/lineups/season/" + older,
+                "/api/match-events/match/" + matchId,
+                "/api/match-events/season/" + older,
+                "/api/player-stats/" + playerId + "/totals",
+                "/api/player-stats/" + playerId + "/totals?seasonId=" + older);
+
+        Map<String, String> before = read(paths, token);
+        String exportBefore = export(older, token);
+        assertThat(archiver.archiveEndedBefore(olderEnd.plusDays(1))).isEqualTo(2);
+
+        assertThat(jdbc.queryForObject("select count(*) from lineup_slot s join lineup l on l.id = s.lineup_id where l.match_id = ?",
+                Integer.class, matchId)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from match_event where match_id = ?", Integer.class, matchId)).isZero();
+        Map<String, String> after = read(paths, token);
+        for (String path : paths) {
+            // a lineup's playerStats is a set, its JSON order isn't stable
+            JSONAssert.assertEquals(path, before.get(path), after.get(path), JSONCompareMode.NON_EXTENSIBLE);
+        }
+        // the export streams the archived slots, stats and events from the snapshot
+        assertThat(exportBefore).contains("\"type\":\"lineupSlot\"").contains("\"type\":\"event\"");
+        assertThat(export(older, token)).isEqualTo(exportBefore);
+
+        int status = mvc.perform(authorized(put("/api/lineups/match/" + matchId), token)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"formationId\":1,\"slots\":[],\"playerStats\":[]}"))
+                .andReturn().getResponse().getStatus();
+        assertThat(status).isEqualTo(409);
+
+        // the importer refuses rows for archived seasons line by line
+        String events = mvc.perform(authorized(post("/api/import/events"), token).contentType("application/x-ndjson")
+                        .content("{\"matchId\":" + matchId + ",\"minute\":10,\"type\":\"GOAL\",\"playerId\":" + playerId + "}"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(events).contains("\"imported\":0").contains(ARCHIVED);
+        String matches = mvc.perform(authorized(post("/api/import/matches"), token).contentType("application/x-ndjson")
+                        .content("{\"date\":\"" + olderEnd + "\",\"opponent\":\"Late FC\",\"home\":true}"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(matches).contains("\"imported\":0").contains(ARCHIVED);
+
+        // nothing left to archive on a second run
+        assertThat(archiver.archiveEndedBefore(olderEnd.plusDays(1))).isZero();
+    }
+
+    // writes are gated on Season.archived, so they stop before this instance sees a snapshot
+    @Test
+    void writesCheckTheDatabaseNotTheSnapshot() throws Exception {
+        AppUser manager = users.findByEmail("manager0002@perf.localxi").orElseThrow();
+        String token = jwt.createToken(manager);
+        long teamId = manager.getTeam().getId();
+
+        long newer = jdbc.queryForObject("select max(id) from season where team_id = ?", Long.class, teamId);
+        long matchId = jdbc.queryForObject("select min(id) from matches where season_id = ?", Long.class, newer);
+        jdbc.update("update season set archived = true where id = ?", newer);
+        try {
+            int status = mvc.perform(authorized(put("/api/match-events/match/" + matchId), token)
+                    .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                    .andReturn().getResponse().getStatus();
+            assertThat(status).isEqualTo(409);
+            assertThat(jdbc.queryForObject("select count(*) from match_event where match_id = ?", Integer.class, matchId))
+                    .isPositive();
+        } finally {
+            jdbc.update("update season set archived = false where id = ?", newer);
+        }
+    }
+
+    // a stat row without a player stays without one, it isn't read back as player 0
+    @Test
+    void statRowsKeepANullPlayer(@TempDir Path dir) throws IOException {
+        List<SeasonSnapshot.StatRow> stats = List.of(
+                new SeasonSnapshot.StatRow(1L, 7L, 1, 0, 0, 0, 7.5),
+                new SeasonSnapshot.StatRow(1L, null, 0, 1, null, null, null));
+        Path file = dir.resolve("team-1.lxar");
+        SeasonSnapshot.write(file, 1L, List.of(new SeasonSnapshot.SeasonData(
+                new SeasonSnapshot.Totals(3L, 1, 1, 0, 0, 2, 0), new long[] {1L}, List.of(), stats, List.of())));
+
+        assertThat(SeasonSnapshot.open(file).stats(3L)).isEqualTo(stats);
+    }
+
+    private Map<String, String> read(List<String> paths, String token) throws Exception {
+        Map<String, String> out = new LinkedHashMap<>();
+        for (String path : paths) {
+            String body = mvc.perform(authorized(get(path), token)).andReturn().getResponse().getContentAsString();
+            // archived slots, stats and events don't keep their row ids
+            out.put(path, body.replaceAll("\\{\"id\":(\\d+|null),", "{"));
+        }
+        return out;
+    }
+
+    // ndjson export of the season, event ids blanked (archived events don't keep them)
+    private String export(long seasonId, String token) throws Exception {
+        MvcResult result = mvc.perform(authorized(get("/api/export/season?seasonId=" + seasonId), token)).andReturn();
+        if (result.getRequest().isAsyncStarted()) result.getAsyncResult(30_000);
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return result.getResponse().getContentAsString().replaceAll("(\"type\":\"event\",\"matchId\":\\d+,\"id\":)\\d+", "$1null");
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request, String token) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
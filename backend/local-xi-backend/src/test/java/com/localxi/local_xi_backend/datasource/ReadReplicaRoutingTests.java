@@ -0,0 +1,210 @@
+package com.localxi.local_xi_backend.datasource;
+
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two in-memory H2 databases standing in for a primary and its replica.
+ * "Replication" is a full copy (SCRIPT / RUNSCRIPT) taken when the test says so; between
+ * copies the replica is changed directly to tell which database served a read. The heartbeat
+ * timer is effectively off, the tests call beat() / measure() themselves.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTests.PRIMARY,
+        "app.datasource.replica.url=" + ReadReplicaRoutingTests.REPLICA,
+        "app.datasource.replica.heartbeatMillis=3600000",
+        "app.datasource.replica.maxLagMillis=2000",
+        "app.datasource.replica.stickyMillis=300",
+        "app.perf.teams=2",
+        "app.perf.seasons=1",
+        "app.perf.matchesPerSeason=2"
+})
+@ActiveProfiles("perf")
+class ReadReplicaRoutingTests {
+
+    static final String PRIMARY = "jdbc:h2:mem:rw-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA = "jdbc:h2:mem:rw-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private ReloadingListener reloads;
+
+    private List<Long> teamIds;
+
+    @BeforeEach
+    void replicateAndMeasure() throws Exception {
+        monitor.beat();
+        replicate();
+        monitor.measure();
+        teamIds = jdbc.queryForList("select id from team order by id", Long.class);
+        // a name only the replica has: reading it means the replica served the read
+        onReplica("update team set name = concat(name, ' (replica)')");
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+        reloads.names.clear();
+    }
+
+    // a cache reloading at the same order as TeamColumnStore; records which database it read
+    @TestConfiguration
+    static class ReloadingListener {
+
+        final List<String> names = new CopyOnWriteArrayList<>();
+
+        @Autowired
+        private JdbcTemplate jdbc;
+
+        @Autowired
+        private PlatformTransactionManager txManager;
+
+        @Order(0)
+        @TransactionalEventListener(fallbackExecution = true)
+        public void onTeamDataChanged(TeamDataChangedEvent event) {
+            TransactionTemplate tx = new TransactionTemplate(txManager);
+            tx.setReadOnly(true);
+            String name = tx.execute(status ->
+                    jdbc.queryForObject("select name from team where id = ?", String.class, event.getTeamId()));
+            names.add(event.getTeamId() + (name.endsWith("(replica)") ? ":replica" : ":primary"));
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(monitor.isReplicaHealthy()).isTrue();
+        assertThat(teamName(true, teamIds.get(0))).endsWith("(replica)");
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        assertThat(teamName(false, teamIds.get(0))).doesNotEndWith("(replica)");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() throws Exception {
+        onReplica("update replica_heartbeat set ts = " + (System.currentTimeMillis() - 10_000));
+        monitor.measure();
+
+        assertThat(monitor.isReplicaHealthy()).isFalse();
+        assertThat(monitor.getLagMillis()).isGreaterThanOrEqualTo(10_000);
+        assertThat(teamName(true, teamIds.get(0))).doesNotEndWith("(replica)");
+
+        // caught up again
+        monitor.beat();
+        replicate();
+        monitor.measure();
+        assertThat(monitor.isReplicaHealthy()).isTrue();
+    }
+
+    @Test
+    void unreadableReplicaFallsBackToThePrimary() throws Exception {
+        onReplica("drop table replica_heartbeat");
+        monitor.measure();
+
+        assertThat(monitor.isReplicaHealthy()).isFalse();
+        assertThat(teamName(true, teamIds.get(0))).doesNotEndWith("(replica)");
+    }
+
+    @Test
+    void writingTeamReadsThePrimaryUntilTheStickyWindowEnds() throws Exception {
+        long writer = teamIds.get(0);
+        long other = teamIds.get(1);
+        readYourWrites.wrote(writer);
+
+        signInAs(writer);
+        assertThat(teamName(true, writer)).doesNotEndWith("(replica)");
+
+        // other teams aren't affected
+        signInAs(other);
+        assertThat(teamName(true, other)).endsWith("(replica)");
+
+        Thread.sleep(400);
+        signInAs(writer);
+        assertThat(teamName(true, writer)).endsWith("(replica)");
+    }
+
+    // listeners that reload caches after the write run after ReadYourWrites marked the team
+    @Test
+    void reloadsAfterAWriteReadThePrimary() {
+        long writer = teamIds.get(0);
+        signInAs(writer);
+        publisher.publishEvent(new TeamDataChangedEvent(
+                writer, TeamDataChangedEvent.EntityType.MATCH, TeamDataChangedEvent.Operation.UPDATED, 1L));
+
+        assertThat(reloads.names).containsExactly(writer + ":primary");
+    }
+
+    // ---------- helpers ----------
+
+    private String teamName(boolean readOnly, long teamId) {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> jdbc.queryForObject("select name from team where id = ?", String.class, teamId));
+    }
+
+    private static void signInAs(long teamId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("1:" + teamId, null, List.of()));
+    }
+
+    // full copy of the primary onto the replica
+    private static void replicate() throws Exception {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            try (Connection c = DriverManager.getConnection(PRIMARY, "sa", "");
+                 Statement s = c.createStatement()) {
+                s.execute("script to '" + script + "'");
+            }
+            onReplica("drop all objects", "runscript from '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    private static void onReplica(String... sql) throws SQLException {
+        try (Connection c = DriverManager.getConnection(REPLICA, "sa", "");
+             Statement s = c.createStatement()) {
+            for (String statement : sql) s.execute(statement);
+        }
+    }
+}
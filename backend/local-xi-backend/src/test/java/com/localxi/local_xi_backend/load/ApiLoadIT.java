@@ -0,0 +1,329 @@
+package com.localxi.local_xi_backend.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: the app on a random port against a freshly generated perf dataset
+ * in in-memory H2, driven over HTTP by simulated clients of several teams:
+ *
+ *   - a login storm (every client logs in at once, loginRounds times)
+ *   - each squad following its live match: events and lineup polled with ETags, plus the
+ *     season's fixtures and the leaderboard now and then
+ *   - each manager saving lineups (GET + If-Match PUT) and opening the analytics pages
+ *     and the dashboard
+ *
+ * After a warm-up, per-endpoint latency and throughput are recorded, printed, written to
+ * target/loadtest/report.json, and the run fails if any slo.* limit in loadtest.properties
+ * is exceeded. Run with: mvn -Ploadtest verify
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=warn"
+})
+@ActiveProfiles("perf")
+class ApiLoadIT {
+
+    private static final Properties CONFIG = loadConfig();
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void dataset(DynamicPropertyRegistry registry) {
+        registry.add("app.perf.teams", () -> setting("loadtest.datasetTeams"));
+        registry.add("app.perf.seed", () -> setting("loadtest.seed"));
+    }
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private LoadReport report;
+
+    // one simulated browser: a login and, once set up, the team's season and matches
+    private static class Client {
+        final String email;
+        final boolean manager;
+        final Random random;
+        String token;
+        long seasonId;
+        List<Long> playedMatches = List.of();
+        long liveMatch;
+        final Map<String, String> etags = new HashMap<>();
+
+        Client(String email, boolean manager, long seed) {
+            this.email = email;
+            this.manager = manager;
+            this.random = new Random(seed);
+        }
+    }
+
+    @Test
+    void apiMeetsLatencySlos() throws Exception {
+        List<Client> clients = clients();
+        ExecutorService pool = Executors.newFixedThreadPool(clients.size());
+        report = new LoadReport();
+        try {
+            for (int round = 0; round < intSetting("loadtest.loginRounds"); round++) {
+                runAll(pool, clients, this::login);
+            }
+            LoadReport logins = report;
+            logins.stop();
+
+            report = new LoadReport();
+            runAll(pool, clients, this::setUpClient);
+
+            runFor(pool, clients, intSetting("loadtest.warmupSeconds"));
+            report.reset();
+            runFor(pool, clients, intSetting("loadtest.durationSeconds"));
+            report.stop();
+
+            report.include(logins);
+
+            List<String> violations = report.violations(CONFIG);
+            System.out.println(report.table());
+            violations.forEach(v -> System.out.println("SLO violation: " + v));
+            report.write(Path.of("target", "loadtest", "report.json"), settings(clients.size()), violations);
+
+            assertTrue(violations.isEmpty(), "SLO violations:\n" + String.join("\n", violations));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // managers and squads of loadtest.activeTeams teams spread over the dataset
+    private List<Client> clients() {
+        int datasetTeams = intSetting("loadtest.datasetTeams");
+        int activeTeams = Math.min(intSetting("loadtest.activeTeams"), datasetTeams);
+        int squad = intSetting("loadtest.squadClients");
+        long seed = Long.parseLong(setting("loadtest.seed"));
+
+        List<Client> out = new ArrayList<>();
+        for (int i = 0; i < activeTeams; i++) {
+            int team = 1 + (int) ((long) i * datasetTeams / activeTeams);
+            out.add(new Client(String.format("manager%04d@perf.localxi", team), true, seed + out.size()));
+            for (int k = 1; k <= squad; k++) {
+                out.add(new Client(String.format("player%04d-%02d@perf.localxi", team, k), false, seed + out.size()));
+            }
+        }
+        return out;
+    }
+
+    // ---------- phases ----------
+
+    private interface Step {
+        void run(Client client) throws Exception;
+    }
+
+    // every client runs the step once, all released at the same moment
+    private void runAll(ExecutorService pool, List<Client> clients, Step step) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> done = new ArrayList<>();
+        for (Client c : clients) {
+            done.add(pool.submit(() -> {
+                start.await();
+                step.run(c);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : done) f.get();
+    }
+
+    private void runFor(ExecutorService pool, List<Client> clients, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        int maxThink = intSetting("loadtest.maxThinkMillis");
+        runAll(pool, clients, c -> {
+            while (System.nanoTime() < deadline) {
+                if (c.manager) managerAction(c);
+                else squadAction(c);
+                if (maxThink > 0) Thread.sleep(c.random.nextInt(maxThink + 1));
+            }
+        });
+    }
+
+    // ---------- scenarios ----------
+
+    private void login(Client c) throws Exception {
+        String body = JSON.writeValueAsString(Map.of("email", c.email, "password", setting("app.perf.password")));
+        HttpResponse<byte[]> res = send("login", request("/api/auth/login", null)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (res.statusCode() == 200) {
+            c.token = JSON.readTree(res.body()).get("token").asText();
+        }
+    }
+
+    // not recorded: latest season, its played matches, and the most recent one as "live"
+    private void setUpClient(Client c) throws Exception {
+        if (c.token == null) throw new IllegalStateException("login failed for " + c.email);
+        JsonNode seasons = JSON.readTree(http.send(request("/api/seasons", c.token).build(),
+                HttpResponse.BodyHandlers.ofByteArray()).body());
+        c.seasonId = seasons.get(0).get("id").asLong();
+
+        JsonNode matches = JSON.readTree(http.send(request("/api/matches?seasonId=" + c.seasonId, c.token).build(),
+                HttpResponse.BodyHandlers.ofByteArray()).body());
+        List<Long> played = new ArrayList<>();
+        for (JsonNode m : matches) {
+            if (!m.get("goalsFor").isNull()) played.add(m.get("id").asLong());
+        }
+        c.playedMatches = played;
+        c.liveMatch = played.get(played.size() - 1);
+    }
+
+    private void squadAction(Client c) throws Exception {
+        int roll = c.random.nextInt(100);
+        if (roll < 70) {
+            // live match screen, polled with If-None-Match
+            conditionalGet(c, "events.get", "/api/match-events/match/" + c.liveMatch);
+            conditionalGet(c, "lineup.get", "/api/lineups/match/" + c.liveMatch);
+        } else if (roll < 85) {
+            get(c, "matches.season", "/api/matches?seasonId=" + c.seasonId);
+        } else {
+            get(c, "analytics.leaderboard", "/api/analytics/leaderboard?seasonId=" + c.seasonId);
+        }
+    }
+
+    private void managerAction(Client c) throws Exception {
+        int roll = c.random.nextInt(100);
+        if (roll < 40) {
+            // half the edits go to the live match the squad is watching
+            long matchId = c.random.nextBoolean()
+                    ? c.liveMatch
+                    : c.playedMatches.get(c.random.nextInt(c.playedMatches.size()));
+            saveLineup(c, matchId);
+        } else if (roll < 80) {
+            get(c, "analytics.summary", "/api/analytics/season-summary?seasonId=" + c.seasonId);
+            get(c, "analytics.leaderboard", "/api/analytics/leaderboard?seasonId=" + c.seasonId);
+            get(c, "analytics.formations", "/api/analytics/formations?seasonId=" + c.seasonId);
+        } else {
+            get(c, "dashboard", "/api/dashboard");
+        }
+    }
+
+    // load the lineup, nudge one rating, save it back with If-Match
+    private void saveLineup(Client c, long matchId) throws Exception {
+        HttpResponse<byte[]> current = send("lineup.get", request("/api/lineups/match/" + matchId, c.token).GET());
+        if (current.statusCode() != 200) return;
+        String etag = current.headers().firstValue("ETag").orElse(null);
+
+        JsonNode lineup = JSON.readTree(current.body());
+        ObjectNode body = JSON.createObjectNode();
+        body.set("formationId", lineup.get("formationId"));
+        body.set("captainPlayerId", lineup.get("captainPlayerId"));
+        ArrayNode slots = body.putArray("slots");
+        Set<String> seen = new HashSet<>();
+        for (JsonNode slot : lineup.get("slots")) {
+            if (!seen.add(slot.get("slotId").asText())) continue;
+            ObjectNode copy = ((ObjectNode) slot.deepCopy());
+            copy.remove("id");
+            slots.add(copy);
+        }
+        ((ObjectNode) slots.get(c.random.nextInt(slots.size())))
+                .put("rating", Math.round((5 + c.random.nextDouble() * 4) * 10) / 10.0);
+        body.set("playerStats", lineup.get("playerStats"));
+
+        HttpRequest.Builder put = request("/api/lineups/match/" + matchId, c.token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+        if (etag != null) put.header("If-Match", etag);
+        send("lineup.put", put);
+    }
+
+    private void get(Client c, String endpoint, String path) throws Exception {
+        send(endpoint, request(path, c.token).GET());
+    }
+
+    private void conditionalGet(Client c, String endpoint, String path) throws Exception {
+        HttpRequest.Builder req = request(path, c.token).GET();
+        String etag = c.etags.get(path);
+        if (etag != null) req.header("If-None-Match", etag);
+        HttpResponse<byte[]> res = send(endpoint, req);
+        res.headers().firstValue("ETag").ifPresent(e -> c.etags.put(path, e));
+    }
+
+    // ---------- http ----------
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        return b;
+    }
+
+    // 2xx and 304 count as success
+    private HttpResponse<byte[]> send(String endpoint, HttpRequest.Builder request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> res;
+        try {
+            res = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - start, false);
+            throw e;
+        }
+        int status = res.statusCode();
+        report.record(endpoint, System.nanoTime() - start, (status >= 200 && status < 300) || status == 304);
+        return res;
+    }
+
+    // ---------- config ----------
+
+    private Map<String, Object> settings(int clients) {
+        Map<String, Object> out = new TreeMap<>();
+        CONFIG.stringPropertyNames().stream()
+                .filter(k -> k.startsWith("loadtest."))
+                .forEach(k -> out.put(k, CONFIG.getProperty(k)));
+        out.put("clients", clients);
+        return out;
+    }
+
+    private static Properties loadConfig() {
+        Properties p = new Properties();
+        try (InputStream in = ApiLoadIT.class.getResourceAsStream("/loadtest.properties")) {
+            p.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        p.putIfAbsent("app.perf.password", "perf123");
+        // -Dloadtest.* / -Dslo.* win over the file
+        System.getProperties().stringPropertyNames().stream()
+                .filter(k -> k.startsWith("loadtest.") || k.startsWith("slo."))
+                .forEach(k -> p.setProperty(k, System.getProperty(k)));
+        return p;
+    }
+
+    private static String setting(String key) {
+        String v = CONFIG.getProperty(key);
+        if (v == null) throw new IllegalStateException("missing setting " + key);
+        return v;
+    }
+
+    private static int intSetting(String key) {
+        return Integer.parseInt(setting(key));
+    }
+}
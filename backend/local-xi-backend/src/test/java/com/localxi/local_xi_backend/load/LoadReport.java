@@ -0,0 +1,130 @@
+package com.localxi.local_xi_backend.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microsecond resolution, up to one minute) and error
+ * counts for one load phase, checked against slo.* limits and written out as JSON.
+ */
+class LoadReport {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private static class Endpoint {
+        final Histogram latency = new ConcurrentHistogram(MAX_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    // finished rows taken over from another phase (see include)
+    private final Map<String, Map<String, Object>> included = new TreeMap<>();
+    private volatile long startedNanos = System.nanoTime();
+    private volatile long stoppedNanos;
+
+    void record(String endpoint, long elapsedNanos, boolean ok) {
+        Endpoint e = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        e.latency.recordValue(Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        if (!ok) e.errors.increment();
+    }
+
+    // drop everything recorded so far (end of warm-up) and restart the clock
+    void reset() {
+        endpoints.clear();
+        startedNanos = System.nanoTime();
+    }
+
+    // adds another phase's results, each endpoint keeping that phase's own throughput
+    void include(LoadReport phase) {
+        included.putAll(phase.summary());
+    }
+
+    void stop() {
+        stoppedNanos = System.nanoTime();
+    }
+
+    double seconds() {
+        long end = stoppedNanos == 0 ? System.nanoTime() : stoppedNanos;
+        return (end - startedNanos) / 1e9;
+    }
+
+    // endpoint id -> count, errors, throughput (req/s) and latency percentiles in ms
+    Map<String, Map<String, Object>> summary() {
+        Map<String, Map<String, Object>> out = new TreeMap<>(included);
+        double seconds = seconds();
+        endpoints.forEach((id, e) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            long count = e.latency.getTotalCount();
+            row.put("count", count);
+            row.put("errors", e.errors.sum());
+            row.put("throughput", round(count / seconds));
+            for (double p : PERCENTILES) {
+                row.put("p" + (int) p, millis(e.latency.getValueAtPercentile(p)));
+            }
+            row.put("max", millis(e.latency.getMaxValue()));
+            out.put(id, row);
+        });
+        return out;
+    }
+
+    // one message per limit exceeded: slo.<id>.p50|p95|p99 (ms) and slo.maxErrorRate (per endpoint)
+    List<String> violations(Properties config) {
+        List<String> out = new ArrayList<>();
+        double maxErrorRate = Double.parseDouble(config.getProperty("slo.maxErrorRate", "1"));
+        summary().forEach((id, row) -> {
+            long count = (Long) row.get("count");
+            long errors = (Long) row.get("errors");
+            if (count > 0 && (double) errors / count > maxErrorRate) {
+                out.add(String.format("%s: error rate %d/%d above %.3f", id, errors, count, maxErrorRate));
+            }
+            for (double p : PERCENTILES) {
+                String key = "p" + (int) p;
+                String limit = config.getProperty("slo." + id + "." + key);
+                if (limit == null) continue;
+                double actual = (Double) row.get(key);
+                if (actual > Double.parseDouble(limit)) {
+                    out.add(String.format("%s: %s %.1f ms above SLO %s ms", id, key, actual, limit));
+                }
+            }
+        });
+        return out;
+    }
+
+    String table() {
+        StringBuilder sb = new StringBuilder(String.format("%-24s %8s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        summary().forEach((id, row) -> sb.append(String.format("%-24s %8d %6d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                id, row.get("count"), row.get("errors"), row.get("throughput"),
+                row.get("p50"), row.get("p95"), row.get("p99"), row.get("max"))));
+        return sb.toString();
+    }
+
+    void write(Path file, Map<String, Object> settings, List<String> violations) throws IOException {
+        Map<String, Object> doc = new LinkedHashMap<>();
+        doc.put("settings", settings);
+        doc.put("seconds", round(seconds()));
+        doc.put("endpoints", summary());
+        doc.put("sloViolations", violations);
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), doc);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 10) / 10.0;
+    }
+}
@@ -0,0 +1,214 @@
+package com.localxi.local_xi_backend.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.localxi.local_xi_backend.LocalXiBackendApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Platform vs virtual request threads under the same closed-loop load: loadtest.threadModel.clients
+ * clients with no think time, spread over the managers of loadtest.threadModel.teams teams,
+ * reading lineups, events, fixtures and the dashboard.
+ *
+ * The app is started once per thread model (spring.threads.virtual.enabled false / true) on the
+ * same in-memory H2 dataset. Throughput and latency per model are printed and written to
+ * target/loadtest/thread-models.json. The client runs in the same JVM, so on small machines
+ * treat the numbers as relative. This is a measurement, not a gate: at this concurrency
+ * timeouts (504 from the dashboard deadline, pool waits) are expected and only reported.
+ * Run with: mvn -Ploadtest verify -Dit.test=ThreadModelLoadIT
+ */
+class ThreadModelLoadIT {
+
+    private static final Properties CONFIG = loadConfig();
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    // what a client needs to build requests for its team
+    private record Team(String token, long seasonId, List<Long> playedMatches) {}
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Map<String, Object> results = new LinkedHashMap<>();
+        StringBuilder table = new StringBuilder(String.format("%-10s %9s %8s %9s %9s %9s%n",
+                "threads", "req/s", "errors", "p50 ms", "p99 ms", "max ms"));
+
+        for (String model : List.of("platform", "virtual")) {
+            LoadReport report = run(model.equals("virtual"));
+            Map<String, Object> all = report.summary().get("all");
+            results.put(model, report.summary());
+            table.append(String.format("%-10s %9.1f %8d %9.1f %9.1f %9.1f%n", model,
+                    all.get("throughput"), all.get("errors"), all.get("p50"), all.get("p99"), all.get("max")));
+            assertTrue((Long) all.get("count") > 0, model + ": no requests completed");
+        }
+
+        System.out.println(table);
+        Map<String, Object> doc = new LinkedHashMap<>();
+        doc.put("settings", settings());
+        doc.put("results", results);
+        Path file = Path.of("target", "loadtest", "thread-models.json");
+        Files.createDirectories(file.getParent());
+        JSON.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), doc);
+    }
+
+    private LoadReport run(boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(LocalXiBackendApplication.class)
+                .profiles("perf")
+                // as arguments, so they win over application-perf.properties
+                .run("--server.port=0", "--management.server.port=0",
+                        // same database for both runs: the second start finds the dataset and skips generation
+                        "--spring.datasource.url=jdbc:h2:mem:threadmodels;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--app.perf.teams=" + setting("loadtest.datasetTeams"),
+                        "--app.perf.seed=" + setting("loadtest.seed"),
+                        "--logging.level.root=warn")) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            List<Team> teams = teams(port);
+
+            int clients = intSetting("loadtest.threadModel.clients");
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            try {
+                LoadReport report = new LoadReport();
+                runFor(pool, port, teams, clients, intSetting("loadtest.threadModel.warmupSeconds"), report);
+                report.reset();
+                runFor(pool, port, teams, clients, intSetting("loadtest.threadModel.durationSeconds"), report);
+                report.stop();
+                return report;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    // one manager login per team, plus the latest season and its played matches
+    private List<Team> teams(int port) throws Exception {
+        int datasetTeams = intSetting("loadtest.datasetTeams");
+        int active = Math.min(intSetting("loadtest.threadModel.teams"), datasetTeams);
+        List<Team> out = new ArrayList<>();
+        for (int i = 0; i < active; i++) {
+            int team = 1 + (int) ((long) i * datasetTeams / active);
+            String body = JSON.writeValueAsString(Map.of(
+                    "email", String.format("manager%04d@perf.localxi", team), "password", setting("app.perf.password")));
+            JsonNode login = JSON.readTree(http.send(request(port, "/api/auth/login", null)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray()).body());
+            String token = login.get("token").asText();
+
+            long seasonId = getJson(port, "/api/seasons", token).get(0).get("id").asLong();
+            List<Long> played = new ArrayList<>();
+            for (JsonNode m : getJson(port, "/api/matches?seasonId=" + seasonId, token)) {
+                if (!m.get("goalsFor").isNull()) played.add(m.get("id").asLong());
+            }
+            out.add(new Team(token, seasonId, played));
+        }
+        return out;
+    }
+
+    private void runFor(ExecutorService pool, int port, List<Team> teams, int clients, int seconds,
+                        LoadReport report) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long seed = Long.parseLong(setting("loadtest.seed"));
+        List<Future<?>> done = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            Team team = teams.get(c % teams.size());
+            Random random = new Random(seed + c);
+            done.add(pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    int roll = random.nextInt(100);
+                    long matchId = team.playedMatches().get(random.nextInt(team.playedMatches().size()));
+                    if (roll < 40) send(report, "lineup.get", request(port, "/api/lineups/match/" + matchId, team.token()));
+                    else if (roll < 70) send(report, "events.get", request(port, "/api/match-events/match/" + matchId, team.token()));
+                    else if (roll < 90) send(report, "matches.season", request(port, "/api/matches?seasonId=" + team.seasonId(), team.token()));
+                    else send(report, "dashboard", request(port, "/api/dashboard", team.token()));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : done) f.get();
+    }
+
+    // recorded under its endpoint id and under "all"; connection failures count as errors
+    private void send(LoadReport report, String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            int status = http.send(request.GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            ok = status >= 200 && status < 300;
+        } catch (IOException e) {
+            ok = false;
+        }
+        long elapsed = System.nanoTime() - start;
+        report.record(endpoint, elapsed, ok);
+        report.record("all", elapsed, ok);
+    }
+
+    private JsonNode getJson(int port, String path, String token) throws Exception {
+        return JSON.readTree(http.send(request(port, path, token).build(), HttpResponse.BodyHandlers.ofByteArray()).body());
+    }
+
+    private static HttpRequest.Builder request(int port, String path, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        return b;
+    }
+
+    // ---------- config (shared with ApiLoadIT) ----------
+
+    private static Map<String, Object> settings() {
+        Map<String, Object> out = new TreeMap<>();
+        CONFIG.stringPropertyNames().stream()
+                .filter(k -> k.startsWith("loadtest.threadModel.") || k.equals("loadtest.datasetTeams"))
+                .forEach(k -> out.put(k, CONFIG.getProperty(k)));
+        out.put("java", Runtime.version().toString());
+        out.put("cpus", Runtime.getRuntime().availableProcessors());
+        return out;
+    }
+
+    private static Properties loadConfig() {
+        Properties p = new Properties();
+        try (InputStream in = ThreadModelLoadIT.class.getResourceAsStream("/loadtest.properties")) {
+            p.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        p.putIfAbsent("app.perf.password", "perf123");
+        System.getProperties().stringPropertyNames().stream()
+                .filter(k -> k.startsWith("loadtest.") || k.startsWith("slo."))
+                .forEach(k -> p.setProperty(k, System.getProperty(k)));
+        return p;
+    }
+
+    private static String setting(String key) {
+        String v = CONFIG.getProperty(key);
+        if (v == null) throw new IllegalStateException("missing setting " + key);
+        return v;
+    }
+
+    private static int intSetting(String key) {
+        return Integer.parseInt(setting(key));
+    }
+}
@@ -0,0 +1,126 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class AnalyticsQueryCountTests extends QueryCountTestSupport {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    void seasonSummary() throws Exception {
+        assertQueries(get("/api/analytics/season-summary"), 2, 0, 0, 0);
+    }
+
+    @Test
+    void seasonSummaryForSeason() throws Exception {
+        assertQueries(get("/api/analytics/season-summary").param("seasonId", "" + latestSeasonId()), 2, 0, 0, 0);
+    }
+
+    // served from the cache until a write to the team's matches, then recomputed with the new score
+    @Test
+    void seasonSummaryRecomputedAfterAWrite() throws Exception {
+        long seasonId = latestSeasonId();
+        Map<String, Object> match = jdbc.queryForMap("""
+                select id, date, opponent, home, goals_for, goals_against from matches
+                where season_id = ? and goals_for is not null order by id limit 1
+                """, seasonId);
+        var summary = get("/api/analytics/season-summary").param("seasonId", "" + seasonId);
+
+        int gf = JSON.readTree(assertQueries(summary, 2, 0, 0, 0).getResponse().getContentAsByteArray()).get("gf").asInt();
+        // only the season ownership check
+        assertQueries(summary, 1, 0, 0, 0);
+
+        int goalsFor = ((Number) match.get("goals_for")).intValue();
+        putScore(match, goalsFor + 3);
+        try {
+            MvcResult result = assertQueries(summary, 2, 0, 0, 0);
+            assertThat(JSON.readTree(result.getResponse().getContentAsByteArray()).get("gf").asInt()).isEqualTo(gf + 3);
+        } finally {
+            putScore(match, goalsFor);
+        }
+    }
+
+    private void putScore(Map<String, Object> match, int goalsFor) throws Exception {
+        int status = mvc.perform(authorized(put("/api/matches/" + match.get("id"))).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"date\":\"" + match.get("date") + "\",\"opponent\":\"" + match.get("opponent")
+                        + "\",\"home\":" + match.get("home") + ",\"goalsFor\":" + goalsFor
+                        + ",\"goalsAgainst\":" + match.get("goals_against") + "}"))
+                .andReturn().getResponse().getStatus();
+        assertThat(status).isEqualTo(200);
+    }
+
+    @Test
+    void leaderboard() throws Exception {
+        assertQueries(get("/api/analytics/leaderboard"), 5, 0, 0, 0);
+    }
+
+    @Test
+    void leaderboardForSeason() throws Exception {
+        assertQueries(get("/api/analytics/leaderboard").param("seasonId", "" + latestSeasonId()), 5, 0, 0, 0);
+    }
+
+    // once the team's columns are loaded, other sorts and filters only read the roster
+    @Test
+    void leaderboardFromLoadedColumns() throws Exception {
+        assertQueries(get("/api/analytics/leaderboard"), 5, 0, 0, 0);
+        assertQueries(get("/api/analytics/leaderboard").param("sort", "potm").param("minApps", "3").param("limit", "5"),
+                2, 0, 0, 0);
+    }
+
+    // a lineup write reloads just that match into the loaded columns (two selects after commit)
+    @Test
+    void lineupWriteUpdatesLoadedColumns() throws Exception {
+        assertQueries(get("/api/analytics/formations"), 6, 0, 0, 0);
+
+        List<Long> players = playerIds();
+        StringBuilder slots = new StringBuilder();
+        for (int i = 0; i < 11; i++) {
+            if (i > 0) slots.append(',');
+            slots.append("{\"slotId\":\"S-").append(i + 1).append("\",\"pos\":\"CM\",\"playerId\":")
+                    .append(players.get(i)).append(",\"rating\":7.0}");
+        }
+        assertQueries(put("/api/lineups/match/" + playedMatchIds().get(7)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"formationId\":" + formationIds().get(0) + ",\"slots\":[" + slots + "]}"), 8, 18, 9, 17);
+
+        MvcResult result = assertQueries(get("/api/analytics/leaderboard").param("sort", "appearances"), 2, 0, 0, 0);
+        assertThat(JSON.readTree(result.getResponse().getContentAsByteArray())).isNotEmpty();
+    }
+
+    @Test
+    void formations() throws Exception {
+        assertQueries(get("/api/analytics/formations"), 6, 0, 0, 0);
+    }
+
+    @Test
+    void formationsForSeason() throws Exception {
+        assertQueries(get("/api/analytics/formations").param("seasonId", "" + latestSeasonId()), 6, 0, 0, 0);
+    }
+
+    // results and scorers in one grouped query, plus the roster for scorer names; then cached
+    @Test
+    void opponents() throws Exception {
+        MvcResult result = assertQueries(get("/api/analytics/opponents"), 3, 0, 0, 0);
+        var body = JSON.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body).isNotEmpty();
+        assertThat(body.get(0).get("topScorers")).isNotEmpty();
+        assertQueries(get("/api/analytics/opponents"), 0, 0, 0, 0);
+    }
+
+    // case and whitespace don't matter when picking an opponent
+    @Test
+    void opponentByFoldedName() throws Exception {
+        MvcResult result = assertQueries(get("/api/analytics/opponents").param("opponent", "  ROVERS "), 3, 0, 0, 0);
+        var body = JSON.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body).hasSize(1);
+        assertThat(body.get(0).get("opponent").asText()).isEqualTo("Rovers");
+    }
+}
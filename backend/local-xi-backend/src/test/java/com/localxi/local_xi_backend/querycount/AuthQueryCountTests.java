@@ -0,0 +1,24 @@
+package com.localxi.local_xi_backend.querycount;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class AuthQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void login() throws Exception {
+        assertQueries(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"manager0001@perf.localxi\",\"password\":\"perf123\"}"), 2, 0, 0, 0);
+    }
+
+    @Test
+    void register() throws Exception {
+        String email = "owner-" + UUID.randomUUID() + "@example.com";
+        assertQueries(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"teamName\":\"New FC\",\"email\":\"" + email + "\",\"password\":\"password123\"}"), 1, 2, 0, 0);
+    }
+}
@@ -0,0 +1,13 @@
+package com.localxi.local_xi_backend.querycount;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class DashboardQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void dashboard() throws Exception {
+        assertQueries(get("/api/dashboard"), 8, 0, 0, 0);
+    }
+}
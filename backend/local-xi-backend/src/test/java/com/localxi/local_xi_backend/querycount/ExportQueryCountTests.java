@@ -0,0 +1,111 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class ExportQueryCountTests extends QueryCountTestSupport {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    void seasonNdjson() throws Exception {
+        assertQueries(get("/api/export/season").param("seasonId", "" + latestSeasonId()), 5, 0, 0, 0);
+    }
+
+    @Test
+    void seasonCsv() throws Exception {
+        assertQueries(get("/api/export/season").param("seasonId", "" + latestSeasonId()).param("format", "csv"), 5, 0, 0, 0);
+    }
+
+    // one line per row of the season, sections in order, matches by date
+    @Test
+    void ndjsonHasEveryRowOfTheSeason() throws Exception {
+        long seasonId = latestSeasonId();
+        String body = body(assertQueries(get("/api/export/season").param("seasonId", "" + seasonId), 5, 0, 0, 0));
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        List<Long> matchIds = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            JsonNode row = JSON.readTree(line);
+            counts.merge(row.get("type").asText(), 1, Integer::sum);
+            if (row.get("type").asText().equals("match")) matchIds.add(row.get("id").asLong());
+        }
+
+        assertThat(counts).containsExactlyEntriesOf(rowCounts(seasonId));
+        assertThat(matchIds).isEqualTo(jdbc.queryForList(
+                "select id from matches where team_id = ? and season_id = ? order by date, id", Long.class, teamId, seasonId));
+    }
+
+    // a header row before each section; values with commas or quotes are quoted
+    @Test
+    void csvHasAHeaderPerSectionAndQuotesValues() throws Exception {
+        long seasonId = latestSeasonId();
+        jdbc.update("""
+                insert into matches (date, opponent, opponent_key, home, team_id, season_id, version)
+                select start_date, 'Smith, Jones "FC"', 'smith, jones "fc"', true, team_id, id, 0 from season where id = ?
+                """, seasonId);
+        try {
+            String body = body(assertQueries(get("/api/export/season").param("seasonId", "" + seasonId).param("format", "csv"),
+                    5, 0, 0, 0));
+
+            List<String> headers = body.lines().filter(l -> l.startsWith("type,")).toList();
+            assertThat(headers).containsExactly(
+                    "type,id,date,opponent,home,goalsFor,goalsAgainst",
+                    "type,matchId,formationId,captainPlayerId,slotId,pos,playerId,rating",
+                    "type,matchId,playerId,goals,assists,yellowCards,redCards,rating",
+                    "type,matchId,id,minute,eventType,playerId,relatedPlayerId,note");
+
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            body.lines().filter(l -> !l.startsWith("type,")).forEach(l -> counts.merge(l.substring(0, l.indexOf(',')), 1, Integer::sum));
+            assertThat(counts).containsExactlyEntriesOf(rowCounts(seasonId));
+            assertThat(body).contains(",\"Smith, Jones \"\"FC\"\"\",");
+        } finally {
+            jdbc.update("delete from matches where opponent = 'Smith, Jones \"FC\"'");
+        }
+    }
+
+    @Test
+    void gzipIsTheSameBodyCompressed() throws Exception {
+        var request = get("/api/export/season").param("seasonId", "" + latestSeasonId());
+        String plain = body(assertQueries(request, 5, 0, 0, 0));
+        MvcResult zipped = assertQueries(get("/api/export/season").param("seasonId", "" + latestSeasonId())
+                .param("gzip", "true"), 5, 0, 0, 0);
+
+        assertThat(zipped.getResponse().getHeader("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(zipped.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain);
+        }
+    }
+
+    private static String body(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    // rows per record type, straight from the tables
+    private Map<String, Integer> rowCounts(long seasonId) {
+        String lineups = "from lineup l join matches m on m.id = l.match_id where m.team_id = ? and m.season_id = ?";
+        Map<String, Integer> out = new LinkedHashMap<>();
+        out.put("match", jdbc.queryForObject("select count(*) from matches where team_id = ? and season_id = ?",
+                Integer.class, teamId, seasonId));
+        out.put("lineupSlot", jdbc.queryForObject("select count(*) from lineup_slot s join lineup l on l.id = s.lineup_id"
+                + " where l.id in (select l.id " + lineups + ")", Integer.class, teamId, seasonId));
+        out.put("playerStat", jdbc.queryForObject("select count(*) from lineup_player_stat s join lineup l on l.id = s.lineup_id"
+                + " where l.id in (select l.id " + lineups + ")", Integer.class, teamId, seasonId));
+        out.put("event", jdbc.queryForObject("select count(*) from match_event e join matches m on m.id = e.match_id"
+                + " where m.team_id = ? and m.season_id = ?", Integer.class, teamId, seasonId));
+        return out;
+    }
+}
@@ -0,0 +1,44 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class FormationQueryCountTests extends QueryCountTestSupport {
+
+    private static final String FORMATION = """
+            {"name":"Diamond","shape":"4-4-2","slots":[
+              {"slotId":"GK-1","position":"GK"},{"slotId":"LB-2","position":"LB"},{"slotId":"CB-3","position":"CB"},
+              {"slotId":"CB-4","position":"CB"},{"slotId":"RB-5","position":"RB"},{"slotId":"DM-6","position":"DM"},
+              {"slotId":"LM-7","position":"LM"},{"slotId":"RM-8","position":"RM"},{"slotId":"AM-9","position":"AM"},
+              {"slotId":"ST-10","position":"ST"},{"slotId":"ST-11","position":"ST"}]}
+            """;
+
+    @Test
+    void list() throws Exception {
+        assertQueries(get("/api/formations"), 3, 0, 0, 0);
+    }
+
+    @Test
+    void create() throws Exception {
+        assertQueries(post("/api/formations").contentType(MediaType.APPLICATION_JSON).content(FORMATION), 1, 13, 1, 0);
+    }
+
+    @Test
+    void update() throws Exception {
+        assertQueries(put("/api/formations/" + formationIds().get(0)).contentType(MediaType.APPLICATION_JSON)
+                .content(FORMATION.replace("Diamond", "Renamed")), 2, 12, 2, 1);
+    }
+
+    @Test
+    void bulkDelete() throws Exception {
+        String created = mvc.perform(authorized(post("/api/formations"))
+                .contentType(MediaType.APPLICATION_JSON).content(FORMATION)).andReturn().getResponse().getContentAsString();
+        long id = new ObjectMapper().readTree(created).get("id").asLong();
+
+        assertQueries(post("/api/formations/bulk-delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + id + "]}"), 2, 1, 1, 2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class ImportQueryCountTests extends QueryCountTestSupport {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    void players() throws Exception {
+        StringBuilder csv = new StringBuilder("name,number,positions\n");
+        for (int i = 0; i < 20; i++) csv.append("Import ").append(i).append(',').append(60 + i).append(",CM|DM\n");
+
+        // batched: statement counts stay flat however many rows are sent
+        assertQueries(post("/api/import/players").param("format", "csv").contentType("text/csv")
+                .content(csv.toString()), 2, 22, 1, 0);
+    }
+
+    @Test
+    void matches() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            ndjson.append("{\"date\":\"2027-0").append(1 + i % 5).append('-').append(10 + i)
+                    .append("\",\"opponent\":\"Imported\",\"home\":true}\n");
+        }
+        assertQueries(post("/api/import/matches").contentType("application/x-ndjson")
+                .content(ndjson.toString()), 3, 21, 1, 0);
+    }
+
+    // bad rows are reported by line (the header is line 1) and the good ones are still imported
+    @Test
+    void playerErrorsAreReportedPerLine() throws Exception {
+        List<Integer> numbers = jdbc.queryForList("select number from player where team_id = ?", Integer.class, teamId);
+        int taken = numbers.get(0);
+        // the highest free number, so playerIds() (by number) keeps its order for the other tests
+        int free = 99;
+        while (numbers.contains(free)) free--;
+        String csv = "name,number,positions\n"
+                + "Import Keeper," + free + ",GK\n"
+                + "Import Clash," + taken + ",CM\n"
+                + "Import Twin," + free + ",CM\n"
+                + "Import Big,100,CM\n"
+                + "Import Word,ten,CM\n";
+        try {
+            JsonNode result = JSON.readTree(assertQueries(post("/api/import/players").param("format", "csv")
+                    .contentType("text/csv").content(csv), 2, 3, 1, 0).getResponse().getContentAsByteArray());
+
+            assertThat(result.get("imported").asInt()).isEqualTo(1);
+            assertThat(result.get("rejected").asInt()).isEqualTo(4);
+            assertThat(errors(result)).containsExactly(
+                    "3: shirt number already exists: " + taken,
+                    "4: shirt number already exists: " + free,
+                    "5: number must be 1–99",
+                    "6: number must be a whole number");
+            assertThat(jdbc.queryForList("select name from player where team_id = ? and name like 'Import %' and number = ?",
+                    String.class, teamId, free)).containsExactly("Import Keeper");
+        } finally {
+            jdbc.update("delete from player_positions where player_id in (select id from player where team_id = ? and number = ?)",
+                    teamId, free);
+            jdbc.update("delete from player where team_id = ? and number = ?", teamId, free);
+        }
+    }
+
+    @Test
+    void malformedLinesAreReportedAndSkipped() throws Exception {
+        String ndjson = "{\"date\":\"2027-06-01\",\"opponent\":\"Line One\",\"home\":true}\n"
+                + "{\"date\":\"2027-06-02\",\n"
+                + "\n"
+                + "{\"date\":\"2027-06-03\",\"opponent\":\"Line Four\",\"home\":false}\n";
+        JsonNode result = JSON.readTree(assertQueries(post("/api/import/matches").contentType("application/x-ndjson")
+                .content(ndjson), 3, 3, 1, 0).getResponse().getContentAsByteArray());
+
+        assertThat(result.get("imported").asInt()).isEqualTo(2);
+        assertThat(errors(result)).containsExactly("2: Malformed ndjson line");
+    }
+
+    private static List<String> errors(JsonNode result) {
+        List<String> out = new ArrayList<>();
+        result.get("errors").forEach(e -> out.add(e.get("line").asInt() + ": " + e.get("message").asText()));
+        return out;
+    }
+}
@@ -0,0 +1,111 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class LineupQueryCountTests extends QueryCountTestSupport {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // slots and stats come from separate fetches: a joined fetch would repeat each slot per stat row
+    @Test
+    void forMatch() throws Exception {
+        MvcResult result = assertQueries(get("/api/lineups/match/" + playedMatchIds().get(0)), 3, 0, 0, 0);
+
+        JsonNode lineup = JSON.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(lineup.get("slots")).hasSize(11);
+        assertThat(lineup.get("playerStats")).hasSize(11);
+    }
+
+    @Test
+    void forSeason() throws Exception {
+        MvcResult result = assertQueries(get("/api/lineups/season/" + latestSeasonId()), 2, 0, 0, 0);
+
+        JsonNode lineups = JSON.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(lineups).isNotEmpty();
+        lineups.forEach(l -> assertThat(l.get("slots")).hasSize(11));
+    }
+
+    @Test
+    void upsert() throws Exception {
+        assertQueries(put("/api/lineups/match/" + playedMatchIds().get(1)).contentType(MediaType.APPLICATION_JSON)
+                .content(lineupJson(7.0)), 6, 18, 8, 17);
+    }
+
+    // the ETag of a PUT is the committed version, so it works as the If-Match of the next PUT
+    @Test
+    void upsertETagMatchesNextWrite() throws Exception {
+        String uri = "/api/lineups/match/" + playedMatchIds().get(2);
+        String before = mvc.perform(authorized(get(uri))).andReturn().getResponse().getHeader("ETag");
+        String etag = mvc.perform(authorized(put(uri)).contentType(MediaType.APPLICATION_JSON).content(lineupJson(6.0)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // a slot-only change still moves the version
+        assertThat(etag).isNotNull().isNotEqualTo(before);
+        assertThat(mvc.perform(authorized(get(uri))).andReturn().getResponse().getHeader("ETag")).isEqualTo(etag);
+        assertThat(mvc.perform(authorized(put(uri)).header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(lineupJson(8.0)))
+                .andReturn().getResponse().getStatus()).isEqualTo(200);
+    }
+
+    // a 412 and a 400 roll back: the version (so every client's ETag) and the slots stay as they were
+    @Test
+    void rejectedWritesLeaveTheLineupAsItWas() throws Exception {
+        String uri = "/api/lineups/match/" + playedMatchIds().get(3);
+        MvcResult before = mvc.perform(authorized(get(uri))).andReturn();
+        String etag = before.getResponse().getHeader("ETag");
+
+        assertThat(mvc.perform(authorized(put(uri)).header("If-Match", "\"0-0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(lineupJson(9.0)))
+                .andReturn().getResponse().getStatus()).isEqualTo(412);
+        String invalid = "{\"formationId\":" + formationIds().get(0)
+                + ",\"slots\":[{\"slotId\":\"S-1\",\"pos\":\"GK\"},{\"slotId\":\"\",\"pos\":\"CM\"}]}";
+        assertThat(mvc.perform(authorized(put(uri)).header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(invalid))
+                .andReturn().getResponse().getStatus()).isEqualTo(400);
+
+        MvcResult after = mvc.perform(authorized(get(uri))).andReturn();
+        assertThat(after.getResponse().getHeader("ETag")).isEqualTo(etag);
+        assertThat(JSON.readTree(after.getResponse().getContentAsByteArray()).get("slots"))
+                .isEqualTo(JSON.readTree(before.getResponse().getContentAsByteArray()).get("slots"));
+    }
+
+    // another team's match answers like a match without a lineup: no 304, no ETag
+    @Test
+    void otherTeamsLineupIsNotFound() throws Exception {
+        long otherMatch = jdbc.queryForObject("""
+                select min(l.match_id) from lineup l join matches m on m.id = l.match_id where m.team_id <> ?
+                """, Long.class, teamId);
+        MvcResult result = mvc.perform(authorized(get("/api/lineups/match/" + otherMatch)).header("If-None-Match", "*"))
+                .andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(404);
+        assertThat(result.getResponse().getHeader("ETag")).isNull();
+    }
+
+    private String lineupJson(double rating) {
+        List<Long> players = playerIds();
+        StringBuilder slots = new StringBuilder();
+        for (int i = 0; i < 11; i++) {
+            if (i > 0) slots.append(',');
+            slots.append("{\"slotId\":\"S-").append(i + 1).append("\",\"pos\":\"CM\",\"playerId\":")
+                    .append(players.get(i)).append(",\"rating\":").append(rating).append('}');
+        }
+        return "{\"formationId\":" + formationIds().get(0) + ",\"slots\":[" + slots + "]}";
+    }
+
+    @Test
+    void summaries() throws Exception {
+        String ids = playedMatchIds().stream().map(String::valueOf).collect(Collectors.joining(","));
+        assertQueries(post("/api/lineups/summaries").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + ids + "]}"), 1, 0, 0, 0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.localxi.local_xi_backend.querycount;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class MatchEventQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void forMatch() throws Exception {
+        assertQueries(get("/api/match-events/match/" + playedMatchIds().get(0)), 2, 0, 0, 0);
+    }
+
+    @Test
+    void forSeason() throws Exception {
+        assertQueries(get("/api/match-events/season/" + latestSeasonId()), 1, 0, 0, 0);
+    }
+
+    @Test
+    void replace() throws Exception {
+        List<Long> players = playerIds();
+        String events = "[{\"minute\":12,\"type\":\"GOAL\",\"playerId\":" + players.get(9) + ",\"relatedPlayerId\":" + players.get(7) + "},"
+                + "{\"minute\":40,\"type\":\"YELLOW\",\"playerId\":" + players.get(3) + "},"
+                + "{\"minute\":70,\"type\":\"SUB\",\"playerId\":" + players.get(15) + ",\"relatedPlayerId\":" + players.get(9) + "}]";
+        assertQueries(put("/api/match-events/match/" + playedMatchIds().get(3)).contentType(MediaType.APPLICATION_JSON)
+                .content(events), 4, 4, 1, 6);
+    }
+
+    @Test
+    void recompute() throws Exception {
+        assertQueries(post("/api/match-events/match/" + playedMatchIds().get(4) + "/recompute"), 8, 2, 3, 10);
+    }
+}
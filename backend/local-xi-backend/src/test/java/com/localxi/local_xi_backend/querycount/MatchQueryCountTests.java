@@ -0,0 +1,211 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localxi.local_xi_backend.event.TeamDataChangedEvent;
+import com.localxi.local_xi_backend.repository.LineupPlayerStatRepository;
+import com.localxi.local_xi_backend.repository.LineupRepository;
+import com.localxi.local_xi_backend.repository.LineupSlotRepository;
+import com.localxi.local_xi_backend.repository.MatchEventRepository;
+import com.localxi.local_xi_backend.service.MatchDocumentStore;
+import com.localxi.local_xi_backend.service.OrphanSweeper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class MatchQueryCountTests extends QueryCountTestSupport {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private MatchDocumentStore documents;
+
+    @Autowired
+    private LineupRepository lineupRepo;
+
+    @Autowired
+    private LineupSlotRepository slotRepo;
+
+    @Autowired
+    private LineupPlayerStatRepository statRepo;
+
+    @Autowired
+    private MatchEventRepository eventRepo;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private static final String MATCH = "{\"date\":\"2026-12-26\",\"opponent\":\"Boxing Day XI\",\"home\":true}";
+
+    @Test
+    void list() throws Exception {
+        assertQueries(get("/api/matches"), 3, 0, 0, 0);
+    }
+
+    @Test
+    void listForSeason() throws Exception {
+        assertQueries(get("/api/matches").param("seasonId", "" + latestSeasonId()), 3, 0, 0, 0);
+    }
+
+    @Test
+    void page() throws Exception {
+        assertQueries(get("/api/matches").param("limit", "10").param("sort", "desc"), 3, 0, 0, 0);
+    }
+
+    // pages of 3 cut through three matches on one day; the undated match comes first (asc) or last (desc)
+    @Test
+    void pagesReturnEveryMatchOnce() throws Exception {
+        List<Long> added = new ArrayList<>();
+        for (LocalDate date : new LocalDate[] {LocalDate.of(2027, 3, 3), LocalDate.of(2027, 3, 3), LocalDate.of(2027, 3, 3), null}) {
+            jdbc.update("""
+                    insert into matches (date, opponent, opponent_key, home, team_id, version)
+                    values (?, 'Paging FC', 'paging fc', true, ?, 0)
+                    """, date, teamId);
+            added.add(jdbc.queryForObject("select max(id) from matches", Long.class));
+        }
+        try {
+            List<Long> all = jdbc.queryForList("select id from matches where team_id = ?", Long.class, teamId);
+            for (String sort : List.of("asc", "desc")) {
+                List<Long> paged = new ArrayList<>();
+                String cursor = null;
+                do {
+                    MockHttpServletRequestBuilder request = get("/api/matches").param("limit", "3").param("sort", sort);
+                    if (cursor != null) request.param("cursor", cursor);
+                    MvcResult result = mvc.perform(authorized(request)).andReturn();
+                    JSON.readTree(result.getResponse().getContentAsByteArray()).forEach(m -> paged.add(m.get("id").asLong()));
+                    cursor = result.getResponse().getHeader("X-Next-Cursor");
+                } while (cursor != null);
+
+                assertThat(paged).as(sort).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(all);
+                assertThat(paged.get(sort.equals("asc") ? 0 : paged.size() - 1)).as(sort).isEqualTo(added.get(3));
+            }
+        } finally {
+            jdbc.update("delete from matches where opponent = 'Paging FC' and team_id = ?", teamId);
+        }
+    }
+
+    @Test
+    void documentRenderedThenServedFromMemory() throws Exception {
+        long id = playedMatchIds().get(3);
+        documents.onTeamDataChanged(new TeamDataChangedEvent(teamId, TeamDataChangedEvent.EntityType.MATCH,
+                TeamDataChangedEvent.Operation.UPDATED, List.of(id)));
+
+        assertQueries(get("/api/matches/" + id + "/document"), 4, 0, 0, 0);
+        assertQueries(get("/api/matches/" + id + "/document"), 0, 0, 0, 0);
+    }
+
+    @Test
+    void create() throws Exception {
+        assertQueries(post("/api/matches").contentType(MediaType.APPLICATION_JSON).content(MATCH), 2, 2, 1, 0);
+    }
+
+    @Test
+    void update() throws Exception {
+        assertQueries(put("/api/matches/" + playedMatchIds().get(2)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"date\":\"2025-08-09\",\"opponent\":\"Renamed\",\"home\":false,\"goalsFor\":2,\"goalsAgainst\":2}"),
+                4, 1, 2, 0);
+    }
+
+    @Test
+    void bulkDelete() throws Exception {
+        String created = mvc.perform(authorized(post("/api/matches"))
+                .contentType(MediaType.APPLICATION_JSON).content(MATCH)).andReturn().getResponse().getContentAsString();
+        long id = JSON.readTree(created).get("id").asLong();
+
+        assertQueries(post("/api/matches/bulk-delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + id + "]}"), 5, 3, 3, 5);
+    }
+
+    // the match goes with its lineup, slots, stats and events; another team's id is ignored
+    @Test
+    void bulkDeleteCascades() throws Exception {
+        long id = matchWithLineupAndEvents();
+        long otherTeams = jdbc.queryForObject("select min(id) from matches where team_id <> ?", Long.class, teamId);
+        assertThat(rowsOf(id)).containsExactly(1, 1, 2, 2, 2);
+
+        int status = mvc.perform(authorized(post("/api/matches/bulk-delete")).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + id + "," + otherTeams + "]}")).andReturn().getResponse().getStatus();
+
+        assertThat(status).isEqualTo(200);
+        assertThat(rowsOf(id)).containsExactly(0, 0, 0, 0, 0);
+        assertThat(rowsOf(otherTeams).get(0)).isOne();
+    }
+
+    // one archived match stops the whole call, and the answer names it
+    @Test
+    void bulkDeleteRefusesArchivedMatches() throws Exception {
+        long id = matchWithLineupAndEvents();
+        long season = latestSeasonId();
+        long archived = jdbc.queryForObject("select min(id) from matches where season_id = ?", Long.class, season);
+        jdbc.update("update season set archived = true where id = ?", season);
+        try {
+            MvcResult result = mvc.perform(authorized(post("/api/matches/bulk-delete")).contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ids\":[" + id + "," + archived + "]}")).andReturn();
+
+            assertThat(result.getResponse().getStatus()).isEqualTo(409);
+            assertThat(result.getResponse().getContentAsString()).contains(String.valueOf(archived));
+            assertThat(rowsOf(id)).containsExactly(1, 1, 2, 2, 2);
+            assertThat(rowsOf(archived).get(0)).isOne();
+        } finally {
+            jdbc.update("update season set archived = false where id = ?", season);
+        }
+    }
+
+    // matches removed without their children, as deletes did before they cascaded
+    @Test
+    void orphanSweepRemovesWhatDeletedMatchesLeftBehind() throws Exception {
+        long id = matchWithLineupAndEvents();
+        jdbc.update("delete from matches where id = ?", id);
+        int lineups = jdbc.queryForObject(
+                "select count(*) from lineup l where not exists (select 1 from matches m where m.id = l.match_id)", Integer.class);
+        int events = jdbc.queryForObject(
+                "select count(*) from match_event e where not exists (select 1 from matches m where m.id = e.match_id)", Integer.class);
+
+        // batches of one, so the sweep has to loop
+        OrphanSweeper sweeper = new OrphanSweeper(lineupRepo, slotRepo, statRepo, eventRepo, txManager, 1);
+        assertThat(sweeper.sweepLineups()).isEqualTo(lineups).isPositive();
+        assertThat(sweeper.sweepEvents()).isEqualTo(events).isGreaterThanOrEqualTo(2);
+
+        assertThat(rowsOf(id)).containsExactly(0, 0, 0, 0, 0);
+        assertThat(sweeper.sweepLineups()).isZero();
+        assertThat(sweeper.sweepEvents()).isZero();
+    }
+
+    // a new match with two filled slots (so two stats) and two goals
+    private long matchWithLineupAndEvents() throws Exception {
+        String created = mvc.perform(authorized(post("/api/matches"))
+                .contentType(MediaType.APPLICATION_JSON).content(MATCH)).andReturn().getResponse().getContentAsString();
+        long id = JSON.readTree(created).get("id").asLong();
+        List<Long> players = playerIds();
+
+        mvc.perform(authorized(put("/api/lineups/match/" + id)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"formationId\":" + formationIds().get(0) + ",\"slots\":["
+                        + "{\"slotId\":\"S-1\",\"pos\":\"GK\",\"playerId\":" + players.get(0) + "},"
+                        + "{\"slotId\":\"S-2\",\"pos\":\"ST\",\"playerId\":" + players.get(1) + "}]}"));
+        mvc.perform(authorized(put("/api/match-events/match/" + id)).contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"minute\":10,\"type\":\"GOAL\",\"playerId\":" + players.get(1) + "},"
+                        + "{\"minute\":70,\"type\":\"GOAL\",\"playerId\":" + players.get(1) + "}]"));
+        return id;
+    }
+
+    // [matches, lineups, slots, stats, events] for the match id
+    private List<Integer> rowsOf(long matchId) {
+        return List.of(
+                jdbc.queryForObject("select count(*) from matches where id = ?", Integer.class, matchId),
+                jdbc.queryForObject("select count(*) from lineup where match_id = ?", Integer.class, matchId),
+                jdbc.queryForObject("select count(*) from lineup_slot s join lineup l on l.id = s.lineup_id where l.match_id = ?",
+                        Integer.class, matchId),
+                jdbc.queryForObject("select count(*) from lineup_player_stat s join lineup l on l.id = s.lineup_id where l.match_id = ?",
+                        Integer.class, matchId),
+                jdbc.queryForObject("select count(*) from match_event where match_id = ?", Integer.class, matchId));
+    }
+}
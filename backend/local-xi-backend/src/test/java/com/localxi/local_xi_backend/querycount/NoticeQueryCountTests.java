@@ -0,0 +1,32 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class NoticeQueryCountTests extends QueryCountTestSupport {
+
+    private static final String NOTICE = "{\"title\":\"Kit\",\"body\":\"Bring both kits on Saturday.\"}";
+
+    @Test
+    void list() throws Exception {
+        assertQueries(get("/api/notices"), 3, 0, 0, 0);
+    }
+
+    @Test
+    void create() throws Exception {
+        assertQueries(post("/api/notices").contentType(MediaType.APPLICATION_JSON).content(NOTICE), 2, 2, 1, 0);
+    }
+
+    @Test
+    void remove() throws Exception {
+        String created = mvc.perform(authorized(post("/api/notices"))
+                .contentType(MediaType.APPLICATION_JSON).content(NOTICE)).andReturn().getResponse().getContentAsString();
+        long id = new ObjectMapper().readTree(created).get("id").asLong();
+
+        assertQueries(delete("/api/notices/" + id),
+                3, 1, 1, 1);
+    }
+}
@@ -0,0 +1,31 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class PlayerQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void list() throws Exception {
+        assertQueries(get("/api/players"), 3, 0, 0, 0);
+    }
+
+    @Test
+    void create() throws Exception {
+        assertQueries(post("/api/players").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"New Signing\",\"positions\":[\"ST\",\"LW\"],\"number\":90}"), 2, 4, 1, 0);
+    }
+
+    @Test
+    void deleteMany() throws Exception {
+        String created = mvc.perform(authorized(post("/api/players")).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Released\",\"positions\":[\"GK\"],\"number\":91}")).andReturn().getResponse().getContentAsString();
+        long id = new ObjectMapper().readTree(created).get("id").asLong();
+
+        assertQueries(delete("/api/players").contentType(MediaType.APPLICATION_JSON).content("[" + id + "]"),
+                2, 1, 1, 3);
+    }
+}
@@ -0,0 +1,19 @@
+package com.localxi.local_xi_backend.querycount;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class PlayerStatsQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void totals() throws Exception {
+        assertQueries(get("/api/player-stats/" + playerIds().get(5) + "/totals"), 1, 0, 0, 0);
+    }
+
+    @Test
+    void totalsForSeason() throws Exception {
+        assertQueries(get("/api/player-stats/" + playerIds().get(5) + "/totals").param("seasonId", "" + latestSeasonId()),
+                1, 0, 0, 0);
+    }
+}
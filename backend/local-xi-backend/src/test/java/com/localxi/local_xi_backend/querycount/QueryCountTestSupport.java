@@ -0,0 +1,122 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.localxi.local_xi_backend.analytics.TeamColumnStore;
+import com.localxi.local_xi_backend.model.AppUser;
+import com.localxi.local_xi_backend.repository.AppUserRepository;
+import com.localxi.local_xi_backend.security.JwtService;
+import com.localxi.local_xi_backend.service.AnalyticsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Base for the per-controller query-count tests. Every subclass shares one context: the
+ * perf profile on in-memory H2 with a small generated dataset (3 teams x 2 seasons x 20
+ * matches, full squads, lineups and events), so N+1 patterns show up as counts that grow
+ * with the data. Requests run as the manager of the first perf team.
+ *
+ * Bounds are upper limits: lowering a count never fails, raising one past its bound does.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.perf.teams=3",
+        "app.perf.seasons=2",
+        "app.perf.matchesPerSeason=20"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("perf")
+@Import(SqlCountingConfig.class)
+abstract class QueryCountTestSupport {
+
+    @Autowired
+    protected MockMvc mvc;
+
+    @Autowired
+    protected JdbcTemplate jdbc;
+
+    @Autowired
+    private AppUserRepository users;
+
+    @Autowired
+    private JwtService jwt;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private TeamColumnStore analyticsColumns;
+
+    protected long teamId;
+    protected String token;
+
+    @BeforeEach
+    void signIn() {
+        AppUser manager = users.findByEmail("manager0001@perf.localxi").orElseThrow();
+        teamId = manager.getTeam().getId();
+        token = jwt.createToken(manager);
+        // every measurement is a cold read
+        analyticsCache.invalidate(teamId, EnumSet.allOf(AnalyticsCache.View.class));
+        analyticsColumns.evict(teamId);
+    }
+
+    // ---------- fixture lookups (not counted) ----------
+
+    protected long latestSeasonId() {
+        return jdbc.queryForObject("select max(id) from season where team_id = ?", Long.class, teamId);
+    }
+
+    protected List<Long> playedMatchIds() {
+        return jdbc.queryForList("""
+                select m.id from matches m where m.team_id = ? and exists (select 1 from lineup l where l.match_id = m.id)
+                order by m.id
+                """, Long.class, teamId);
+    }
+
+    protected List<Long> playerIds() {
+        return jdbc.queryForList("select id from player where team_id = ? order by number", Long.class, teamId);
+    }
+
+    protected List<Long> formationIds() {
+        return jdbc.queryForList("select id from formations where team_id = ? order by id", Long.class, teamId);
+    }
+
+    // ---------- assertions ----------
+
+    protected MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    // performs the request as the manager, expects a 2xx, and checks the statements it ran
+    protected MvcResult assertQueries(MockHttpServletRequestBuilder request,
+                                      int maxSelect, int maxInsert, int maxUpdate, int maxDelete) throws Exception {
+        SqlCounter.reset();
+        MvcResult result = mvc.perform(authorized(request)).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            // streamed bodies are written straight to the response; wait for the stream to finish
+            result.getAsyncResult(30_000);
+        }
+        SqlCounter.Counts counts = SqlCounter.snapshot();
+
+        // failure messages carry every count, not just the one over its bound
+        String name = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI() + " (" + counts + ")";
+
+        assertThat(result.getResponse().getStatus()).as(name + " status").isBetween(200, 299);
+        assertThat(counts.select()).as(name + " selects").isLessThanOrEqualTo(maxSelect);
+        assertThat(counts.insert()).as(name + " inserts").isLessThanOrEqualTo(maxInsert);
+        assertThat(counts.update()).as(name + " updates").isLessThanOrEqualTo(maxUpdate);
+        assertThat(counts.delete()).as(name + " deletes").isLessThanOrEqualTo(maxDelete);
+        return result;
+    }
+}
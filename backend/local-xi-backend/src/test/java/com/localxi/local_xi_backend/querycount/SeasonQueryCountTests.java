@@ -0,0 +1,37 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class SeasonQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void list() throws Exception {
+        assertQueries(get("/api/seasons"), 2, 0, 0, 0);
+    }
+
+    @Test
+    void current() throws Exception {
+        assertQueries(get("/api/seasons/current"), 1, 0, 0, 0);
+    }
+
+    // a season over existing matches reassigns them in one statement
+    @Test
+    void updateDates() throws Exception {
+        assertQueries(put("/api/seasons/" + latestSeasonId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"2026/27\",\"startDate\":\"2026-07-01\",\"endDate\":\"2027-06-30\"}"), 5, 21, 3, 0);
+    }
+
+    @Test
+    void createAndDelete() throws Exception {
+        String season = "{\"name\":\"2040/41\",\"startDate\":\"2040-07-01\",\"endDate\":\"2041-06-30\"}";
+        String created = assertQueries(post("/api/seasons").contentType(MediaType.APPLICATION_JSON).content(season),
+                3, 2, 1, 0).getResponse().getContentAsString();
+        long id = new ObjectMapper().readTree(created).get("id").asLong();
+
+        assertQueries(delete("/api/seasons/" + id), 3, 1, 1, 1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.localxi.local_xi_backend.querycount;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts SQL statements by kind as they are prepared or executed on the test datasource
+ * (Hibernate and JdbcTemplate alike). Global rather than per thread, so work done on
+ * other threads for a request (dashboard fan-out, streamed exports) is included.
+ */
+final class SqlCounter {
+
+    record Counts(int select, int insert, int update, int delete) {
+        @Override
+        public String toString() {
+            return "select=" + select + " insert=" + insert + " update=" + update + " delete=" + delete;
+        }
+    }
+
+    private static final AtomicInteger SELECT = new AtomicInteger();
+    private static final AtomicInteger INSERT = new AtomicInteger();
+    private static final AtomicInteger UPDATE = new AtomicInteger();
+    private static final AtomicInteger DELETE = new AtomicInteger();
+
+    private SqlCounter() {}
+
+    static void count(String sql) {
+        String s = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (s.startsWith("select") || s.startsWith("with") || s.startsWith("(select")) SELECT.incrementAndGet();
+        else if (s.startsWith("insert")) INSERT.incrementAndGet();
+        else if (s.startsWith("update")) UPDATE.incrementAndGet();
+        else if (s.startsWith("delete")) DELETE.incrementAndGet();
+    }
+
+    static void reset() {
+        SELECT.set(0);
+        INSERT.set(0);
+        UPDATE.set(0);
+        DELETE.set(0);
+    }
+
+    static Counts snapshot() {
+        return new Counts(SELECT.get(), INSERT.get(), UPDATE.get(), DELETE.get());
+    }
+}
@@ -0,0 +1,87 @@
+package com.localxi.local_xi_backend.querycount;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps the application's DataSource so every statement goes through SqlCounter:
+ * prepared statements are counted when prepared, plain statements when executed.
+ */
+@TestConfiguration
+class SqlCountingConfig {
+
+    private static final Set<String> PREPARE = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    @Bean
+    static BeanPostProcessor sqlCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource ds && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(ds);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static class CountingDataSource extends DelegatingDataSource {
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+    }
+
+    private static Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(SqlCountingConfig.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if (PREPARE.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                        SqlCounter.count(sql);
+                    }
+                    Object result = invoke(target, method, args);
+                    if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                        return counting(statement);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement counting(Statement target) {
+        return (Statement) Proxy.newProxyInstance(SqlCountingConfig.class.getClassLoader(),
+                new Class<?>[] {Statement.class}, (proxy, method, args) -> {
+                    if (EXECUTE.contains(method.getName()) && args != null && args.length > 0 && args[0] instanceof String sql) {
+                        SqlCounter.count(sql);
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
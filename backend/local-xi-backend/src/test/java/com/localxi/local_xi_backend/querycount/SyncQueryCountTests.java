@@ -0,0 +1,70 @@
+package com.localxi.local_xi_backend.querycount;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+class SyncQueryCountTests extends QueryCountTestSupport {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    void fullSync() throws Exception {
+        assertQueries(get("/api/sync").param("since", "0"), 10, 0, 0, 0);
+    }
+
+    // created then renamed: one upsert with the new name; created then deleted: only its id
+    @Test
+    void deltaKeepsTheLastOperationPerMatch() throws Exception {
+        long since = jdbc.queryForObject("select coalesce(max(seq), 0) from change_log where team_id = ?", Long.class, teamId);
+
+        long kept = createMatch("Sync Town");
+        perform(put("/api/matches/" + kept).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"date\":\"2026-11-14\",\"opponent\":\"Sync Rovers\",\"home\":false}"));
+        long dropped = createMatch("Sync United");
+        perform(post("/api/matches/bulk-delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + dropped + "]}"));
+
+        JsonNode delta = perform(get("/api/sync").param("since", "" + since));
+        JsonNode upserted = delta.get("matches").get("upserted");
+        assertThat(upserted).hasSize(1);
+        assertThat(upserted.get(0).get("id").asLong()).isEqualTo(kept);
+        assertThat(upserted.get(0).get("opponent").asText()).isEqualTo("Sync Rovers");
+        assertThat(ids(delta.get("matches").get("deleted"))).containsExactly(dropped);
+        // lineups are keyed by match id, so clients drop the match's lineup too
+        assertThat(ids(delta.get("lineups").get("deleted"))).contains(dropped);
+
+        JsonNode next = perform(get("/api/sync").param("since", delta.get("seq").asText()));
+        assertThat(next.get("seq").asLong()).isEqualTo(delta.get("seq").asLong());
+        assertThat(next.get("matches").get("upserted")).isEmpty();
+        assertThat(next.get("matches").get("deleted")).isEmpty();
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> out = new ArrayList<>();
+        array.forEach(id -> out.add(id.asLong()));
+        return out;
+    }
+
+    private long createMatch(String opponent) throws Exception {
+        return perform(post("/api/matches").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"date\":\"2026-11-14\",\"opponent\":\"" + opponent + "\",\"home\":true}")).get("id").asLong();
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+        var response = mvc.perform(authorized(request)).andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        byte[] body = response.getContentAsByteArray();
+        return body.length == 0 ? JSON.nullNode() : JSON.readTree(body);
+    }
+}
@@ -0,0 +1,18 @@
+package com.localxi.local_xi_backend.querycount;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class UserAdminQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void createUser() throws Exception {
+        String email = "new-" + UUID.randomUUID() + "@perf.localxi";
+        assertQueries(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"password123\",\"role\":\"PLAYER\"}"), 2, 1, 0, 0);
+    }
+}
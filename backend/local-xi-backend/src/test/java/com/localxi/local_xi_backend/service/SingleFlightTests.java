@@ -0,0 +1,76 @@
+package com.localxi.local_xi_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A leader's loader blocks on a latch so the second caller is known to arrive while the load
+ * is in flight.
+ */
+class SingleFlightTests {
+
+    @Test
+    void callersDuringALoadShareItsResult() throws Exception {
+        SingleFlight flight = new SingleFlight(10_000);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> flight.load("k", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return new Object();
+        }));
+        awaitCount(flight::getLeaders, 1);
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> flight.load("k", () -> {
+            loads.incrementAndGet();
+            return new Object();
+        }));
+        awaitCount(flight::getCoalesced, 1);
+        release.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+        assertThat(loads).hasValue(1);
+        // nothing is kept: the next caller loads again
+        assertThat(flight.getInFlight()).isZero();
+        assertThat(flight.load("k", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void followerLoadsItselfWhenTheLeaderIsTooSlow() throws Exception {
+        SingleFlight flight = new SingleFlight(50);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.load("k", () -> {
+            await(release);
+            return "leader";
+        }));
+        awaitCount(flight::getLeaders, 1);
+
+        assertThat(flight.load("k", () -> "own")).isEqualTo("own");
+        assertThat(flight.getTimeouts()).isOne();
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count.getAsLong() < expected && System.nanoTime() < deadline) Thread.sleep(5);
+        assertThat(count.getAsLong()).isEqualTo(expected);
+    }
+}
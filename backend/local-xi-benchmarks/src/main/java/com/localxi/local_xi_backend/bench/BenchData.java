@@ -0,0 +1,132 @@
+package com.localxi.local_xi_backend.bench;
+
+import com.localxi.local_xi_backend.model.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fixed-seed fixtures shaped like real team data: 11-slot lineups, a squad of 22,
+ * event mixes with roughly one goal per three events.
+ */
+final class BenchData {
+
+    static final int SQUAD = 22;
+    static final String[] SLOTS = {"GK", "LB", "CB", "CB", "RB", "LM", "CM", "CM", "RM", "ST", "ST"};
+
+    private BenchData() {}
+
+    static List<MatchEvent> events(int count, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<MatchEvent> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MatchEvent e = new MatchEvent();
+            e.setMatchId(1L);
+            e.setMinute(1 + (i * 90) / Math.max(1, count));
+            int kind = rnd.nextInt(10);
+            long player = 1 + rnd.nextInt(SQUAD);
+            if (kind < 3) {
+                e.setType(MatchEvent.EventType.GOAL);
+                e.setPlayerId(player);
+                if (rnd.nextBoolean()) e.setRelatedPlayerId(1 + (player % SQUAD));
+            } else if (kind < 6) {
+                e.setType(MatchEvent.EventType.YELLOW);
+                e.setPlayerId(player);
+            } else if (kind < 7) {
+                e.setType(MatchEvent.EventType.RED);
+                e.setPlayerId(player);
+            } else {
+                e.setType(MatchEvent.EventType.SUB);
+                e.setPlayerId(player);
+                e.setRelatedPlayerId(1 + (player % SQUAD));
+            }
+            out.add(e);
+        }
+        return out;
+    }
+
+    // lineup as loaded from the database: 11 slots, one stats row per starter
+    static Lineup lineup(long matchId, long seed) {
+        Lineup lineup = new Lineup();
+        lineup.setMatchId(matchId);
+        lineup.setFormationId(1L);
+        lineup.setCaptainPlayerId(2L);
+        for (LineupSlot s : slots(seed)) {
+            s.setLineup(lineup);
+            lineup.getSlots().add(s);
+
+            LineupPlayerStat stat = new LineupPlayerStat();
+            stat.setLineup(lineup);
+            stat.setPlayerId(s.getPlayerId());
+            stat.setGoals(0);
+            stat.setAssists(0);
+            stat.setYellowCards(0);
+            stat.setRedCards(0);
+            stat.setRating(s.getRating());
+            lineup.getPlayerStats().add(stat);
+        }
+        return lineup;
+    }
+
+    // PUT body as the frontend sends it; playerStats only when withStats
+    static Lineup payload(long seed, boolean withStats) {
+        Lineup payload = new Lineup();
+        payload.setFormationId(1L);
+        payload.setCaptainPlayerId(2L);
+        payload.getSlots().addAll(slots(seed));
+        if (withStats) {
+            for (LineupSlot s : payload.getSlots()) {
+                LineupPlayerStat stat = new LineupPlayerStat();
+                stat.setPlayerId(s.getPlayerId());
+                stat.setGoals(s.getGoals());
+                stat.setAssists(s.getAssists());
+                stat.setYellowCards(s.getYellowCards());
+                stat.setRedCards(s.getRedCards());
+                stat.setRating(s.getRating());
+                payload.getPlayerStats().add(stat);
+            }
+        }
+        return payload;
+    }
+
+    static List<Match> matches(int count) {
+        SplittableRandom rnd = new SplittableRandom(7);
+        List<Match> out = new ArrayList<>(count);
+        LocalDate first = LocalDate.of(2020, 8, 8);
+        for (int i = 0; i < count; i++) {
+            Match m = new Match((long) i + 1, first.plusDays(7L * i), "Opponent " + (i % 40), i % 2 == 0,
+                    rnd.nextInt(5), rnd.nextInt(5));
+            m.setTeamId(1L);
+            m.setSeasonId(1L + i / 46);
+            out.add(m);
+        }
+        return out;
+    }
+
+    static List<Lineup> lineups(int count) {
+        List<Lineup> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) out.add(lineup(i + 1, i));
+        return out;
+    }
+
+    private static List<LineupSlot> slots(long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<LineupSlot> out = new ArrayList<>(SLOTS.length);
+        for (int i = 0; i < SLOTS.length; i++) {
+            LineupSlot s = new LineupSlot();
+            s.setSlotId(SLOTS[i] + "-" + (i + 1));
+            s.setPos(SLOTS[i]);
+            s.setPlayerId((long) i + 1);
+            s.setCaptain(i == 1);
+            s.setRating(Math.round((5.0 + rnd.nextDouble() * 4.0) * 10) / 10.0);
+            s.setGoals(rnd.nextInt(8) == 0 ? 1 : 0);
+            s.setAssists(rnd.nextInt(8) == 0 ? 1 : 0);
+            s.setYellowCards(rnd.nextInt(6) == 0 ? 1 : 0);
+            s.setRedCards(0);
+            out.add(s);
+        }
+        return out;
+    }
+}
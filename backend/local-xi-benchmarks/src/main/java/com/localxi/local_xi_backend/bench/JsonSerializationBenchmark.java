@@ -0,0 +1,45 @@
+package com.localxi.local_xi_backend.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localxi.local_xi_backend.model.Lineup;
+import com.localxi.local_xi_backend.model.Match;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list payloads: GET /api/matches (a season up to a full
+ * history) and season lineups with slots and stats. Uses the same builder defaults as
+ * Spring Boot's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"46", "460"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Match> matches;
+    private List<Lineup> lineups;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        matches = BenchData.matches(size);
+        lineups = BenchData.lineups(size);
+    }
+
+    @Benchmark
+    public byte[] matchList() throws Exception {
+        return mapper.writeValueAsBytes(matches);
+    }
+
+    @Benchmark
+    public byte[] lineupList() throws Exception {
+        return mapper.writeValueAsBytes(lineups);
+    }
+}
@@ -0,0 +1,77 @@
+package com.localxi.local_xi_backend.bench;
+
+import com.localxi.local_xi_backend.model.AppUser;
+import com.localxi.local_xi_backend.model.Role;
+import com.localxi.local_xi_backend.model.Team;
+import com.localxi.local_xi_backend.security.JwtAuthFilter;
+import com.localxi.local_xi_backend.security.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtAuthFilter: HMAC verification, claims parsing and setting the
+ * security context, for a valid token and for one with a bad signature.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "localxi_dev_secret_please_change_1234567890!";
+
+    private final FilterChain chain = (req, res) -> { };
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest valid;
+    private MockHttpServletRequest tampered;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filter = new JwtAuthFilter(SECRET);
+
+        Team team = new Team("Bench FC");
+        team.setId(7L);
+        AppUser user = new AppUser();
+        user.setId(42L);
+        user.setTeam(team);
+        user.setEmail("manager@bench.localxi");
+        user.setRole(Role.MANAGER);
+        String token = new JwtService(SECRET, 240).createToken(user);
+
+        valid = request(token);
+        // flip one signature character
+        char last = token.charAt(token.length() - 1);
+        tampered = request(token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A'));
+        response = new MockHttpServletResponse();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/matches");
+        req.addHeader("Authorization", "Bearer " + token);
+        return req;
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Authentication validToken() throws Exception {
+        filter.doFilter(valid, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication invalidSignature() throws Exception {
+        filter.doFilter(tampered, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,35 @@
+package com.localxi.local_xi_backend.bench;
+
+import com.localxi.local_xi_backend.model.Lineup;
+import com.localxi.local_xi_backend.service.LineupMerge;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PUT /api/lineups/match/{id} without the database: slot replacement plus the playerStats
+ * merge into an existing 11-player lineup, with stats sent explicitly or derived from slots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LineupUpsertBenchmark {
+
+    @Param({"true", "false"})
+    public boolean explicitStats;
+
+    private Lineup existing;
+    private Lineup payload;
+
+    @Setup
+    public void setUp() {
+        existing = BenchData.lineup(1, 1);
+        payload = BenchData.payload(2, explicitStats);
+    }
+
+    // re-applying the same payload keeps the lineup at a steady 11 slots / 11 stats
+    @Benchmark
+    public String upsertForMatch() {
+        return LineupMerge.applyPayload(existing, payload);
+    }
+}
@@ -0,0 +1,55 @@
+package com.localxi.local_xi_backend.bench;
+
+import com.localxi.local_xi_backend.security.LoginRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LoginRateLimiter as hit by a login storm from 8 threads: every attempt checks the lock,
+ * then records a failure or a success. "hot" makes all threads hammer one email|ip key
+ * (credential stuffing against one account), "spread" gives each attempt its own key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class LoginRateLimiterBenchmark {
+
+    @Param({"hot", "spread"})
+    public String keys;
+
+    private LoginRateLimiter limiter;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        limiter = new LoginRateLimiter();
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private static final AtomicInteger IDS = new AtomicInteger();
+
+        final String ip = "10.0.0." + IDS.incrementAndGet();
+        int attempt;
+    }
+
+    @Benchmark
+    public boolean attempt(Client client) {
+        int n = client.attempt++;
+        String email = "hot".equals(keys) ? "manager@demofc.com" : "user" + (n & 1023) + "@demofc.com";
+        String ip = "hot".equals(keys) ? "10.0.0.1" : client.ip;
+
+        if (limiter.isLocked(email, ip)) {
+            return false;
+        }
+        // one in four attempts succeeds and clears the entry
+        if ((n & 3) == 0) {
+            limiter.recordSuccess(email, ip);
+        } else {
+            limiter.recordFailure(email, ip);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package com.localxi.local_xi_backend.bench;
+
+import com.localxi.local_xi_backend.model.Lineup;
+import com.localxi.local_xi_backend.model.MatchEvent;
+import com.localxi.local_xi_backend.service.LineupMerge;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POST /api/match-events/match/{id}/recompute without the database: score, per-player
+ * totals from the events, and the merge into the lineup's playerStats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecomputeBenchmark {
+
+    // a normal match has 5-20 events; 500 stands in for a badly corrupted / spammed match
+    @Param({"10", "50", "500"})
+    public int events;
+
+    private List<MatchEvent> stream;
+    private Lineup lineup;
+
+    @Setup
+    public void setUp() {
+        stream = BenchData.events(events, 42);
+        lineup = BenchData.lineup(1, 42);
+    }
+
+    @Benchmark
+    public void recomputeFromEvents(Blackhole bh) {
+        bh.consume(LineupMerge.goalsFor(stream));
+        Map<Long, LineupMerge.Totals> totals = LineupMerge.totalsFromEvents(stream);
+        LineupMerge.applyTotals(lineup, totals);
+        bh.consume(lineup);
+    }
+
+    @Benchmark
+    public Map<Long, LineupMerge.Totals> aggregateOnly() {
+        return LineupMerge.totalsFromEvents(stream);
+    }
+}